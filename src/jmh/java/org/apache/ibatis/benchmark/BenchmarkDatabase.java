@@ -0,0 +1,102 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+
+/**
+ * An in-memory HSQLDB table of {@code rows} rows with an {@code ID} column and {@link #MAX_COLUMNS}{@code - 1} varchar
+ * columns {@code C1} to {@code C15}, shared by the benchmarks.
+ */
+final class BenchmarkDatabase {
+
+  static final int MAX_COLUMNS = 16;
+
+  private BenchmarkDatabase() {
+  }
+
+  static PooledDataSource createDataSource(int rows) throws SQLException {
+    PooledDataSource dataSource = new PooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:benchmark" + rows,
+        "sa", "");
+    dataSource.setPoolMaximumActiveConnections(64);
+    dataSource.setPoolMaximumIdleConnections(64);
+    try (Connection connection = dataSource.getConnection()) {
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("drop table benchmark_rows if exists");
+        StringBuilder ddl = new StringBuilder("create table benchmark_rows (id int primary key");
+        for (int i = 1; i < MAX_COLUMNS; i++) {
+          ddl.append(", c").append(i).append(" varchar(32)");
+        }
+        statement.execute(ddl.append(')').toString());
+      }
+      StringBuilder insert = new StringBuilder("insert into benchmark_rows values (?");
+      for (int i = 1; i < MAX_COLUMNS; i++) {
+        insert.append(", ?");
+      }
+      try (PreparedStatement statement = connection.prepareStatement(insert.append(')').toString())) {
+        for (int row = 0; row < rows; row++) {
+          statement.setInt(1, row);
+          for (int i = 1; i < MAX_COLUMNS; i++) {
+            statement.setString(i + 1, "value " + row + "-" + i);
+          }
+          statement.addBatch();
+        }
+        statement.executeBatch();
+      }
+      if (!connection.getAutoCommit()) {
+        connection.commit();
+      }
+    }
+    return dataSource;
+  }
+
+  static Configuration createConfiguration(PooledDataSource dataSource) {
+    return new Configuration(new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+  }
+
+  /**
+   * Returns the select list of the first {@code columns} columns, each aliased with the prefix.
+   */
+  static String columns(int columns, String prefix) {
+    List<String> names = new ArrayList<>();
+    names.add("id as " + prefix + "id");
+    for (int i = 1; i < columns; i++) {
+      names.add("c" + i + " as " + prefix + "c" + i);
+    }
+    return String.join(", ", names);
+  }
+
+  static void addSelect(Configuration configuration, String id, SqlSource sqlSource, ResultMap resultMap) {
+    configuration.addMappedStatement(new MappedStatement.Builder(configuration, id, sqlSource, SqlCommandType.SELECT)
+        .resultMaps(Collections.singletonList(resultMap)).build());
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building, comparing and looking up {@link CacheKey}s made of {@code parameters} parameter values, as
+ * {@code BaseExecutor.createCacheKey} does for each query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+  @Param({ "1", "4", "16", "64" })
+  private int parameters;
+
+  private Object[] values;
+  private CacheKey key;
+  private Map<CacheKey, Object> cache;
+
+  @Setup
+  public void setUp() {
+    values = new Object[parameters];
+    for (int i = 0; i < parameters; i++) {
+      values[i] = i % 2 == 0 ? Integer.valueOf(i) : "parameter " + i;
+    }
+    key = createKey();
+    cache = new HashMap<>();
+    cache.put(key, new Object());
+  }
+
+  @Benchmark
+  public CacheKey create() {
+    return createKey();
+  }
+
+  @Benchmark
+  public boolean equalKeys() {
+    return createKey().equals(key);
+  }
+
+  @Benchmark
+  public Object lookup() {
+    return cache.get(createKey());
+  }
+
+  private CacheKey createKey() {
+    CacheKey cacheKey = new CacheKey();
+    cacheKey.update("org.apache.ibatis.benchmark.Mapper.selectRows");
+    cacheKey.update(0);
+    cacheKey.update(Integer.MAX_VALUE);
+    cacheKey.update("select id, c1 from benchmark_rows where id in (?)");
+    for (Object value : values) {
+      cacheKey.update(value);
+    }
+    cacheKey.update("benchmark");
+    return cacheKey;
+  }
+
+}
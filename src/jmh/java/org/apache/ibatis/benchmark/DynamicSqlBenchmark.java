@@ -0,0 +1,93 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.LanguageDriver;
+import org.apache.ibatis.session.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code DynamicSqlSource.getBoundSql} with {@code <where>}, {@code <if>} and a {@code <foreach>} of {@code items}
+ * parameters, against a static statement of the same shape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DynamicSqlBenchmark {
+
+  @Param({ "1", "10", "100" })
+  private int items;
+
+  private SqlSource dynamicSqlSource;
+  private SqlSource staticSqlSource;
+  private Map<String, Object> parameter;
+
+  @Setup
+  public void setUp() {
+    Configuration configuration = new Configuration();
+    LanguageDriver languageDriver = configuration.getDefaultScriptingLanguageInstance();
+    dynamicSqlSource = languageDriver.createSqlSource(configuration,
+        "<script>select id, c1 from benchmark_rows"
+            + "<where><if test=\"name != null\">c1 = #{name}</if>"
+            + "<if test=\"ids != null\">and id in"
+            + "<foreach collection=\"ids\" item=\"id\" open=\"(\" separator=\",\" close=\")\">#{id}</foreach>"
+            + "</if></where> order by id</script>",
+        Map.class);
+    StringBuilder sql = new StringBuilder("select id, c1 from benchmark_rows where c1 = #{name} and id in (");
+    List<Integer> ids = new ArrayList<>();
+    for (int i = 0; i < items; i++) {
+      sql.append(i == 0 ? "" : ",").append("#{ids[").append(i).append("]}");
+      ids.add(i);
+    }
+    staticSqlSource = languageDriver.createSqlSource(configuration, sql.append(") order by id").toString(),
+        Map.class);
+    parameter = new HashMap<>();
+    parameter.put("name", "value");
+    parameter.put("ids", ids);
+  }
+
+  @Benchmark
+  public BoundSql dynamicSql() {
+    return dynamicSqlSource.getBoundSql(parameter);
+  }
+
+  @Benchmark
+  public BoundSql staticSql() {
+    return staticSqlSource.getBoundSql(parameter);
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmark;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.ResultFlag;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.LocalCacheScope;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code DefaultResultSetHandler} with explicit result maps, where each row is also mapped to a chain of
+ * {@code nesting} associations read from the same row with a column prefix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultMappingBenchmark {
+
+  private static final String NESTED_PREFIX = "n_";
+
+  @Param({ "100", "10000" })
+  private int rows;
+
+  @Param({ "4", "16" })
+  private int columns;
+
+  @Param({ "0", "1", "3" })
+  private int nesting;
+
+  private PooledDataSource dataSource;
+  private SqlSessionFactory sqlSessionFactory;
+
+  @Setup
+  public void setUp() throws SQLException {
+    dataSource = BenchmarkDatabase.createDataSource(rows);
+    Configuration configuration = BenchmarkDatabase.createConfiguration(dataSource);
+    configuration.setLocalCacheScope(LocalCacheScope.STATEMENT);
+    List<String> selectList = new ArrayList<>();
+    String prefix = "";
+    for (int level = 0; level <= nesting; level++) {
+      selectList.add(BenchmarkDatabase.columns(columns, prefix));
+      prefix += NESTED_PREFIX;
+    }
+    ResultMap resultMap = null;
+    for (int level = nesting; level >= 0; level--) {
+      resultMap = rowResultMap(configuration, level, resultMap);
+      configuration.addResultMap(resultMap);
+    }
+    String sql = "select " + String.join(", ", selectList) + " from benchmark_rows";
+    BenchmarkDatabase.addSelect(configuration, "selectRows", new StaticSqlSource(configuration, sql), resultMap);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  private ResultMap rowResultMap(Configuration configuration, int level, ResultMap child) {
+    List<ResultMapping> resultMappings = new ArrayList<>();
+    resultMappings.add(new ResultMapping.Builder(configuration, "id", "id", int.class)
+        .flags(new ArrayList<>(Collections.singletonList(ResultFlag.ID))).build());
+    for (int i = 1; i < columns; i++) {
+      resultMappings.add(new ResultMapping.Builder(configuration, "c" + i, "c" + i, String.class).build());
+    }
+    if (child != null) {
+      resultMappings.add(new ResultMapping.Builder(configuration, "child").javaType(Row.class)
+          .nestedResultMapId(child.getId()).columnPrefix(NESTED_PREFIX).build());
+    }
+    return new ResultMap.Builder(configuration, "rowMap" + level, Row.class, resultMappings).build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    dataSource.forceCloseAll();
+  }
+
+  @Benchmark
+  public List<Row> selectList() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      return sqlSession.selectList("selectRows");
+    }
+  }
+
+}
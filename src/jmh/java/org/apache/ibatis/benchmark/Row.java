@@ -0,0 +1,173 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmark;
+
+public class Row {
+
+  private int id;
+  private String c1;
+  private String c2;
+  private String c3;
+  private String c4;
+  private String c5;
+  private String c6;
+  private String c7;
+  private String c8;
+  private String c9;
+  private String c10;
+  private String c11;
+  private String c12;
+  private String c13;
+  private String c14;
+  private String c15;
+  private Row child;
+
+  public int getId() {
+    return id;
+  }
+
+  public void setId(int id) {
+    this.id = id;
+  }
+
+  public String getC1() {
+    return c1;
+  }
+
+  public void setC1(String c1) {
+    this.c1 = c1;
+  }
+
+  public String getC2() {
+    return c2;
+  }
+
+  public void setC2(String c2) {
+    this.c2 = c2;
+  }
+
+  public String getC3() {
+    return c3;
+  }
+
+  public void setC3(String c3) {
+    this.c3 = c3;
+  }
+
+  public String getC4() {
+    return c4;
+  }
+
+  public void setC4(String c4) {
+    this.c4 = c4;
+  }
+
+  public String getC5() {
+    return c5;
+  }
+
+  public void setC5(String c5) {
+    this.c5 = c5;
+  }
+
+  public String getC6() {
+    return c6;
+  }
+
+  public void setC6(String c6) {
+    this.c6 = c6;
+  }
+
+  public String getC7() {
+    return c7;
+  }
+
+  public void setC7(String c7) {
+    this.c7 = c7;
+  }
+
+  public String getC8() {
+    return c8;
+  }
+
+  public void setC8(String c8) {
+    this.c8 = c8;
+  }
+
+  public String getC9() {
+    return c9;
+  }
+
+  public void setC9(String c9) {
+    this.c9 = c9;
+  }
+
+  public String getC10() {
+    return c10;
+  }
+
+  public void setC10(String c10) {
+    this.c10 = c10;
+  }
+
+  public String getC11() {
+    return c11;
+  }
+
+  public void setC11(String c11) {
+    this.c11 = c11;
+  }
+
+  public String getC12() {
+    return c12;
+  }
+
+  public void setC12(String c12) {
+    this.c12 = c12;
+  }
+
+  public String getC13() {
+    return c13;
+  }
+
+  public void setC13(String c13) {
+    this.c13 = c13;
+  }
+
+  public String getC14() {
+    return c14;
+  }
+
+  public void setC14(String c14) {
+    this.c14 = c14;
+  }
+
+  public String getC15() {
+    return c15;
+  }
+
+  public void setC15(String c15) {
+    this.c15 = c15;
+  }
+
+  public Row getChild() {
+    return child;
+  }
+
+  public void setChild(Row child) {
+    this.child = child;
+  }
+}
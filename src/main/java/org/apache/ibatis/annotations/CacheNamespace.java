@@ -72,6 +72,16 @@ public @interface CacheNamespace {
    */
   long flushInterval() default 0;
 
+  /**
+   * Returns the time to live of the entries. The entries read shortly before they expire are reloaded in the
+   * background. It is ignored when {@link #implementation()} is a custom cache.
+   *
+   * @return the time to live in milliseconds, or 0 for entries staying until evicted
+   *
+   * @since 3.5.17
+   */
+  long timeToLive() default 0;
+
   /**
    * Return the cache size.
    *
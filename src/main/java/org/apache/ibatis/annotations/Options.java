@@ -143,6 +143,19 @@ public @interface Options {
    */
   String databaseId() default "";
 
+  /**
+   * Returns the tables the statement reads, for a select, or writes, for an insert, update or delete.
+   * <p>
+   * If you specify multiple table, please separate using comma(','). When empty, the tables are extracted from the SQL
+   * if the {@code tableCacheInvalidation} setting is enabled.
+   * </p>
+   *
+   * @return table names that separate with comma(',')
+   *
+   * @since 3.5.17
+   */
+  String tables() default "";
+
   /**
    * The container annotation for {@link Options}.
    *
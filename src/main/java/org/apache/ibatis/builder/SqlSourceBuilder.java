@@ -18,7 +18,9 @@ package org.apache.ibatis.builder;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.SqlSource;
@@ -35,14 +37,35 @@ import org.apache.ibatis.type.JdbcType;
 public class SqlSourceBuilder extends BaseBuilder {
 
   private static final String PARAMETER_PROPERTIES = "javaType,jdbcType,mode,numericScale,resultMap,typeHandler,jdbcTypeName";
+  private static final int MAX_CACHED_PARAMETERS = 1024;
+
+  private final Map<String, Map<String, String>> parsedParameters;
+  private final Map<ParameterKey, ParameterMapping> parameterMappings;
 
   public SqlSourceBuilder(Configuration configuration) {
+    this(configuration, false);
+  }
+
+  /**
+   * Creates a builder that can be reused for many parses.
+   *
+   * @param configuration
+   *          the configuration
+   * @param cacheParameterMappings
+   *          whether to keep the parameter mappings built from each {@code #{}} placeholder, so that parsing the SQL of
+   *          a dynamic statement again does not build them again. At most 1024 placeholders are kept.
+   *
+   * @since 3.5.17
+   */
+  public SqlSourceBuilder(Configuration configuration, boolean cacheParameterMappings) {
     super(configuration);
+    this.parsedParameters = cacheParameterMappings ? new ConcurrentHashMap<>() : null;
+    this.parameterMappings = cacheParameterMappings ? new ConcurrentHashMap<>() : null;
   }
 
   public SqlSource parse(String originalSql, Class<?> parameterType, Map<String, Object> additionalParameters) {
     ParameterMappingTokenHandler handler = new ParameterMappingTokenHandler(configuration, parameterType,
-        additionalParameters);
+        additionalParameters, parsedParameters, parameterMappings);
     GenericTokenParser parser = new GenericTokenParser("#{", "}", handler);
     String sql;
     if (configuration.isShrinkWhitespacesInSql()) {
@@ -72,12 +95,17 @@ public class SqlSourceBuilder extends BaseBuilder {
     private final List<ParameterMapping> parameterMappings = new ArrayList<>();
     private final Class<?> parameterType;
     private final MetaObject metaParameters;
+    private final Map<String, Map<String, String>> parsedParametersCache;
+    private final Map<ParameterKey, ParameterMapping> parameterMappingsCache;
 
     public ParameterMappingTokenHandler(Configuration configuration, Class<?> parameterType,
-        Map<String, Object> additionalParameters) {
+        Map<String, Object> additionalParameters, Map<String, Map<String, String>> parsedParametersCache,
+        Map<ParameterKey, ParameterMapping> parameterMappingsCache) {
       super(configuration);
       this.parameterType = parameterType;
       this.metaParameters = configuration.newMetaObject(additionalParameters);
+      this.parsedParametersCache = parsedParametersCache;
+      this.parameterMappingsCache = parameterMappingsCache;
     }
 
     public List<ParameterMapping> getParameterMappings() {
@@ -92,6 +120,23 @@ public class SqlSourceBuilder extends BaseBuilder {
 
     private ParameterMapping buildParameterMapping(String content) {
       Map<String, String> propertiesMap = parseParameterMapping(content);
+      Class<?> propertyType = resolvePropertyType(propertiesMap);
+      if (parameterMappingsCache == null) {
+        return buildParameterMapping(content, propertiesMap, propertyType);
+      }
+      // the property type may depend on the additional parameters, so it is part of the key
+      ParameterKey key = new ParameterKey(content, parameterType, propertyType);
+      ParameterMapping parameterMapping = parameterMappingsCache.get(key);
+      if (parameterMapping == null) {
+        parameterMapping = buildParameterMapping(content, propertiesMap, propertyType);
+        if (parameterMappingsCache.size() < MAX_CACHED_PARAMETERS) {
+          parameterMappingsCache.put(key, parameterMapping);
+        }
+      }
+      return parameterMapping;
+    }
+
+    private Class<?> resolvePropertyType(Map<String, String> propertiesMap) {
       String property = propertiesMap.get("property");
       Class<?> propertyType;
       if (metaParameters.hasGetter(property)) { // issue #448 get type from additional params
@@ -110,6 +155,12 @@ public class SqlSourceBuilder extends BaseBuilder {
           propertyType = Object.class;
         }
       }
+      return propertyType;
+    }
+
+    private ParameterMapping buildParameterMapping(String content, Map<String, String> propertiesMap,
+        Class<?> propertyType) {
+      String property = propertiesMap.get("property");
       ParameterMapping.Builder builder = new ParameterMapping.Builder(configuration, property, propertyType);
       Class<?> javaType = propertyType;
       String typeHandlerAlias = null;
@@ -147,6 +198,20 @@ public class SqlSourceBuilder extends BaseBuilder {
     }
 
     private Map<String, String> parseParameterMapping(String content) {
+      if (parsedParametersCache == null) {
+        return parseParameterExpression(content);
+      }
+      Map<String, String> propertiesMap = parsedParametersCache.get(content);
+      if (propertiesMap == null) {
+        propertiesMap = parseParameterExpression(content);
+        if (parsedParametersCache.size() < MAX_CACHED_PARAMETERS) {
+          parsedParametersCache.put(content, propertiesMap);
+        }
+      }
+      return propertiesMap;
+    }
+
+    private Map<String, String> parseParameterExpression(String content) {
       try {
         return new ParameterExpression(content);
       } catch (BuilderException ex) {
@@ -158,4 +223,34 @@ public class SqlSourceBuilder extends BaseBuilder {
     }
   }
 
+  private static final class ParameterKey {
+    private final String content;
+    private final Class<?> parameterType;
+    private final Class<?> propertyType;
+
+    ParameterKey(String content, Class<?> parameterType, Class<?> propertyType) {
+      this.content = content;
+      this.parameterType = parameterType;
+      this.propertyType = propertyType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ParameterKey)) {
+        return false;
+      }
+      ParameterKey other = (ParameterKey) o;
+      return content.equals(other.content) && parameterType == other.parameterType
+          && propertyType == other.propertyType;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(content, parameterType, propertyType);
+    }
+  }
+
 }
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import javax.sql.DataSource;
 
 import org.apache.ibatis.builder.BaseBuilder;
 import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.cache.CacheInvalidationBus;
 import org.apache.ibatis.datasource.DataSourceFactory;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.loader.ProxyFactory;
@@ -293,6 +294,32 @@ public class XMLConfigBuilder extends BaseBuilder {
         booleanValueOf(props.getProperty("argNameBasedConstructorAutoMapping"), false));
     configuration.setDefaultSqlProviderType(resolveClass(props.getProperty("defaultSqlProviderType")));
     configuration.setNullableOnForEach(booleanValueOf(props.getProperty("nullableOnForEach"), false));
+    configuration.setCoalesceQueries(booleanValueOf(props.getProperty("coalesceQueries"), false));
+    configuration.setCompileRowMappers(booleanValueOf(props.getProperty("compileRowMappers"), false));
+    configuration.setDynamicSqlPlanCacheSize(integerValueOf(props.getProperty("dynamicSqlPlanCacheSize"), 0));
+    configuration.setPrefetchCursors(booleanValueOf(props.getProperty("prefetchCursors"), false));
+    configuration.setParallelResultMapping(booleanValueOf(props.getProperty("parallelResultMapping"), false));
+    configuration.setGroupBatchStatements(booleanValueOf(props.getProperty("groupBatchStatements"), false));
+    configuration.setBatchFlushRows(integerValueOf(props.getProperty("batchFlushRows"), 0));
+    configuration.setBatchFlushBytes(integerValueOf(props.getProperty("batchFlushBytes"), 0));
+    configuration.setRewriteBatchedInserts(booleanValueOf(props.getProperty("rewriteBatchedInserts"), false));
+    configuration.setBatchInsertMaxParameters(integerValueOf(props.getProperty("batchInsertMaxParameters"), 1000));
+    configuration.setReuseStatementCacheSize(integerValueOf(props.getProperty("reuseStatementCacheSize"), 0));
+    configuration
+        .setReuseStatementsAcrossSessions(booleanValueOf(props.getProperty("reuseStatementsAcrossSessions"), false));
+    configuration.setPaddingOnForEach(booleanValueOf(props.getProperty("paddingOnForEach"), false));
+    configuration.setLocalCacheSize(integerValueOf(props.getProperty("localCacheSize"), 0));
+    configuration.setLocalCacheMaxRows(integerValueOf(props.getProperty("localCacheMaxRows"), 0));
+    configuration.setNestedSelectBatchSize(integerValueOf(props.getProperty("nestedSelectBatchSize"), 100));
+    configuration.setCacheSerializer(resolveClass(props.getProperty("cacheSerializer")));
+    configuration.setShareImmutableCacheValues(booleanValueOf(props.getProperty("shareImmutableCacheValues"), false));
+    configuration.setTableCacheInvalidation(booleanValueOf(props.getProperty("tableCacheInvalidation"), false));
+    CacheInvalidationBus cacheInvalidationBus = (CacheInvalidationBus) createInstance(
+        props.getProperty("cacheInvalidationBus"));
+    if (cacheInvalidationBus != null) {
+      cacheInvalidationBus.setProperties(configuration.getVariables());
+      configuration.setCacheInvalidationBus(cacheInvalidationBus);
+    }
   }
 
   private void environmentsElement(XNode context) throws Exception {
@@ -0,0 +1,65 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The invalidations of the second level cache made by a transaction: the caches it cleared, and the tables it modified
+ * when the cache is invalidated table by table.
+ *
+ * @since 3.5.17
+ */
+public final class CacheInvalidation {
+
+  private final Set<String> cacheIds;
+  private final Set<String> tables;
+
+  public CacheInvalidation(Set<String> cacheIds, Set<String> tables) {
+    this.cacheIds = Collections.unmodifiableSet(new LinkedHashSet<>(cacheIds));
+    this.tables = Collections.unmodifiableSet(new LinkedHashSet<>(tables));
+  }
+
+  /**
+   * Returns the ids of the cleared caches.
+   *
+   * @return the cache ids
+   */
+  public Set<String> getCacheIds() {
+    return cacheIds;
+  }
+
+  /**
+   * Returns the modified tables, whose versions must be incremented.
+   *
+   * @return the table names, in upper case
+   */
+  public Set<String> getTables() {
+    return tables;
+  }
+
+  public boolean isEmpty() {
+    return cacheIds.isEmpty() && tables.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "CacheInvalidation [cacheIds=" + cacheIds + ", tables=" + tables + "]";
+  }
+
+}
@@ -0,0 +1,72 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * SPI for broadcasting the invalidations of the second level cache to the other nodes of a cluster.
+ * <p>
+ * Each committed transaction that cleared a cache, or modified tables when the cache is invalidated table by table,
+ * publishes a single {@link CacheInvalidation}. The bus delivers it to the listener of the other nodes, which clear the
+ * same caches and increment the versions of the same tables. A bus must not deliver an invalidation to the node that
+ * published it.
+ * <p>
+ * The bus implementation must have a constructor without parameters when it is configured by the
+ * {@code cacheInvalidationBus} setting.
+ *
+ * @since 3.5.17
+ *
+ * @see org.apache.ibatis.session.Configuration#setCacheInvalidationBus(CacheInvalidationBus)
+ */
+public interface CacheInvalidationBus {
+
+  /**
+   * Sets the properties of the bus, before it is started. By convention, the properties of a bus are named
+   * {@code cacheInvalidationBus.<property>}.
+   *
+   * @param properties
+   *          the variables of the configuration
+   */
+  default void setProperties(Properties properties) {
+    // NOP
+  }
+
+  /**
+   * Starts receiving the invalidations published by the other nodes.
+   *
+   * @param listener
+   *          the listener applying the invalidations to this node
+   */
+  void start(Consumer<CacheInvalidation> listener);
+
+  /**
+   * Publishes the invalidations of a transaction to the other nodes.
+   * <p>
+   * A failure to publish must not fail the transaction, which is already committed.
+   *
+   * @param invalidation
+   *          the invalidations
+   */
+  void publish(CacheInvalidation invalidation);
+
+  /**
+   * Stops receiving invalidations and releases the resources of the bus.
+   */
+  void close();
+
+}
@@ -0,0 +1,40 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+/**
+ * Reloads the value of a cached entry, so that a cache can refresh an entry before it expires.
+ * <p>
+ * The loaders of the second level cache re-execute the query of the entry, in a transaction of their own.
+ *
+ * @see org.apache.ibatis.cache.decorators.RefreshAheadCache
+ *
+ * @since 3.5.17
+ */
+@FunctionalInterface
+public interface CacheLoader {
+
+  /**
+   * Loads the current value of the entry.
+   *
+   * @return the value, or {@code null} if the entry cannot be reloaded
+   *
+   * @throws Exception
+   *           if the value cannot be loaded
+   */
+  Object load() throws Exception;
+
+}
@@ -0,0 +1,56 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+/**
+ * SPI for the codecs copying the values of read/write caches.
+ * <p>
+ * One instance of serializer will be created for each cache, so it may keep what it learns about the classes it
+ * serializes. The bytes it returns must however be self-contained, as they may be deserialized by another instance.
+ * <p>
+ * The serializer implementation must have a constructor without parameters.
+ *
+ * @since 3.5.17
+ */
+public interface CacheSerializer {
+
+  /**
+   * Serializes a value.
+   *
+   * @param value
+   *          the value, may be {@code null}
+   *
+   * @return the bytes of the value
+   *
+   * @throws CacheException
+   *           if the value cannot be serialized
+   */
+  byte[] serialize(Object value);
+
+  /**
+   * Deserializes a value.
+   *
+   * @param bytes
+   *          bytes returned by {@link #serialize(Object)}
+   *
+   * @return a copy of the value
+   *
+   * @throws CacheException
+   *           if the value cannot be deserialized
+   */
+  Object deserialize(byte[] bytes);
+
+}
@@ -0,0 +1,253 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Finds the tables a SQL statement reads or writes, without parsing it fully.
+ * <p>
+ * String literals and comments are skipped. The tables read are the ones listed after {@code FROM} and {@code JOIN}, in
+ * subqueries too. The tables written are the targets of {@code INSERT INTO}, {@code UPDATE}, {@code DELETE FROM},
+ * {@code MERGE INTO} and {@code TRUNCATE TABLE}. Names are reduced to their last segment, in upper case.
+ * <p>
+ * The extraction may find more tables than the statement really uses, but it gives up, returning {@code null}, when it
+ * cannot be sure to find all of them: calls, table functions or several statements.
+ */
+final class SqlTableExtractor {
+
+  private static final Set<String> SUBQUERY_STARTS = new HashSet<>(Arrays.asList("SELECT", "WITH", "VALUES"));
+  private static final Set<String> TABLE_MODIFIERS = new HashSet<>(
+      Arrays.asList("LATERAL", "ONLY", "IGNORE", "LOW_PRIORITY", "QUICK", "TABLE"));
+  private static final Set<String> CLAUSE_KEYWORDS = new HashSet<>(Arrays.asList("WHERE", "GROUP", "ORDER", "HAVING",
+      "UNION", "EXCEPT", "INTERSECT", "MINUS", "LIMIT", "OFFSET", "FETCH", "FOR", "WINDOW", "SET", "VALUES", "SELECT",
+      "RETURNING", "CONNECT", "START", "QUALIFY", "WHEN", "THEN", "ON", "USING", "DEFAULT", "OUTPUT"));
+
+  private static final Set<String> READ_STARTS = new HashSet<>(Arrays.asList("FROM", "JOIN"));
+  private static final Set<String> INTO_STARTS = new HashSet<>(Arrays.asList("INTO"));
+  private static final Set<String> UPDATE_STARTS = new HashSet<>(Arrays.asList("UPDATE", "JOIN"));
+  private static final Set<String> DELETE_STARTS = new HashSet<>(Arrays.asList("DELETE", "FROM", "JOIN"));
+  private static final Set<String> TRUNCATE_STARTS = new HashSet<>(Arrays.asList("TRUNCATE"));
+
+  private SqlTableExtractor() {
+    // Prevent Instantiation of Static Class
+  }
+
+  /**
+   * Returns the tables a query reads.
+   *
+   * @param sql
+   *          the SQL of a query
+   *
+   * @return the tables, or {@code null} if they cannot be found
+   */
+  static Set<String> readTables(String sql) {
+    List<String> tokens = tokenize(sql);
+    if (tokens.isEmpty() || !isSingleStatement(tokens)
+        || !"(".equals(tokens.get(0)) && !SUBQUERY_STARTS.contains(tokens.get(0))) {
+      return null;
+    }
+    return collect(tokens, READ_STARTS, false);
+  }
+
+  /**
+   * Returns the tables an insert, update or delete statement writes.
+   *
+   * @param sql
+   *          the SQL of the statement
+   *
+   * @return the tables, or {@code null} if they cannot be found
+   */
+  static Set<String> writtenTables(String sql) {
+    List<String> tokens = tokenize(sql);
+    if (tokens.isEmpty() || !isSingleStatement(tokens)) {
+      return null;
+    }
+    switch (tokens.get(0)) {
+      case "INSERT":
+      case "REPLACE":
+      case "MERGE":
+        return collect(tokens, INTO_STARTS, true);
+      case "UPDATE":
+        return collect(tokens, UPDATE_STARTS, true);
+      case "DELETE":
+        return collect(tokens, DELETE_STARTS, true);
+      case "TRUNCATE":
+        return collect(tokens, TRUNCATE_STARTS, true);
+      default:
+        return null;
+    }
+  }
+
+  private static boolean isSingleStatement(List<String> tokens) {
+    int depth = 0;
+    for (int i = 0; i < tokens.size(); i++) {
+      String token = tokens.get(i);
+      if ("(".equals(token)) {
+        depth++;
+      } else if (")".equals(token)) {
+        depth--;
+      } else if (";".equals(token) && (depth != 0 || i < tokens.size() - 1)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Collects the names of the table lists starting with one of the keywords.
+   * <p>
+   * Each level of parentheses has its own state: whether it is in a table list, and whether a table name is expected. A
+   * parenthesis where a table is expected either starts a subquery, or groups joined tables.
+   */
+  private static Set<String> collect(List<String> tokens, Set<String> starts, boolean topLevelOnly) {
+    Set<String> tables = new LinkedHashSet<>();
+    int size = tokens.size();
+    boolean[] inList = new boolean[size + 1];
+    boolean[] expected = new boolean[size + 1];
+    String[] start = new String[size + 1];
+    int depth = 0;
+    for (int i = 0; i < size; i++) {
+      String token = tokens.get(i);
+      String next = i + 1 < size ? tokens.get(i + 1) : null;
+      if ("(".equals(token)) {
+        boolean groupsTables = expected[depth] && next != null && !SUBQUERY_STARTS.contains(next);
+        expected[depth] = false;
+        depth++;
+        inList[depth] = groupsTables;
+        expected[depth] = groupsTables;
+        start[depth] = start[depth - 1];
+      } else if (")".equals(token)) {
+        depth = Math.max(0, depth - 1);
+      } else if (",".equals(token)) {
+        expected[depth] = inList[depth];
+      } else if (";".equals(token)) {
+        inList[depth] = false;
+        expected[depth] = false;
+      } else if (starts.contains(token)) {
+        inList[depth] = true;
+        expected[depth] = true;
+        start[depth] = token;
+      } else if (expected[depth]) {
+        if (TABLE_MODIFIERS.contains(token)) {
+          continue;
+        }
+        if ("(".equals(next) && !"INTO".equals(start[depth])) {
+          // a table function, whose reads are unknown
+          return null;
+        }
+        expected[depth] = false;
+        if (!topLevelOnly || depth == 0) {
+          tables.add(lastSegment(token));
+        }
+      } else if (inList[depth] && CLAUSE_KEYWORDS.contains(token)) {
+        inList[depth] = "ON".equals(token) || "USING".equals(token) ? !"INTO".equals(start[depth]) : false;
+      }
+    }
+    return tables;
+  }
+
+  private static String lastSegment(String name) {
+    return name.substring(name.lastIndexOf('.') + 1);
+  }
+
+  static List<String> tokenize(String sql) {
+    List<String> tokens = new ArrayList<>();
+    int length = sql.length();
+    int i = 0;
+    while (i < length) {
+      char c = sql.charAt(i);
+      if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+        i = skipTo(sql, i + 2, "\n");
+      } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+        i = skipTo(sql, i + 2, "*/");
+      } else if (c == '\'') {
+        i = skipLiteral(sql, i + 1);
+      } else if (c == '(' || c == ')' || c == ',' || c == ';') {
+        tokens.add(String.valueOf(c));
+        i++;
+      } else if (isNameStart(c)) {
+        StringBuilder name = new StringBuilder();
+        i = readName(sql, i, name);
+        tokens.add(name.toString().toUpperCase(Locale.ENGLISH));
+      } else {
+        i++;
+      }
+    }
+    return tokens;
+  }
+
+  private static int readName(String sql, int i, StringBuilder name) {
+    int length = sql.length();
+    while (i < length) {
+      char c = sql.charAt(i);
+      if (c == '"' || c == '`' || c == '[') {
+        int end = sql.indexOf(c == '[' ? ']' : c, i + 1);
+        end = end < 0 ? length : end;
+        name.append(sql, i + 1, end);
+        i = end + 1;
+      } else {
+        int begin = i;
+        while (i < length && isNamePart(sql.charAt(i))) {
+          i++;
+        }
+        name.append(sql, begin, i);
+      }
+      if (i < length && sql.charAt(i) == '.' && i + 1 < length && isNameStart(sql.charAt(i + 1))) {
+        name.append('.');
+        i++;
+      } else {
+        return i;
+      }
+    }
+    return i;
+  }
+
+  private static boolean isNameStart(char c) {
+    return c == '"' || c == '`' || c == '[' || isNamePart(c);
+  }
+
+  private static boolean isNamePart(char c) {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#';
+  }
+
+  private static int skipTo(String sql, int from, String end) {
+    int index = sql.indexOf(end, from);
+    return index < 0 ? sql.length() : index + end.length();
+  }
+
+  private static int skipLiteral(String sql, int i) {
+    int length = sql.length();
+    while (i < length) {
+      if (sql.charAt(i) == '\'') {
+        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+          i += 2;
+          continue;
+        }
+        return i + 1;
+      }
+      i++;
+    }
+    return length;
+  }
+
+}
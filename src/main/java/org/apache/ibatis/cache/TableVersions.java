@@ -0,0 +1,206 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.mapping.StatementType;
+import org.apache.ibatis.scripting.defaults.RawSqlSource;
+
+/**
+ * The versions of the tables, used to invalidate the second level cache table by table.
+ * <p>
+ * The key of a cached query includes the version of each table the query reads, and a committed write increments the
+ * version of each table it modifies. The entries depending on a modified table are then never read again, and leave the
+ * cache when it evicts them.
+ * <p>
+ * The tables of a statement are the ones declared by its {@code tables} attribute, or else the ones found in its SQL. A
+ * query whose tables cannot be found depends on the {@link #ANY_TABLE} pseudo table, which every write increments. A
+ * write whose tables cannot be found may have modified any table, so it invalidates every entry.
+ *
+ * @since 3.5.17
+ */
+public class TableVersions {
+
+  /**
+   * The pseudo table read by the queries whose tables are unknown.
+   */
+  public static final String ANY_TABLE = "*";
+
+  private static final Set<String> UNKNOWN = Collections.singleton(ANY_TABLE);
+  private static final int MAX_EXTRACTED_STATEMENTS = 1024;
+
+  private final ConcurrentHashMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+  // the number of committed writes whose tables are unknown, included in every key
+  private final AtomicLong unknownWrites = new AtomicLong();
+  private final ConcurrentHashMap<String, Set<String>> readTables = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Set<String>> writtenTables = new ConcurrentHashMap<>();
+  // the tables written by the statements whose SQL does not depend on the parameter, by statement id
+  private final ConcurrentHashMap<String, Set<String>> staticWrittenTables = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the tables a query reads.
+   *
+   * @param ms
+   *          the mapped statement of the query
+   * @param boundSql
+   *          the SQL of the query
+   *
+   * @return the tables, or a set containing only {@link #ANY_TABLE} if they are unknown
+   */
+  public Set<String> getReadTables(MappedStatement ms, BoundSql boundSql) {
+    if (ms.getTables() != null) {
+      return normalize(ms.getTables());
+    }
+    if (ms.getStatementType() == StatementType.CALLABLE) {
+      return UNKNOWN;
+    }
+    return extract(readTables, boundSql.getSql(), sql -> {
+      Set<String> tables = SqlTableExtractor.readTables(sql);
+      return tables == null ? UNKNOWN : Collections.unmodifiableSet(tables);
+    });
+  }
+
+  /**
+   * Returns the tables an insert, update or delete statement writes.
+   *
+   * @param ms
+   *          the mapped statement
+   * @param parameterObject
+   *          the parameter of the statement
+   *
+   * @return the tables, or {@code null} if they are unknown
+   */
+  public Set<String> getWrittenTables(MappedStatement ms, Object parameterObject) {
+    if (ms.getTables() != null) {
+      return normalize(ms.getTables());
+    }
+    if (ms.getStatementType() == StatementType.CALLABLE) {
+      return null;
+    }
+    Set<String> tables;
+    if (isStatic(ms.getSqlSource())) {
+      // no need to generate the SQL again for every call
+      tables = staticWrittenTables.computeIfAbsent(ms.getId(),
+          id -> extractWrittenTables(ms.getBoundSql(parameterObject).getSql()));
+    } else {
+      tables = extract(writtenTables, ms.getBoundSql(parameterObject).getSql(), TableVersions::extractWrittenTables);
+    }
+    return tables == UNKNOWN ? null : tables;
+  }
+
+  private static Set<String> extractWrittenTables(String sql) {
+    Set<String> extracted = SqlTableExtractor.writtenTables(sql);
+    return extracted == null ? UNKNOWN : Collections.unmodifiableSet(extracted);
+  }
+
+  private static boolean isStatic(SqlSource sqlSource) {
+    return sqlSource instanceof RawSqlSource || sqlSource instanceof StaticSqlSource;
+  }
+
+  /**
+   * Returns the current version of a table.
+   *
+   * @param table
+   *          the table name, in upper case
+   *
+   * @return the version, 0 until the table is first written
+   */
+  public long getVersion(String table) {
+    AtomicLong version = versions.get(table);
+    return version == null ? 0 : version.get();
+  }
+
+  /**
+   * Increments the versions of tables, and of {@link #ANY_TABLE}.
+   *
+   * @param tables
+   *          the table names, in upper case, including {@link #ANY_TABLE} if some written tables are unknown, which
+   *          invalidates every versioned key
+   */
+  public void increment(Collection<String> tables) {
+    for (String table : tables) {
+      versions.computeIfAbsent(table, k -> new AtomicLong()).incrementAndGet();
+    }
+    if (tables.contains(ANY_TABLE)) {
+      unknownWrites.incrementAndGet();
+    } else {
+      versions.computeIfAbsent(ANY_TABLE, k -> new AtomicLong()).incrementAndGet();
+    }
+  }
+
+  /**
+   * Returns a copy of a cache key that also includes the current versions of the tables.
+   *
+   * @param key
+   *          the cache key of a query
+   * @param tables
+   *          the tables the query reads
+   *
+   * @return the versioned cache key
+   */
+  public CacheKey versionedKey(CacheKey key, Set<String> tables) {
+    CacheKey versionedKey;
+    try {
+      versionedKey = key.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new CacheException("Error cloning the cache key. Cause: " + e, e);
+    }
+    for (String table : tables) {
+      versionedKey.update(table);
+      versionedKey.update(getVersion(table));
+    }
+    versionedKey.update(unknownWrites.get());
+    return versionedKey;
+  }
+
+  private static Set<String> extract(ConcurrentHashMap<String, Set<String>> extracted, String sql,
+      Function<String, Set<String>> extractor) {
+    Set<String> tables = extracted.get(sql);
+    if (tables == null) {
+      // the SQL of dynamic statements may vary without limit, so an entry makes room for the new one
+      Iterator<String> iterator = extracted.keySet().iterator();
+      while (extracted.size() >= MAX_EXTRACTED_STATEMENTS && iterator.hasNext()) {
+        iterator.next();
+        iterator.remove();
+      }
+      tables = extracted.computeIfAbsent(sql, extractor);
+    }
+    return tables;
+  }
+
+  private static Set<String> normalize(String[] tables) {
+    Set<String> normalized = new LinkedHashSet<>();
+    for (String table : tables) {
+      String name = table.trim().toUpperCase(Locale.ENGLISH);
+      normalized.add(name.substring(name.lastIndexOf('.') + 1));
+    }
+    return normalized;
+  }
+
+}
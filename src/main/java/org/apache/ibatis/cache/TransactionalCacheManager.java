@@ -17,6 +17,7 @@ package org.apache.ibatis.cache;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.apache.ibatis.cache.decorators.TransactionalCache;
 import org.apache.ibatis.util.MapUtil;
@@ -27,6 +28,23 @@ import org.apache.ibatis.util.MapUtil;
 public class TransactionalCacheManager {
 
   private final Map<Cache, TransactionalCache> transactionalCaches = new HashMap<>();
+  private final Consumer<Cache> clearListener;
+
+  public TransactionalCacheManager() {
+    this(null);
+  }
+
+  /**
+   * Creates a manager notifying the caches cleared on commit.
+   *
+   * @param clearListener
+   *          the listener called with each cache cleared on commit, may be {@code null}
+   *
+   * @since 3.5.17
+   */
+  public TransactionalCacheManager(Consumer<Cache> clearListener) {
+    this.clearListener = clearListener;
+  }
 
   public void clear(Cache cache) {
     getTransactionalCache(cache).clear();
@@ -40,6 +58,24 @@ public class TransactionalCacheManager {
     getTransactionalCache(cache).putObject(key, value);
   }
 
+  /**
+   * Puts a value to add on commit, with the loader the cache may reload it with.
+   *
+   * @param cache
+   *          the cache
+   * @param key
+   *          the key
+   * @param value
+   *          the value
+   * @param loader
+   *          the loader of the value, may be {@code null}
+   *
+   * @since 3.5.17
+   */
+  public void putObject(Cache cache, CacheKey key, Object value, CacheLoader loader) {
+    getTransactionalCache(cache).putObject(key, value, loader);
+  }
+
   public void commit() {
     for (TransactionalCache txCache : transactionalCaches.values()) {
       txCache.commit();
@@ -53,7 +89,7 @@ public class TransactionalCacheManager {
   }
 
   private TransactionalCache getTransactionalCache(Cache cache) {
-    return MapUtil.computeIfAbsent(transactionalCaches, cache, TransactionalCache::new);
+    return MapUtil.computeIfAbsent(transactionalCaches, cache, k -> new TransactionalCache(k, clearListener));
   }
 
 }
@@ -0,0 +1,366 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheLoader;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * A cache expiring each entry once its time to live has elapsed, and reloading in the background the entries read
+ * shortly before they expire.
+ * <p>
+ * Unlike {@link ScheduledCache}, which clears the whole cache at once in the request that finds it stale, each entry
+ * has its own expiry, shortened by a random jitter so that the entries put together do not expire together. An entry
+ * read after {@link #setRefreshAheadFactor(double) refreshAheadFactor} of its time to live is reloaded by a background
+ * thread, while the readers keep getting the current value. An entry not read in that window simply expires.
+ * <p>
+ * Entries are reloaded by the {@link CacheLoader} given to {@link #putObject(Cache, Object, Object, CacheLoader)}; the
+ * entries put without a loader only expire. A reload started before a {@link #clear()} is discarded.
+ * <p>
+ * At most {@link #setSize(int) size} entries are kept: putting more removes the least recently used one from the
+ * delegate too, so that an entry is never held longer than its time to live, nor its loader longer than its value.
+ * <p>
+ * The delegate must be thread safe, as the reloaded values are put from the background threads.
+ *
+ * @since 3.5.17
+ */
+public class RefreshAheadCache implements Cache {
+
+  private static final Log log = LogFactory.getLog(RefreshAheadCache.class);
+  private static final ThreadLocal<CacheLoader> loaderOfPut = new ThreadLocal<>();
+
+  private final Cache delegate;
+  // guarded by itself, ordered like the keys of an LruCache delegate of the same size
+  private final LinkedHashMap<Object, Entry> entries;
+  private Object eldestKey;
+  // held for writing by clear(), so that no reload puts a value loaded before it
+  private final ReadWriteLock clearLock = new ReentrantReadWriteLock();
+  private final AtomicLong lastSweep = new AtomicLong(System.currentTimeMillis());
+  private long timeToLive = TimeUnit.HOURS.toMillis(1);
+  private double refreshAheadFactor = 0.8;
+  private double expiryJitter = 0.1;
+  private Executor executor;
+  private int size = 1024;
+
+  public RefreshAheadCache(Cache delegate) {
+    this.delegate = delegate;
+    this.entries = new LinkedHashMap<Object, Entry>(1024, .75F, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Object, RefreshAheadCache.Entry> eldest) {
+        boolean tooBig = size() > RefreshAheadCache.this.size;
+        if (tooBig) {
+          eldestKey = eldest.getKey();
+        }
+        return tooBig;
+      }
+    };
+  }
+
+  /**
+   * Puts a value in a cache, with the loader the {@link RefreshAheadCache} decorators of the cache reload it with.
+   *
+   * @param cache
+   *          the cache
+   * @param key
+   *          the key
+   * @param value
+   *          the value
+   * @param loader
+   *          the loader of the value, may be {@code null}
+   */
+  public static void putObject(Cache cache, Object key, Object value, CacheLoader loader) {
+    if (loader == null) {
+      cache.putObject(key, value);
+      return;
+    }
+    loaderOfPut.set(loader);
+    try {
+      cache.putObject(key, value);
+    } finally {
+      loaderOfPut.remove();
+    }
+  }
+
+  /**
+   * Sets the number of entries kept.
+   *
+   * @param size
+   *          the number of entries, 1024 by default
+   */
+  public void setSize(int size) {
+    this.size = size;
+  }
+
+  /**
+   * Sets the time an entry stays in the cache.
+   *
+   * @param timeToLive
+   *          the time to live in milliseconds, one hour by default
+   */
+  public void setTimeToLive(long timeToLive) {
+    this.timeToLive = timeToLive;
+  }
+
+  /**
+   * Sets the part of the time to live after which a read entry is reloaded.
+   *
+   * @param refreshAheadFactor
+   *          the factor between 0 and 1, 0.8 by default; 1 disables the reloads
+   */
+  public void setRefreshAheadFactor(double refreshAheadFactor) {
+    this.refreshAheadFactor = refreshAheadFactor;
+  }
+
+  /**
+   * Sets the largest part of the time to live an entry may randomly lose.
+   *
+   * @param expiryJitter
+   *          the factor between 0 and 1, 0.1 by default
+   */
+  public void setExpiryJitter(double expiryJitter) {
+    this.expiryJitter = expiryJitter;
+  }
+
+  /**
+   * Sets the executor of the reloads.
+   *
+   * @param executor
+   *          the executor, a pool of daemon threads shared by all the caches by default
+   */
+  public void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize();
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    long now = System.currentTimeMillis();
+    Object evictedKey = null;
+    synchronized (entries) {
+      if (value == null) {
+        entries.remove(key);
+      } else {
+        entries.put(key, newEntry(now, loaderOfPut.get()));
+        evictedKey = eldestKey;
+        eldestKey = null;
+      }
+    }
+    if (evictedKey != null) {
+      delegate.removeObject(evictedKey);
+    }
+    delegate.putObject(key, value);
+    sweepIfDue(now);
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    Entry entry;
+    synchronized (entries) {
+      entry = entries.get(key);
+    }
+    if (entry != null) {
+      long now = System.currentTimeMillis();
+      if (now >= entry.expireAt) {
+        expire(key, entry);
+        return null;
+      }
+      if (now >= entry.refreshAt && entry.loader != null && entry.refreshing.compareAndSet(false, true)) {
+        refresh(key, entry);
+      }
+    }
+    Object value = delegate.getObject(key);
+    if (value == null && entry != null) {
+      // evicted by the delegate
+      remove(key, entry);
+    }
+    return value;
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    synchronized (entries) {
+      entries.remove(key);
+    }
+    return delegate.removeObject(key);
+  }
+
+  @Override
+  public void clear() {
+    clearLock.writeLock().lock();
+    try {
+      synchronized (entries) {
+        entries.clear();
+      }
+      delegate.clear();
+    } finally {
+      clearLock.writeLock().unlock();
+    }
+  }
+
+  private Entry newEntry(long now, CacheLoader loader) {
+    long lifetime = (long) (timeToLive * (1 - expiryJitter * ThreadLocalRandom.current().nextDouble()));
+    return new Entry(now + lifetime, now + (long) (lifetime * refreshAheadFactor), loader);
+  }
+
+  private void refresh(Object key, Entry entry) {
+    try {
+      getExecutor().execute(() -> reload(key, entry));
+    } catch (RejectedExecutionException e) {
+      // too many reloads pending, a later read will try again
+      entry.refreshing.set(false);
+      log.debug("Skipped the reload of an entry of cache " + getId() + ": too many reloads pending.");
+    }
+  }
+
+  private void reload(Object key, Entry entry) {
+    Object value;
+    try {
+      value = entry.loader.load();
+    } catch (Exception e) {
+      // a later read will try again, until the entry expires
+      entry.refreshing.set(false);
+      log.warn("Failed to reload an entry of cache " + getId() + ". Cause: " + e);
+      return;
+    }
+    if (value == null) {
+      entry.refreshing.set(false);
+      return;
+    }
+    clearLock.readLock().lock();
+    try {
+      boolean replaced;
+      synchronized (entries) {
+        // unless the entry was cleared, removed or replaced meanwhile
+        replaced = entries.replace(key, entry, newEntry(System.currentTimeMillis(), entry.loader));
+      }
+      if (replaced) {
+        delegate.putObject(key, value);
+      }
+    } finally {
+      clearLock.readLock().unlock();
+    }
+  }
+
+  private void expire(Object key, Entry entry) {
+    if (remove(key, entry)) {
+      delegate.removeObject(key);
+    }
+  }
+
+  private boolean remove(Object key, Entry entry) {
+    synchronized (entries) {
+      return entries.remove(key, entry);
+    }
+  }
+
+  private void sweepIfDue(long now) {
+    // frees the expired entries not read again
+    long last = lastSweep.get();
+    if (now - last >= timeToLive && lastSweep.compareAndSet(last, now)) {
+      List<Object> expiredKeys = new ArrayList<>();
+      List<Entry> expiredEntries = new ArrayList<>();
+      synchronized (entries) {
+        entries.forEach((key, entry) -> {
+          if (now >= entry.expireAt) {
+            expiredKeys.add(key);
+            expiredEntries.add(entry);
+          }
+        });
+      }
+      for (int i = 0; i < expiredKeys.size(); i++) {
+        expire(expiredKeys.get(i), expiredEntries.get(i));
+      }
+    }
+  }
+
+  private Executor getExecutor() {
+    return executor == null ? SharedExecutor.INSTANCE : executor;
+  }
+
+  @Override
+  public int hashCode() {
+    return delegate.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return delegate.equals(obj);
+  }
+
+  private static final class Entry {
+
+    private final long expireAt;
+    private final long refreshAt;
+    private final CacheLoader loader;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    Entry(long expireAt, long refreshAt, CacheLoader loader) {
+      this.expireAt = expireAt;
+      this.refreshAt = refreshAt;
+      this.loader = loader;
+    }
+
+  }
+
+  private static final class SharedExecutor {
+
+    private static final Executor INSTANCE = createExecutor();
+
+    private static Executor createExecutor() {
+      int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+      AtomicInteger count = new AtomicInteger();
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(1024), r -> {
+            Thread thread = new Thread(r, "mybatis-cache-refresh-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+    }
+
+  }
+
+}
@@ -15,29 +15,74 @@
  */
 package org.apache.ibatis.cache.decorators;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.ObjectStreamClass;
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheSerializer;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
 import org.apache.ibatis.io.Resources;
-import org.apache.ibatis.io.SerialFilterChecker;
 
 /**
  * @author Clinton Begin
  */
 public class SerializedCache implements Cache {
 
+  private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(
+      Arrays.asList(String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+          Float.class, Double.class, BigInteger.class, BigDecimal.class, Class.class, UUID.class, Instant.class,
+          LocalDate.class, LocalTime.class, LocalDateTime.class, OffsetTime.class, OffsetDateTime.class,
+          ZonedDateTime.class, Year.class, YearMonth.class, MonthDay.class, Duration.class, Period.class));
+
   private final Cache delegate;
+  private final CacheSerializer serializer;
+  private final boolean shareImmutableValues;
 
   public SerializedCache(Cache delegate) {
+    this(delegate, new JavaCacheSerializer(), false);
+  }
+
+  /**
+   * Creates a serialized cache.
+   *
+   * @param delegate
+   *          the cache storing the serialized values
+   * @param serializer
+   *          the serializer of the values
+   * @param shareImmutableValues
+   *          whether immutable values, and lists of immutable values, are cached without being serialized. Such a value
+   *          is shared by the callers, a list being copied but not its elements.
+   *
+   * @since 3.5.17
+   */
+  public SerializedCache(Cache delegate, CacheSerializer serializer, boolean shareImmutableValues) {
     this.delegate = delegate;
+    this.serializer = serializer;
+    this.shareImmutableValues = shareImmutableValues;
   }
 
   @Override
@@ -55,13 +100,20 @@ public class SerializedCache implements Cache {
     if ((object != null) && !(object instanceof Serializable)) {
       throw new CacheException("SharedCache failed to make a copy of a non-serializable object: " + object);
     }
-    delegate.putObject(key, serialize((Serializable) object));
+    if (shareImmutableValues && isImmutable(object)) {
+      delegate.putObject(key, new SharedValue(object));
+    } else {
+      delegate.putObject(key, serializer.serialize(object));
+    }
   }
 
   @Override
   public Object getObject(Object key) {
     Object object = delegate.getObject(key);
-    return object == null ? null : deserialize((byte[]) object);
+    if (object instanceof SharedValue) {
+      return ((SharedValue) object).get();
+    }
+    return object == null ? null : serializer.deserialize((byte[]) object);
   }
 
   @Override
@@ -84,27 +136,35 @@ public class SerializedCache implements Cache {
     return delegate.equals(obj);
   }
 
-  private byte[] serialize(Serializable value) {
-    try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        ObjectOutputStream oos = new ObjectOutputStream(bos)) {
-      oos.writeObject(value);
-      oos.flush();
-      return bos.toByteArray();
-    } catch (Exception e) {
-      throw new CacheException("Error serializing object.  Cause: " + e, e);
+  private static boolean isImmutable(Object object) {
+    if (object instanceof ArrayList) {
+      for (Object element : (List<?>) object) {
+        if (!isImmutableElement(element)) {
+          return false;
+        }
+      }
+      return true;
     }
+    return isImmutableElement(object);
+  }
+
+  private static boolean isImmutableElement(Object object) {
+    return object == null || object instanceof Enum || IMMUTABLE_TYPES.contains(object.getClass());
   }
 
-  private Serializable deserialize(byte[] value) {
-    SerialFilterChecker.check();
-    Serializable result;
-    try (ByteArrayInputStream bis = new ByteArrayInputStream(value);
-        ObjectInputStream ois = new CustomObjectInputStream(bis)) {
-      result = (Serializable) ois.readObject();
-    } catch (Exception e) {
-      throw new CacheException("Error deserializing object.  Cause: " + e, e);
+  private static final class SharedValue {
+
+    private final Object value;
+
+    SharedValue(Object value) {
+      // copy the list, as the caller may modify it
+      this.value = value instanceof ArrayList ? new ArrayList<>((List<?>) value) : value;
     }
-    return result;
+
+    Object get() {
+      return value instanceof ArrayList ? new ArrayList<>((List<?>) value) : value;
+    }
+
   }
 
   public static class CustomObjectInputStream extends ObjectInputStream {
@@ -19,8 +19,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheLoader;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 
@@ -42,13 +44,31 @@ public class TransactionalCache implements Cache {
   private final Cache delegate;
   private boolean clearOnCommit;
   private final Map<Object, Object> entriesToAddOnCommit;
+  private final Map<Object, CacheLoader> loadersToAddOnCommit;
   private final Set<Object> entriesMissedInCache;
+  private final Consumer<Cache> clearListener;
 
   public TransactionalCache(Cache delegate) {
+    this(delegate, null);
+  }
+
+  /**
+   * Creates a transactional cache notifying the clear of the delegate on commit.
+   *
+   * @param delegate
+   *          the cache
+   * @param clearListener
+   *          the listener called with the delegate once it is cleared on commit, may be {@code null}
+   *
+   * @since 3.5.17
+   */
+  public TransactionalCache(Cache delegate, Consumer<Cache> clearListener) {
     this.delegate = delegate;
     this.clearOnCommit = false;
     this.entriesToAddOnCommit = new HashMap<>();
+    this.loadersToAddOnCommit = new HashMap<>();
     this.entriesMissedInCache = new HashSet<>();
+    this.clearListener = clearListener;
   }
 
   @Override
@@ -78,6 +98,26 @@ public class TransactionalCache implements Cache {
   @Override
   public void putObject(Object key, Object object) {
     entriesToAddOnCommit.put(key, object);
+    loadersToAddOnCommit.remove(key);
+  }
+
+  /**
+   * Puts a value to add on commit, with the loader a {@link RefreshAheadCache} reloads it with.
+   *
+   * @param key
+   *          the key
+   * @param object
+   *          the value
+   * @param loader
+   *          the loader of the value, may be {@code null}
+   *
+   * @since 3.5.17
+   */
+  public void putObject(Object key, Object object, CacheLoader loader) {
+    putObject(key, object);
+    if (loader != null) {
+      loadersToAddOnCommit.put(key, loader);
+    }
   }
 
   @Override
@@ -89,11 +129,15 @@ public class TransactionalCache implements Cache {
   public void clear() {
     clearOnCommit = true;
     entriesToAddOnCommit.clear();
+    loadersToAddOnCommit.clear();
   }
 
   public void commit() {
     if (clearOnCommit) {
       delegate.clear();
+      if (clearListener != null) {
+        clearListener.accept(delegate);
+      }
     }
     flushPendingEntries();
     reset();
@@ -107,12 +151,13 @@ public class TransactionalCache implements Cache {
   private void reset() {
     clearOnCommit = false;
     entriesToAddOnCommit.clear();
+    loadersToAddOnCommit.clear();
     entriesMissedInCache.clear();
   }
 
   private void flushPendingEntries() {
     for (Map.Entry<Object, Object> entry : entriesToAddOnCommit.entrySet()) {
-      delegate.putObject(entry.getKey(), entry.getValue());
+      RefreshAheadCache.putObject(delegate, entry.getKey(), entry.getValue(), loadersToAddOnCommit.get(entry.getKey()));
     }
     for (Object entry : entriesMissedInCache) {
       if (!entriesToAddOnCommit.containsKey(entry)) {
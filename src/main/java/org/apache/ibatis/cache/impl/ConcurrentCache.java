@@ -0,0 +1,335 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+
+/**
+ * A bounded, thread-safe cache that does not need to be wrapped by a
+ * {@link org.apache.ibatis.cache.decorators.SynchronizedCache}.
+ * <p>
+ * Reads never lock: they look the entry up in a {@link ConcurrentHashMap} and record the access in a small buffer
+ * striped by thread. Buffered accesses are applied to the eviction order in batches, under a lock that is only tried by
+ * readers, so a full buffer simply drops accesses instead of blocking. Writes take the lock.
+ * <p>
+ * Entries are evicted in segmented LRU order: a new entry enters a probation segment and is promoted to a protected
+ * segment when it is read again. The least recently used entry of the probation segment is evicted first, so entries
+ * read once do not push out entries that are read often.
+ *
+ * @since 3.5.17
+ */
+public class ConcurrentCache implements Cache {
+
+  private static final int READ_BUFFER_SIZE = 16;
+  private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+  private static final int STRIPES = stripes();
+  private static final double PROTECTED_RATIO = 0.8;
+
+  private final String id;
+  private final ConcurrentHashMap<Object, Node> cache = new ConcurrentHashMap<>();
+  private final ReadBuffer[] readBuffers = new ReadBuffer[STRIPES];
+  private final ReentrantLock evictionLock = new ReentrantLock();
+
+  // guarded by evictionLock
+  private final Segment probation = new Segment();
+  private final Segment protectedSegment = new Segment();
+  private int size;
+
+  public ConcurrentCache(String id) {
+    this.id = id;
+    for (int i = 0; i < STRIPES; i++) {
+      readBuffers[i] = new ReadBuffer();
+    }
+    setSize(1024);
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public int getSize() {
+    return cache.size();
+  }
+
+  /**
+   * Sets the maximum number of entries.
+   *
+   * @param size
+   *          the maximum number of entries
+   */
+  public void setSize(int size) {
+    if (size <= 0) {
+      throw new CacheException("The size of cache '" + id + "' must be greater than zero.");
+    }
+    evictionLock.lock();
+    try {
+      this.size = size;
+      evict();
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    evictionLock.lock();
+    try {
+      drainReadBuffers();
+      Node node = cache.get(key);
+      if (node == null) {
+        node = new Node(key, value);
+        cache.put(key, node);
+        probation.addLast(node);
+        evict();
+      } else {
+        node.value = value;
+        onAccess(node);
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    Node node = cache.get(key);
+    if (node == null) {
+      return null;
+    }
+    ReadBuffer buffer = readBuffers[(int) Thread.currentThread().getId() & (STRIPES - 1)];
+    if (buffer.offer(node) && evictionLock.tryLock()) {
+      try {
+        drainReadBuffers();
+      } finally {
+        evictionLock.unlock();
+      }
+    }
+    return node.value;
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    evictionLock.lock();
+    try {
+      Node node = cache.remove(key);
+      if (node == null) {
+        return null;
+      }
+      unlink(node);
+      return node.value;
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    evictionLock.lock();
+    try {
+      drainReadBuffers();
+      for (Node node : cache.values()) {
+        node.segment = null;
+      }
+      cache.clear();
+      probation.clear();
+      protectedSegment.clear();
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  private void onAccess(Node node) {
+    if (node.segment == probation) {
+      probation.remove(node);
+      protectedSegment.addLast(node);
+      int maxProtected = (int) (size * PROTECTED_RATIO);
+      while (protectedSegment.count > maxProtected) {
+        Node demoted = protectedSegment.head;
+        protectedSegment.remove(demoted);
+        probation.addLast(demoted);
+      }
+    } else if (node.segment == protectedSegment) {
+      protectedSegment.remove(node);
+      protectedSegment.addLast(node);
+    }
+  }
+
+  private void evict() {
+    while (probation.count + protectedSegment.count > size) {
+      Node victim = probation.head != null ? probation.head : protectedSegment.head;
+      unlink(victim);
+      cache.remove(victim.key, victim);
+    }
+  }
+
+  private void unlink(Node node) {
+    if (node.segment != null) {
+      node.segment.remove(node);
+    }
+  }
+
+  private void drainReadBuffers() {
+    for (ReadBuffer buffer : readBuffers) {
+      buffer.drainTo(this);
+    }
+  }
+
+  private static int stripes() {
+    int stripes = 1;
+    while (stripes < Runtime.getRuntime().availableProcessors()) {
+      stripes <<= 1;
+    }
+    return Math.min(stripes, 64);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (getId() == null) {
+      throw new CacheException("Cache instances require an ID.");
+    }
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Cache)) {
+      return false;
+    }
+
+    Cache otherCache = (Cache) o;
+    return getId().equals(otherCache.getId());
+  }
+
+  @Override
+  public int hashCode() {
+    if (getId() == null) {
+      throw new CacheException("Cache instances require an ID.");
+    }
+    return getId().hashCode();
+  }
+
+  private static final class Node {
+    private final Object key;
+    private volatile Object value;
+    // guarded by evictionLock
+    private Segment segment;
+    private Node prev;
+    private Node next;
+
+    Node(Object key, Object value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+  /**
+   * A doubly linked list ordered from least to most recently used, guarded by the eviction lock.
+   */
+  private static final class Segment {
+    private Node head;
+    private Node tail;
+    private int count;
+
+    void addLast(Node node) {
+      node.segment = this;
+      node.prev = tail;
+      node.next = null;
+      if (tail == null) {
+        head = node;
+      } else {
+        tail.next = node;
+      }
+      tail = node;
+      count++;
+    }
+
+    void remove(Node node) {
+      if (node.prev == null) {
+        head = node.next;
+      } else {
+        node.prev.next = node.next;
+      }
+      if (node.next == null) {
+        tail = node.prev;
+      } else {
+        node.next.prev = node.prev;
+      }
+      node.prev = null;
+      node.next = null;
+      node.segment = null;
+      count--;
+    }
+
+    void clear() {
+      head = null;
+      tail = null;
+      count = 0;
+    }
+  }
+
+  /**
+   * A lossy ring buffer of accessed nodes. Any thread can offer, only the holder of the eviction lock drains.
+   */
+  private static final class ReadBuffer {
+    private final AtomicReferenceArray<Node> buffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    private final AtomicLong writeCount = new AtomicLong();
+    private volatile long readCount;
+
+    /**
+     * Records an access, dropping it if the buffer is full or contended.
+     *
+     * @return true if the buffer should be drained
+     */
+    boolean offer(Node node) {
+      long head = readCount;
+      long tail = writeCount.get();
+      long pending = tail - head;
+      if (pending >= READ_BUFFER_SIZE) {
+        return true;
+      }
+      if (writeCount.compareAndSet(tail, tail + 1)) {
+        buffer.lazySet((int) (tail & READ_BUFFER_MASK), node);
+        return pending + 1 >= READ_BUFFER_SIZE / 2;
+      }
+      return false;
+    }
+
+    void drainTo(ConcurrentCache cache) {
+      long head = readCount;
+      long tail = writeCount.get();
+      for (; head < tail; head++) {
+        int index = (int) (head & READ_BUFFER_MASK);
+        Node node = buffer.get(index);
+        if (node == null) {
+          // the write has been claimed but not published yet
+          break;
+        }
+        buffer.lazySet(index, null);
+        if (node.segment != null) {
+          cache.onAccess(node);
+        }
+      }
+      readCount = head;
+    }
+  }
+
+}
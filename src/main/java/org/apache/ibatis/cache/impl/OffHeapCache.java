@@ -0,0 +1,395 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.impl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.builder.InitializingObject;
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheSerializer;
+import org.apache.ibatis.cache.serializer.CompactCacheSerializer;
+import org.apache.ibatis.io.Resources;
+
+/**
+ * A cache storing its values serialized in direct byte buffers, out of the Java heap.
+ * <p>
+ * The buffers are allocated in slabs, up to {@link #setMaxBytes(long) maxBytes}, and split in blocks of
+ * {@link #setBlockSize(int) blockSize} bytes. A value occupies as many blocks as its bytes require. When no block is
+ * free, values are evicted with the CLOCK policy: a value read since the hand last passed over it gets a second chance.
+ * Only the keys and the block numbers of the values are kept on the heap.
+ * <p>
+ * The sizes and the serializer are applied by {@link #initialize()}, which the cache builder calls once the properties
+ * of the cache are set.
+ * <p>
+ * As the values are serialized, each read returns a copy, and the cache can be used through
+ * {@code <cache type="OFF_HEAP">}. The cache is thread safe.
+ *
+ * @since 3.5.17
+ */
+public class OffHeapCache implements Cache, InitializingObject {
+
+  private final String id;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<Object, Entry> index = new HashMap<>();
+  private final Deque<Entry> clock = new ArrayDeque<>();
+  private final List<ByteBuffer> slabs = new ArrayList<>();
+
+  private long maxBytes = 64L * 1024 * 1024;
+  private int blockSize = 512;
+  private int slabSize = 4 * 1024 * 1024;
+  private String serializer;
+
+  private CacheSerializer cacheSerializer = new CompactCacheSerializer();
+  private int blocksPerSlab = slabSize / blockSize;
+  private int maxBlocks = (int) (maxBytes / blockSize);
+  private int allocatedBlocks;
+  private int[] freeBlocks;
+  private int freeBlockCount;
+  private long usedBytes;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  public OffHeapCache(String id) {
+    this.id = id;
+  }
+
+  /**
+   * Sets the maximum number of bytes of the buffers.
+   *
+   * @param maxBytes
+   *          the maximum number of bytes, 64 MiB by default
+   */
+  public void setMaxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Sets the number of bytes of a block, the unit of allocation of the values.
+   *
+   * @param blockSize
+   *          the number of bytes of a block, 512 by default
+   */
+  public void setBlockSize(int blockSize) {
+    this.blockSize = blockSize;
+  }
+
+  /**
+   * Sets the number of bytes of a slab, the unit of allocation of the buffers.
+   *
+   * @param slabSize
+   *          the number of bytes of a slab, rounded down to a multiple of the block size, 4 MiB by default
+   */
+  public void setSlabSize(int slabSize) {
+    this.slabSize = slabSize;
+  }
+
+  /**
+   * Sets the serializer of the values.
+   *
+   * @param serializer
+   *          the fully qualified class name of a {@link CacheSerializer}, {@link CompactCacheSerializer} by default
+   */
+  public void setSerializer(String serializer) {
+    this.serializer = serializer;
+  }
+
+  @Override
+  public void initialize() throws Exception {
+    if (blockSize <= 0 || slabSize < blockSize || maxBytes < blockSize) {
+      throw new CacheException("Invalid sizes of off-heap cache '" + id + "': maxBytes=" + maxBytes + ", slabSize="
+          + slabSize + ", blockSize=" + blockSize + ".");
+    }
+    if (serializer != null) {
+      cacheSerializer = (CacheSerializer) Resources.classForName(serializer).getDeclaredConstructor().newInstance();
+    }
+    blocksPerSlab = slabSize / blockSize;
+    maxBlocks = (int) Math.min(Integer.MAX_VALUE, maxBytes / blockSize);
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public int getSize() {
+    lock.lock();
+    try {
+      return index.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    byte[] bytes = cacheSerializer.serialize(value);
+    int blockCount = (bytes.length + blockSize - 1) / blockSize;
+    lock.lock();
+    try {
+      removeEntry(index.remove(key));
+      if (blockCount > maxBlocks || !reserve(blockCount)) {
+        // larger than the whole cache
+        return;
+      }
+      Entry entry = new Entry(key, bytes.length, new int[blockCount]);
+      for (int i = 0; i < blockCount; i++) {
+        int block = freeBlocks[--freeBlockCount];
+        entry.blocks[i] = block;
+        ByteBuffer buffer = blockBuffer(block);
+        buffer.put(bytes, i * blockSize, Math.min(blockSize, bytes.length - i * blockSize));
+      }
+      usedBytes += bytes.length;
+      index.put(key, entry);
+      clock.addLast(entry);
+      if (clock.size() > 2 * index.size() + 16) {
+        clock.removeIf(e -> e.removed);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    byte[] bytes;
+    lock.lock();
+    try {
+      Entry entry = index.get(key);
+      if (entry == null) {
+        misses++;
+        return null;
+      }
+      hits++;
+      entry.referenced = true;
+      bytes = new byte[entry.length];
+      for (int i = 0; i < entry.blocks.length; i++) {
+        blockBuffer(entry.blocks[i]).get(bytes, i * blockSize, Math.min(blockSize, bytes.length - i * blockSize));
+      }
+    } finally {
+      lock.unlock();
+    }
+    return cacheSerializer.deserialize(bytes);
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    lock.lock();
+    try {
+      removeEntry(index.remove(key));
+      return null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    lock.lock();
+    try {
+      for (Entry entry : index.values()) {
+        removeEntry(entry);
+      }
+      index.clear();
+      clock.clear();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of bytes of the values.
+   *
+   * @return the number of bytes of the values
+   */
+  public long getUsedBytes() {
+    lock.lock();
+    try {
+      return usedBytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of bytes of the blocks holding the values, which is at most {@code maxBytes}.
+   *
+   * @return the number of bytes of the blocks in use
+   */
+  public long getOccupiedBytes() {
+    lock.lock();
+    try {
+      return ((long) allocatedBlocks - freeBlockCount) * blockSize;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of bytes of the buffers allocated so far.
+   *
+   * @return the number of bytes of the buffers
+   */
+  public long getAllocatedBytes() {
+    lock.lock();
+    try {
+      return (long) allocatedBlocks * blockSize;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  public long getHits() {
+    lock.lock();
+    try {
+      return hits;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getMisses() {
+    lock.lock();
+    try {
+      return misses;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of values evicted to make room for other values.
+   *
+   * @return the number of values evicted
+   */
+  public long getEvictions() {
+    lock.lock();
+    try {
+      return evictions;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean reserve(int blockCount) {
+    while (freeBlockCount < blockCount) {
+      if (allocatedBlocks < maxBlocks) {
+        allocateSlab(Math.min(blocksPerSlab, maxBlocks - allocatedBlocks));
+      } else if (!evict()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void allocateSlab(int blocks) {
+    int first = allocatedBlocks;
+    slabs.add(ByteBuffer.allocateDirect(blocks * blockSize));
+    allocatedBlocks += blocks;
+    if (freeBlocks == null || freeBlocks.length < first + blocks) {
+      int[] newFreeBlocks = new int[first + blocksPerSlab];
+      if (freeBlocks != null) {
+        System.arraycopy(freeBlocks, 0, newFreeBlocks, 0, freeBlockCount);
+      }
+      freeBlocks = newFreeBlocks;
+    }
+    for (int block = first + blocks - 1; block >= first; block--) {
+      freeBlocks[freeBlockCount++] = block;
+    }
+  }
+
+  private boolean evict() {
+    Entry entry;
+    while ((entry = clock.pollFirst()) != null) {
+      if (entry.removed) {
+        continue;
+      }
+      if (entry.referenced) {
+        entry.referenced = false;
+        clock.addLast(entry);
+      } else {
+        index.remove(entry.key);
+        removeEntry(entry);
+        evictions++;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void removeEntry(Entry entry) {
+    if (entry == null || entry.removed) {
+      return;
+    }
+    entry.removed = true;
+    for (int block : entry.blocks) {
+      freeBlocks[freeBlockCount++] = block;
+    }
+    usedBytes -= entry.length;
+  }
+
+  private ByteBuffer blockBuffer(int block) {
+    ByteBuffer buffer = slabs.get(block / blocksPerSlab).duplicate();
+    buffer.position(block % blocksPerSlab * blockSize);
+    return buffer;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Cache)) {
+      return false;
+    }
+    return getId().equals(((Cache) o).getId());
+  }
+
+  @Override
+  public int hashCode() {
+    return getId().hashCode();
+  }
+
+  private static final class Entry {
+
+    private final Object key;
+    private final int length;
+    private final int[] blocks;
+    private boolean referenced;
+    private boolean removed;
+
+    Entry(Object key, int length, int[] blocks) {
+      this.key = key;
+      this.length = length;
+      this.blocks = blocks;
+    }
+
+  }
+
+}
@@ -0,0 +1,96 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+import org.apache.ibatis.cache.CacheInvalidation;
+import org.apache.ibatis.cache.CacheInvalidationBus;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * A bus delivering the invalidations to the other buses of the same channel in this JVM, synchronously.
+ * <p>
+ * It keeps the caches of several configurations sharing a database coherent, and serves as the reference implementation
+ * of the SPI. The channel is set by the {@code cacheInvalidationBus.channel} property, {@code default} by default.
+ *
+ * @since 3.5.17
+ */
+public class InProcessCacheInvalidationBus implements CacheInvalidationBus {
+
+  private static final Log log = LogFactory.getLog(InProcessCacheInvalidationBus.class);
+  private static final ConcurrentHashMap<String, Set<InProcessCacheInvalidationBus>> CHANNELS = new ConcurrentHashMap<>();
+
+  private String channel;
+  private volatile Consumer<CacheInvalidation> listener;
+
+  public InProcessCacheInvalidationBus() {
+    this("default");
+  }
+
+  public InProcessCacheInvalidationBus(String channel) {
+    this.channel = channel;
+  }
+
+  @Override
+  public void setProperties(Properties properties) {
+    channel = properties.getProperty("cacheInvalidationBus.channel", channel);
+  }
+
+  @Override
+  public void start(Consumer<CacheInvalidation> listener) {
+    this.listener = listener;
+    CHANNELS.computeIfAbsent(channel, k -> new CopyOnWriteArraySet<>()).add(this);
+  }
+
+  @Override
+  public void publish(CacheInvalidation invalidation) {
+    Set<InProcessCacheInvalidationBus> buses = CHANNELS.get(channel);
+    if (buses == null || invalidation.isEmpty()) {
+      return;
+    }
+    for (InProcessCacheInvalidationBus bus : buses) {
+      Consumer<CacheInvalidation> busListener = bus.listener;
+      if (bus != this && busListener != null) {
+        try {
+          busListener.accept(invalidation);
+        } catch (RuntimeException e) {
+          // the other configurations must not fail the commit of this one
+          log.warn("Error applying " + invalidation + " on channel " + channel + ". Cause: " + e);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    Set<InProcessCacheInvalidationBus> buses = CHANNELS.get(channel);
+    if (buses != null) {
+      buses.remove(this);
+    }
+    listener = null;
+  }
+
+  public String getChannel() {
+    return channel;
+  }
+
+}
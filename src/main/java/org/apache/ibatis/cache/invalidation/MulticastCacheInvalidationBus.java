@@ -0,0 +1,245 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheInvalidation;
+import org.apache.ibatis.cache.CacheInvalidationBus;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * A bus sending the invalidations to the other nodes as UDP multicast datagrams.
+ * <p>
+ * The invalidations of a transaction are sent in a single datagram, unless they do not fit in one. Each bus has a
+ * random node id, so that it ignores its own datagrams. The datagrams are received by a daemon thread.
+ * <p>
+ * UDP does not guarantee delivery: a lost datagram leaves stale entries on a node until they are invalidated again or
+ * evicted, so a flush interval remains useful as a bound on staleness.
+ * <p>
+ * The following properties can be set as variables of the configuration:
+ * <ul>
+ * <li>{@code cacheInvalidationBus.group}: the multicast group, {@code 239.255.27.1} by default</li>
+ * <li>{@code cacheInvalidationBus.port}: the port, {@code 45678} by default</li>
+ * <li>{@code cacheInvalidationBus.networkInterface}: the name of the network interface, such as {@code lo} to test on a
+ * single host, the default interface of the system by default</li>
+ * <li>{@code cacheInvalidationBus.timeToLive}: the time to live of the datagrams, {@code 1} by default</li>
+ * </ul>
+ *
+ * @since 3.5.17
+ */
+public class MulticastCacheInvalidationBus implements CacheInvalidationBus {
+
+  private static final Log log = LogFactory.getLog(MulticastCacheInvalidationBus.class);
+
+  private static final int MAGIC = 0x4D424349;
+  private static final int MAX_DATAGRAM_SIZE = 60000;
+  private static final byte CACHE = 0;
+  private static final byte TABLE = 1;
+
+  private final UUID nodeId = UUID.randomUUID();
+
+  private String group = "239.255.27.1";
+  private int port = 45678;
+  private String networkInterface;
+  private int timeToLive = 1;
+
+  private MulticastSocket socket;
+  private InetSocketAddress groupAddress;
+  private NetworkInterface joinedInterface;
+
+  public void setGroup(String group) {
+    this.group = group;
+  }
+
+  public void setPort(int port) {
+    this.port = port;
+  }
+
+  public void setNetworkInterface(String networkInterface) {
+    this.networkInterface = networkInterface;
+  }
+
+  public void setTimeToLive(int timeToLive) {
+    this.timeToLive = timeToLive;
+  }
+
+  @Override
+  public void setProperties(Properties properties) {
+    group = properties.getProperty("cacheInvalidationBus.group", group);
+    port = Integer.parseInt(properties.getProperty("cacheInvalidationBus.port", String.valueOf(port)));
+    networkInterface = properties.getProperty("cacheInvalidationBus.networkInterface", networkInterface);
+    timeToLive = Integer
+        .parseInt(properties.getProperty("cacheInvalidationBus.timeToLive", String.valueOf(timeToLive)));
+  }
+
+  @Override
+  public synchronized void start(Consumer<CacheInvalidation> listener) {
+    try {
+      groupAddress = new InetSocketAddress(InetAddress.getByName(group), port);
+      socket = new MulticastSocket(port);
+      if (networkInterface != null) {
+        joinedInterface = NetworkInterface.getByName(networkInterface);
+        if (joinedInterface == null) {
+          throw new CacheException("Unknown network interface '" + networkInterface + "'.");
+        }
+        socket.setNetworkInterface(joinedInterface);
+      }
+      socket.setTimeToLive(timeToLive);
+      socket.joinGroup(groupAddress, joinedInterface);
+    } catch (IOException e) {
+      if (socket != null) {
+        socket.close();
+      }
+      throw new CacheException("Error joining the multicast group " + group + ":" + port + ". Cause: " + e, e);
+    }
+    MulticastSocket receivingSocket = socket;
+    Thread receiver = new Thread(() -> receive(receivingSocket, listener), "mybatis-cache-invalidation-" + port);
+    receiver.setDaemon(true);
+    receiver.start();
+  }
+
+  @Override
+  public void publish(CacheInvalidation invalidation) {
+    MulticastSocket sendingSocket;
+    synchronized (this) {
+      sendingSocket = socket;
+    }
+    if (sendingSocket == null || invalidation.isEmpty()) {
+      return;
+    }
+    try {
+      for (byte[] datagram : encode(invalidation)) {
+        sendingSocket.send(new DatagramPacket(datagram, datagram.length, groupAddress));
+      }
+    } catch (IOException e) {
+      log.warn("Error publishing " + invalidation + ". Cause: " + e);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (socket == null) {
+      return;
+    }
+    try {
+      socket.leaveGroup(groupAddress, joinedInterface);
+    } catch (IOException e) {
+      // ignore, the socket is closed anyway
+    } finally {
+      socket.close();
+      socket = null;
+    }
+  }
+
+  private void receive(MulticastSocket receivingSocket, Consumer<CacheInvalidation> listener) {
+    byte[] buffer = new byte[MAX_DATAGRAM_SIZE + 1024];
+    while (!receivingSocket.isClosed()) {
+      DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+      try {
+        receivingSocket.receive(packet);
+        CacheInvalidation invalidation = decode(packet.getData(), packet.getLength());
+        if (invalidation != null) {
+          listener.accept(invalidation);
+        }
+      } catch (IOException e) {
+        if (!receivingSocket.isClosed()) {
+          log.warn("Error receiving a cache invalidation. Cause: " + e);
+        }
+      } catch (RuntimeException e) {
+        log.warn("Error applying a cache invalidation. Cause: " + e);
+      }
+    }
+  }
+
+  List<byte[]> encode(CacheInvalidation invalidation) throws IOException {
+    List<byte[]> entries = new ArrayList<>();
+    for (String cacheId : invalidation.getCacheIds()) {
+      entries.add(entry(CACHE, cacheId));
+    }
+    for (String table : invalidation.getTables()) {
+      entries.add(entry(TABLE, table));
+    }
+    List<byte[]> datagrams = new ArrayList<>();
+    int from = 0;
+    while (from < entries.size()) {
+      int to = from;
+      int size = 24;
+      while (to < entries.size() && (to == from || size + entries.get(to).length <= MAX_DATAGRAM_SIZE)) {
+        size += entries.get(to++).length;
+      }
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(size);
+      DataOutputStream out = new DataOutputStream(bytes);
+      out.writeInt(MAGIC);
+      out.writeLong(nodeId.getMostSignificantBits());
+      out.writeLong(nodeId.getLeastSignificantBits());
+      out.writeInt(to - from);
+      for (int i = from; i < to; i++) {
+        out.write(entries.get(i));
+      }
+      datagrams.add(bytes.toByteArray());
+      from = to;
+    }
+    return datagrams;
+  }
+
+  CacheInvalidation decode(byte[] datagram, int length) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(datagram, 0, length));
+    if (length < 24 || in.readInt() != MAGIC) {
+      // not an invalidation
+      return null;
+    }
+    UUID publisherId = new UUID(in.readLong(), in.readLong());
+    if (nodeId.equals(publisherId)) {
+      return null;
+    }
+    Set<String> cacheIds = new LinkedHashSet<>();
+    Set<String> tables = new LinkedHashSet<>();
+    int count = in.readInt();
+    for (int i = 0; i < count; i++) {
+      byte kind = in.readByte();
+      (kind == CACHE ? cacheIds : tables).add(in.readUTF());
+    }
+    return new CacheInvalidation(cacheIds, tables);
+  }
+
+  private static byte[] entry(byte kind, String name) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeByte(kind);
+    out.writeUTF(name);
+    return bytes.toByteArray();
+  }
+
+}
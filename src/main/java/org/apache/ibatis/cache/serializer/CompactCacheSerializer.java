@@ -0,0 +1,810 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheSerializer;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.io.SerialFilterChecker;
+
+/**
+ * Serializes values with a compact binary codec, which is faster than Java serialization for the values usually cached:
+ * simple types, {@code java.time} and {@code java.sql} temporal types, UUIDs, enums, arrays, collections, maps, records
+ * and serializable beans.
+ * <p>
+ * A bean is copied field by field, like Java serialization would, when its class declares a constructor without
+ * parameters and does not customize its serialization. The name of its class and fields are written once per value,
+ * then referred to by index. Other serializable objects are written with Java serialization.
+ * <p>
+ * As Java serialization, the codec preserves shared references and cycles, except for cycles through a record or an
+ * object written with Java serialization. The classes read are checked against the JEP-290 serial filter of the JVM.
+ *
+ * @since 3.5.17
+ */
+public class CompactCacheSerializer implements CacheSerializer {
+
+  private static final int NULL = 0;
+  private static final int REFERENCE = 1;
+  private static final int STRING = 2;
+  private static final int INTEGER = 3;
+  private static final int LONG = 4;
+  private static final int SHORT = 5;
+  private static final int BYTE = 6;
+  private static final int TRUE = 7;
+  private static final int FALSE = 8;
+  private static final int CHARACTER = 9;
+  private static final int FLOAT = 10;
+  private static final int DOUBLE = 11;
+  private static final int BIG_INTEGER = 12;
+  private static final int BIG_DECIMAL = 13;
+  private static final int DATE = 14;
+  private static final int CLASS = 15;
+  private static final int ENUM = 16;
+  private static final int BYTES = 17;
+  private static final int ARRAY = 18;
+  private static final int COLLECTION = 19;
+  private static final int MAP = 20;
+  private static final int OBJECT = 21;
+  private static final int RECORD = 22;
+  private static final int SERIALIZED = 23;
+  private static final int LOCAL_DATE = 24;
+  private static final int LOCAL_TIME = 25;
+  private static final int LOCAL_DATE_TIME = 26;
+  private static final int INSTANT = 27;
+  private static final int OFFSET_TIME = 28;
+  private static final int OFFSET_DATE_TIME = 29;
+  private static final int ZONED_DATE_TIME = 30;
+  private static final int SQL_DATE = 31;
+  private static final int SQL_TIME = 32;
+  private static final int SQL_TIMESTAMP = 33;
+  private static final int UNIQUE_ID = 34;
+
+  private static final Map<String, Class<?>> PRIMITIVE_TYPES = new HashMap<>();
+  private static final Method IS_RECORD = getClassMethod("isRecord");
+  private static final Method GET_RECORD_COMPONENTS = getClassMethod("getRecordComponents");
+
+  static {
+    for (Class<?> type : new Class<?>[] { boolean.class, byte.class, char.class, short.class, int.class, long.class,
+        float.class, double.class, void.class }) {
+      PRIMITIVE_TYPES.put(type.getName(), type);
+    }
+  }
+
+  private final Map<Class<?>, Descriptor> descriptors = new ConcurrentHashMap<>();
+  private final JavaCacheSerializer javaSerializer = new JavaCacheSerializer();
+
+  @Override
+  public byte[] serialize(Object value) {
+    try {
+      Writer writer = new Writer();
+      writer.writeObject(value);
+      return writer.toByteArray();
+    } catch (CacheException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new CacheException("Error serializing object.  Cause: " + e, e);
+    }
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) {
+    SerialFilterChecker.check();
+    try {
+      return new Reader(bytes).readObject();
+    } catch (CacheException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new CacheException("Error deserializing object.  Cause: " + e, e);
+    }
+  }
+
+  private Descriptor descriptor(Class<?> type) {
+    return descriptors.computeIfAbsent(type, Descriptor::new);
+  }
+
+  private final class Writer {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+    private final Map<Object, Integer> references = new IdentityHashMap<>();
+    private final Map<Class<?>, Integer> classes = new HashMap<>();
+
+    byte[] toByteArray() {
+      return bytes.toByteArray();
+    }
+
+    void writeObject(Object value) throws IOException, ReflectiveOperationException {
+      if (value == null) {
+        out.write(NULL);
+        return;
+      }
+      Class<?> type = value.getClass();
+      if (type == String.class) {
+        out.write(STRING);
+        writeString((String) value);
+      } else if (type == Integer.class) {
+        out.write(INTEGER);
+        writeSignedVarInt((Integer) value);
+      } else if (type == Long.class) {
+        out.write(LONG);
+        writeSignedVarLong((Long) value);
+      } else if (type == Short.class) {
+        out.write(SHORT);
+        writeSignedVarInt((Short) value);
+      } else if (type == Byte.class) {
+        out.write(BYTE);
+        out.write((Byte) value);
+      } else if (type == Boolean.class) {
+        out.write((Boolean) value ? TRUE : FALSE);
+      } else if (type == Character.class) {
+        out.write(CHARACTER);
+        writeVarInt((Character) value);
+      } else if (type == Float.class) {
+        out.write(FLOAT);
+        out.writeFloat((Float) value);
+      } else if (type == Double.class) {
+        out.write(DOUBLE);
+        out.writeDouble((Double) value);
+      } else if (type == BigInteger.class) {
+        out.write(BIG_INTEGER);
+        writeBytes(((BigInteger) value).toByteArray());
+      } else if (type == BigDecimal.class) {
+        out.write(BIG_DECIMAL);
+        writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+        writeSignedVarInt(((BigDecimal) value).scale());
+      } else if (type == Date.class) {
+        out.write(DATE);
+        writeSignedVarLong(((Date) value).getTime());
+      } else if (type == LocalDate.class) {
+        out.write(LOCAL_DATE);
+        writeSignedVarLong(((LocalDate) value).toEpochDay());
+      } else if (type == LocalTime.class) {
+        out.write(LOCAL_TIME);
+        writeSignedVarLong(((LocalTime) value).toNanoOfDay());
+      } else if (type == LocalDateTime.class) {
+        out.write(LOCAL_DATE_TIME);
+        writeLocalDateTime((LocalDateTime) value);
+      } else if (type == Instant.class) {
+        out.write(INSTANT);
+        writeSignedVarLong(((Instant) value).getEpochSecond());
+        writeVarInt(((Instant) value).getNano());
+      } else if (type == OffsetTime.class) {
+        out.write(OFFSET_TIME);
+        writeSignedVarLong(((OffsetTime) value).toLocalTime().toNanoOfDay());
+        writeSignedVarInt(((OffsetTime) value).getOffset().getTotalSeconds());
+      } else if (type == OffsetDateTime.class) {
+        out.write(OFFSET_DATE_TIME);
+        writeLocalDateTime(((OffsetDateTime) value).toLocalDateTime());
+        writeSignedVarInt(((OffsetDateTime) value).getOffset().getTotalSeconds());
+      } else if (type == ZonedDateTime.class) {
+        out.write(ZONED_DATE_TIME);
+        writeLocalDateTime(((ZonedDateTime) value).toLocalDateTime());
+        writeSignedVarInt(((ZonedDateTime) value).getOffset().getTotalSeconds());
+        writeString(((ZonedDateTime) value).getZone().getId());
+      } else if (type == java.sql.Date.class) {
+        out.write(SQL_DATE);
+        writeSignedVarLong(((java.sql.Date) value).getTime());
+      } else if (type == Time.class) {
+        out.write(SQL_TIME);
+        writeSignedVarLong(((Time) value).getTime());
+      } else if (type == Timestamp.class) {
+        out.write(SQL_TIMESTAMP);
+        writeSignedVarLong(((Timestamp) value).getTime());
+        writeVarInt(((Timestamp) value).getNanos());
+      } else if (type == UUID.class) {
+        out.write(UNIQUE_ID);
+        out.writeLong(((UUID) value).getMostSignificantBits());
+        out.writeLong(((UUID) value).getLeastSignificantBits());
+      } else if (type == Class.class) {
+        out.write(CLASS);
+        writeString(((Class<?>) value).getName());
+      } else if (value instanceof Enum) {
+        out.write(ENUM);
+        writeClass(((Enum<?>) value).getDeclaringClass());
+        writeString(((Enum<?>) value).name());
+      } else {
+        Integer reference = references.get(value);
+        if (reference != null) {
+          out.write(REFERENCE);
+          writeVarInt(reference);
+        } else {
+          references.put(value, references.size());
+          writeReferenceable(value, descriptor(type));
+        }
+      }
+    }
+
+    private void writeReferenceable(Object value, Descriptor descriptor)
+        throws IOException, ReflectiveOperationException {
+      switch (descriptor.kind) {
+        case BYTES:
+          out.write(BYTES);
+          writeBytes((byte[]) value);
+          break;
+        case ARRAY:
+          out.write(ARRAY);
+          writeClass(descriptor.type.getComponentType());
+          int length = Array.getLength(value);
+          writeVarInt(length);
+          for (int i = 0; i < length; i++) {
+            writeObject(Array.get(value, i));
+          }
+          break;
+        case COLLECTION:
+          out.write(COLLECTION);
+          writeClass(descriptor.type);
+          Collection<?> collection = (Collection<?>) value;
+          writeVarInt(collection.size());
+          for (Object element : collection) {
+            writeObject(element);
+          }
+          break;
+        case MAP:
+          out.write(MAP);
+          writeClass(descriptor.type);
+          Map<?, ?> map = (Map<?, ?>) value;
+          writeVarInt(map.size());
+          for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeObject(entry.getKey());
+            writeObject(entry.getValue());
+          }
+          break;
+        case OBJECT:
+          out.write(OBJECT);
+          writeClass(descriptor.type);
+          for (Field field : descriptor.fields) {
+            writeObject(field.get(value));
+          }
+          break;
+        case RECORD:
+          out.write(RECORD);
+          writeClass(descriptor.type);
+          for (Method accessor : descriptor.accessors) {
+            writeObject(accessor.invoke(value));
+          }
+          break;
+        default:
+          out.write(SERIALIZED);
+          writeBytes(javaSerializer.serialize(value));
+      }
+    }
+
+    private void writeClass(Class<?> type) throws IOException {
+      Integer index = classes.get(type);
+      if (index != null) {
+        writeVarInt(index + 1);
+        return;
+      }
+      classes.put(type, classes.size());
+      writeVarInt(0);
+      writeString(type.getName());
+      String[] memberNames = descriptor(type).memberNames;
+      writeVarInt(memberNames.length);
+      for (String memberName : memberNames) {
+        writeString(memberName);
+      }
+    }
+
+    private void writeLocalDateTime(LocalDateTime value) throws IOException {
+      writeSignedVarLong(value.toLocalDate().toEpochDay());
+      writeSignedVarLong(value.toLocalTime().toNanoOfDay());
+    }
+
+    private void writeString(String value) throws IOException {
+      int length = value.length();
+      writeVarInt(length);
+      for (int i = 0; i < length; i++) {
+        writeVarInt(value.charAt(i));
+      }
+    }
+
+    private void writeBytes(byte[] value) throws IOException {
+      writeVarInt(value.length);
+      out.write(value);
+    }
+
+    private void writeSignedVarInt(int value) throws IOException {
+      writeVarInt(value << 1 ^ value >> 31);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+      while ((value & ~0x7F) != 0) {
+        out.write(value & 0x7F | 0x80);
+        value >>>= 7;
+      }
+      out.write(value);
+    }
+
+    private void writeSignedVarLong(long value) throws IOException {
+      value = value << 1 ^ value >> 63;
+      while ((value & ~0x7FL) != 0) {
+        out.write((int) (value & 0x7F | 0x80));
+        value >>>= 7;
+      }
+      out.write((int) value);
+    }
+
+  }
+
+  private final class Reader {
+
+    private final DataInputStream in;
+    private final List<Object> references = new ArrayList<>();
+    private final List<ClassEntry> classes = new ArrayList<>();
+
+    Reader(byte[] bytes) {
+      this.in = new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    Object readObject() throws IOException, ReflectiveOperationException {
+      int tag = in.read();
+      switch (tag) {
+        case NULL:
+          return null;
+        case REFERENCE:
+          return references.get(readVarInt());
+        case STRING:
+          return readString();
+        case INTEGER:
+          return readSignedVarInt();
+        case LONG:
+          return readSignedVarLong();
+        case SHORT:
+          return (short) readSignedVarInt();
+        case BYTE:
+          return in.readByte();
+        case TRUE:
+          return Boolean.TRUE;
+        case FALSE:
+          return Boolean.FALSE;
+        case CHARACTER:
+          return (char) readVarInt();
+        case FLOAT:
+          return in.readFloat();
+        case DOUBLE:
+          return in.readDouble();
+        case BIG_INTEGER:
+          return new BigInteger(readBytes());
+        case BIG_DECIMAL:
+          return new BigDecimal(new BigInteger(readBytes()), readSignedVarInt());
+        case DATE:
+          return new Date(readSignedVarLong());
+        case LOCAL_DATE:
+          return LocalDate.ofEpochDay(readSignedVarLong());
+        case LOCAL_TIME:
+          return LocalTime.ofNanoOfDay(readSignedVarLong());
+        case LOCAL_DATE_TIME:
+          return readLocalDateTime();
+        case INSTANT:
+          return Instant.ofEpochSecond(readSignedVarLong(), readVarInt());
+        case OFFSET_TIME:
+          return OffsetTime.of(LocalTime.ofNanoOfDay(readSignedVarLong()),
+              ZoneOffset.ofTotalSeconds(readSignedVarInt()));
+        case OFFSET_DATE_TIME:
+          return OffsetDateTime.of(readLocalDateTime(), ZoneOffset.ofTotalSeconds(readSignedVarInt()));
+        case ZONED_DATE_TIME:
+          LocalDateTime dateTime = readLocalDateTime();
+          ZoneOffset offset = ZoneOffset.ofTotalSeconds(readSignedVarInt());
+          return ZonedDateTime.ofLocal(dateTime, ZoneId.of(readString()), offset);
+        case SQL_DATE:
+          return new java.sql.Date(readSignedVarLong());
+        case SQL_TIME:
+          return new Time(readSignedVarLong());
+        case SQL_TIMESTAMP:
+          Timestamp timestamp = new Timestamp(readSignedVarLong());
+          timestamp.setNanos(readVarInt());
+          return timestamp;
+        case UNIQUE_ID:
+          return new UUID(in.readLong(), in.readLong());
+        case CLASS:
+          return classForName(readString());
+        case ENUM:
+          return readEnum(readClass().type, readString());
+        case BYTES:
+          byte[] bytes = readBytes();
+          references.add(bytes);
+          return bytes;
+        case ARRAY:
+          return readArray();
+        case COLLECTION:
+          return readCollection();
+        case MAP:
+          return readMap();
+        case OBJECT:
+          return readBean();
+        case RECORD:
+          return readRecord();
+        case SERIALIZED:
+          Object value = javaSerializer.deserialize(readBytes());
+          references.add(value);
+          return value;
+        default:
+          throw new CacheException("Unexpected tag " + tag + " in serialized value.");
+      }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Object readEnum(Class<?> type, String name) {
+      return Enum.valueOf((Class) type, name);
+    }
+
+    private Object readArray() throws IOException, ReflectiveOperationException {
+      Class<?> componentType = readClass().type;
+      int length = readVarInt();
+      Object array = Array.newInstance(componentType, length);
+      references.add(array);
+      for (int i = 0; i < length; i++) {
+        Array.set(array, i, readObject());
+      }
+      return array;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readCollection() throws IOException, ReflectiveOperationException {
+      Descriptor descriptor = readClass().descriptor(COLLECTION);
+      int size = readVarInt();
+      Collection<Object> collection = (Collection<Object>) descriptor.constructor.newInstance();
+      references.add(collection);
+      for (int i = 0; i < size; i++) {
+        collection.add(readObject());
+      }
+      return collection;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readMap() throws IOException, ReflectiveOperationException {
+      Descriptor descriptor = readClass().descriptor(MAP);
+      int size = readVarInt();
+      Map<Object, Object> map = (Map<Object, Object>) descriptor.constructor.newInstance();
+      references.add(map);
+      for (int i = 0; i < size; i++) {
+        Object key = readObject();
+        map.put(key, readObject());
+      }
+      return map;
+    }
+
+    private Object readBean() throws IOException, ReflectiveOperationException {
+      ClassEntry entry = readClass();
+      Object bean = entry.descriptor(OBJECT).constructor.newInstance();
+      references.add(bean);
+      for (Field field : entry.fields) {
+        Object value = readObject();
+        if (field != null && (value != null || !field.getType().isPrimitive())) {
+          field.set(bean, value);
+        }
+      }
+      return bean;
+    }
+
+    private Object readRecord() throws IOException, ReflectiveOperationException {
+      ClassEntry entry = readClass();
+      Descriptor descriptor = entry.descriptor(RECORD);
+      int reference = references.size();
+      references.add(null);
+      Class<?>[] parameterTypes = descriptor.constructor.getParameterTypes();
+      Object[] args = new Object[parameterTypes.length];
+      for (int index : entry.componentIndexes) {
+        Object value = readObject();
+        if (index >= 0) {
+          args[index] = value;
+        }
+      }
+      for (int i = 0; i < args.length; i++) {
+        if (args[i] == null && parameterTypes[i].isPrimitive()) {
+          args[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+        }
+      }
+      Object record = descriptor.constructor.newInstance(args);
+      references.set(reference, record);
+      return record;
+    }
+
+    private ClassEntry readClass() throws IOException, ClassNotFoundException {
+      int index = readVarInt();
+      if (index > 0) {
+        return classes.get(index - 1);
+      }
+      Class<?> type = classForName(readString());
+      String[] memberNames = new String[readVarInt()];
+      for (int i = 0; i < memberNames.length; i++) {
+        memberNames[i] = readString();
+      }
+      ClassEntry entry = new ClassEntry(type, memberNames);
+      classes.add(entry);
+      return entry;
+    }
+
+    private Class<?> classForName(String name) throws ClassNotFoundException, InvalidClassException {
+      Class<?> type = PRIMITIVE_TYPES.get(name);
+      if (type == null) {
+        type = Resources.classForName(name);
+        SerialFilterChecker.checkClass(type);
+      }
+      return type;
+    }
+
+    private LocalDateTime readLocalDateTime() throws IOException {
+      LocalDate date = LocalDate.ofEpochDay(readSignedVarLong());
+      return LocalDateTime.of(date, LocalTime.ofNanoOfDay(readSignedVarLong()));
+    }
+
+    private String readString() throws IOException {
+      int length = readVarInt();
+      char[] chars = new char[length];
+      for (int i = 0; i < length; i++) {
+        chars[i] = (char) readVarInt();
+      }
+      return new String(chars);
+    }
+
+    private byte[] readBytes() throws IOException {
+      byte[] bytes = new byte[readVarInt()];
+      in.readFully(bytes);
+      return bytes;
+    }
+
+    private int readSignedVarInt() throws IOException {
+      int value = readVarInt();
+      return value >>> 1 ^ -(value & 1);
+    }
+
+    private int readVarInt() throws IOException {
+      int value = 0;
+      for (int shift = 0;; shift += 7) {
+        int b = in.readUnsignedByte();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+    }
+
+    private long readSignedVarLong() throws IOException {
+      long value = 0;
+      for (int shift = 0;; shift += 7) {
+        int b = in.readUnsignedByte();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value >>> 1 ^ -(value & 1);
+        }
+      }
+    }
+
+  }
+
+  /**
+   * A class declared in a serialized value, with its members matched by name to the members of the local class.
+   */
+  private final class ClassEntry {
+
+    private final Class<?> type;
+    private final Field[] fields;
+    private final int[] componentIndexes;
+
+    ClassEntry(Class<?> type, String[] memberNames) {
+      this.type = type;
+      Descriptor descriptor = CompactCacheSerializer.this.descriptor(type);
+      this.fields = new Field[memberNames.length];
+      this.componentIndexes = new int[memberNames.length];
+      for (int i = 0; i < memberNames.length; i++) {
+        componentIndexes[i] = -1;
+        for (int j = 0; j < descriptor.memberNames.length; j++) {
+          if (descriptor.memberNames[j].equals(memberNames[i])) {
+            if (descriptor.kind == OBJECT) {
+              fields[i] = descriptor.fields[j];
+            }
+            componentIndexes[i] = j;
+          }
+        }
+      }
+    }
+
+    Descriptor descriptor(int kind) {
+      Descriptor descriptor = CompactCacheSerializer.this.descriptor(type);
+      if (descriptor.kind != kind) {
+        throw new CacheException("Class " + type.getName() + " cannot be deserialized as it was serialized.");
+      }
+      return descriptor;
+    }
+
+  }
+
+  /**
+   * How the values of a class are serialized.
+   */
+  private static final class Descriptor {
+
+    private static final String[] NO_NAMES = {};
+
+    private final Class<?> type;
+    private int kind = SERIALIZED;
+    private Constructor<?> constructor;
+    private Field[] fields;
+    private Method[] accessors;
+    private String[] memberNames = NO_NAMES;
+
+    Descriptor(Class<?> type) {
+      this.type = type;
+      if (type == byte[].class) {
+        kind = BYTES;
+      } else if (type.isArray()) {
+        if (!type.getComponentType().isPrimitive()) {
+          kind = ARRAY;
+        }
+      } else if (type == ArrayList.class || type == LinkedList.class || type == HashSet.class
+          || type == LinkedHashSet.class) {
+        kind = COLLECTION;
+        constructor = noArgConstructor(type);
+      } else if (type == HashMap.class || type == LinkedHashMap.class) {
+        kind = MAP;
+        constructor = noArgConstructor(type);
+      } else if (Serializable.class.isAssignableFrom(type) && !Externalizable.class.isAssignableFrom(type)
+          && !type.isEnum()) {
+        try {
+          if (isRecord(type)) {
+            initRecord();
+          } else if (!customizesSerialization(type)) {
+            initObject();
+          }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+          // not accessible, written with Java serialization
+          kind = SERIALIZED;
+          memberNames = NO_NAMES;
+        }
+      }
+    }
+
+    private void initRecord() throws ReflectiveOperationException {
+      Object[] components = (Object[]) GET_RECORD_COMPONENTS.invoke(type);
+      accessors = new Method[components.length];
+      memberNames = new String[components.length];
+      Class<?>[] parameterTypes = new Class<?>[components.length];
+      for (int i = 0; i < components.length; i++) {
+        Class<?> componentClass = components[i].getClass();
+        memberNames[i] = (String) componentClass.getMethod("getName").invoke(components[i]);
+        parameterTypes[i] = (Class<?>) componentClass.getMethod("getType").invoke(components[i]);
+        accessors[i] = (Method) componentClass.getMethod("getAccessor").invoke(components[i]);
+        accessors[i].setAccessible(true);
+      }
+      constructor = type.getDeclaredConstructor(parameterTypes);
+      constructor.setAccessible(true);
+      kind = RECORD;
+    }
+
+    private void initObject() throws ReflectiveOperationException {
+      constructor = noArgConstructor(type);
+      List<Field> list = new ArrayList<>();
+      List<String> names = new ArrayList<>();
+      for (Class<?> current = type; current != null
+          && Serializable.class.isAssignableFrom(current); current = current.getSuperclass()) {
+        for (Field field : current.getDeclaredFields()) {
+          int modifiers = field.getModifiers();
+          if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+            field.setAccessible(true);
+            list.add(field);
+            names.add(current == type ? field.getName() : current.getName() + '.' + field.getName());
+          }
+        }
+      }
+      fields = list.toArray(new Field[0]);
+      memberNames = names.toArray(NO_NAMES);
+      kind = OBJECT;
+    }
+
+    private static Constructor<?> noArgConstructor(Class<?> type) {
+      try {
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor;
+      } catch (NoSuchMethodException e) {
+        throw new CacheException(type.getName() + " has no constructor without parameters.", e);
+      }
+    }
+
+    private static boolean customizesSerialization(Class<?> type) {
+      if (type.isAnonymousClass() || type.isSynthetic() || Proxy.isProxyClass(type)
+          || type.getName().startsWith("java.")) {
+        return true;
+      }
+      for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+        if (declares(current, "writeReplace") || declares(current, "readResolve")
+            || declares(current, "readObjectNoData") || declares(current, "writeObject", ObjectOutputStream.class)
+            || declares(current, "readObject", ObjectInputStream.class)
+            || declaresField(current, "serialPersistentFields")) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private static boolean declares(Class<?> type, String name, Class<?>... parameterTypes) {
+      try {
+        type.getDeclaredMethod(name, parameterTypes);
+        return true;
+      } catch (NoSuchMethodException e) {
+        return false;
+      }
+    }
+
+    private static boolean declaresField(Class<?> type, String name) {
+      try {
+        type.getDeclaredField(name);
+        return true;
+      } catch (NoSuchFieldException e) {
+        return false;
+      }
+    }
+
+    private static boolean isRecord(Class<?> type) throws ReflectiveOperationException {
+      return IS_RECORD != null && (Boolean) IS_RECORD.invoke(type);
+    }
+
+  }
+
+  private static Method getClassMethod(String name) {
+    try {
+      return Class.class.getMethod(name);
+    } catch (NoSuchMethodException e) {
+      // Java 15 and older
+      return null;
+    }
+  }
+
+}
@@ -16,6 +16,12 @@
 package org.apache.ibatis.cursor;
 
 import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Cursor contract to handle fetching items lazily using an Iterator. Cursors are a perfect fit to handle millions of
@@ -42,4 +48,36 @@ public interface Cursor<T> extends Closeable, Iterable<T> {
    * @return -1 if the first cursor item has not been retrieved. The index of the current item retrieved.
    */
   int getCurrentIndex();
+
+  /**
+   * Returns the items of this cursor as a sequential stream, which closes the cursor when it is closed.
+   * <p>
+   * The stream is ordered and of unknown size. Like {@link #iterator()}, it can only be obtained once.
+   *
+   * @return a stream of the items
+   *
+   * @since 3.5.17
+   */
+  default Stream<T> stream() {
+    return StreamSupport.stream(spliterator(), false).onClose(() -> {
+      try {
+        close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  /**
+   * Returns a spliterator over the items of this cursor. Items may be {@code null} (e.g. for empty rows) and their
+   * number is not known in advance, so only {@link Spliterator#ORDERED} is reported.
+   *
+   * @return a spliterator of the items
+   *
+   * @since 3.5.17
+   */
+  @Override
+  default Spliterator<T> spliterator() {
+    return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED);
+  }
 }
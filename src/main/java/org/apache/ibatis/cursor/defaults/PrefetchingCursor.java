@@ -0,0 +1,340 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cursor.defaults;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.exceptions.PersistenceException;
+
+/**
+ * A cursor that fetches and maps the rows of another cursor on a background thread, into a bounded buffer, while the
+ * caller consumes the rows fetched before.
+ * <p>
+ * The delegate cursor is only used by the background thread until it is done, so the session that opened the cursor
+ * must not be used for anything else while the cursor is being iterated (the same restriction as for any JDBC
+ * connection shared between threads). Closing this cursor waits for the background thread before closing the delegate.
+ * <p>
+ * The background threads come from a bounded pool shared by all the cursors. When none is available, the rows are
+ * fetched by the caller, without prefetching. A cursor whose buffer stays full for the abandon timeout, neither read
+ * nor closed, is considered abandoned: its thread closes the delegate, releasing the result set, and stops. Reading
+ * such a cursor afterwards fails.
+ *
+ * @since 3.5.17
+ */
+public class PrefetchingCursor<T> implements Cursor<T> {
+
+  /**
+   * The default time a cursor may stay unread with a full buffer before its thread gives up, in milliseconds.
+   */
+  public static final long DEFAULT_ABANDON_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
+  private static final Object END = new Object();
+
+  private final Cursor<T> delegate;
+  private final BlockingQueue<Object> buffer;
+  private final long abandonTimeout;
+  private final PrefetchingIterator iterator = new PrefetchingIterator();
+
+  private CountDownLatch workerDone;
+  private Iterator<T> directRows;
+  private volatile boolean closed;
+  private boolean iteratorRetrieved;
+  private boolean open;
+  private boolean consumed;
+  private boolean failed;
+  private int currentIndex;
+
+  /**
+   * Creates a cursor that prefetches up to {@code bufferSize} rows of the delegate.
+   *
+   * @param delegate
+   *          the cursor whose rows are prefetched
+   * @param bufferSize
+   *          the maximum number of rows mapped ahead of the caller, usually the fetch size of the statement
+   */
+  public PrefetchingCursor(Cursor<T> delegate, int bufferSize) {
+    this(delegate, bufferSize, DEFAULT_ABANDON_TIMEOUT);
+  }
+
+  /**
+   * Creates a cursor that prefetches up to {@code bufferSize} rows of the delegate.
+   *
+   * @param delegate
+   *          the cursor whose rows are prefetched
+   * @param bufferSize
+   *          the maximum number of rows mapped ahead of the caller, usually the fetch size of the statement
+   * @param abandonTimeout
+   *          the time in milliseconds the buffer may stay full before the cursor is considered abandoned
+   */
+  public PrefetchingCursor(Cursor<T> delegate, int bufferSize, long abandonTimeout) {
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("The buffer size of a prefetching cursor must be positive.");
+    }
+    this.delegate = delegate;
+    this.buffer = new LinkedBlockingQueue<>(bufferSize);
+    this.abandonTimeout = abandonTimeout;
+    this.currentIndex = delegate.getCurrentIndex();
+  }
+
+  @Override
+  public boolean isOpen() {
+    return open && !closed && !consumed;
+  }
+
+  @Override
+  public boolean isConsumed() {
+    return consumed;
+  }
+
+  @Override
+  public int getCurrentIndex() {
+    return currentIndex;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    if (iteratorRetrieved) {
+      throw new IllegalStateException("Cannot open more than one iterator on a Cursor");
+    }
+    if (closed) {
+      throw new IllegalStateException("A Cursor is already closed.");
+    }
+    iteratorRetrieved = true;
+    Iterator<T> rows = delegate.iterator();
+    CountDownLatch done = new CountDownLatch(1);
+    try {
+      Workers.INSTANCE.execute(() -> {
+        try {
+          prefetch(rows);
+        } finally {
+          done.countDown();
+        }
+      });
+      workerDone = done;
+    } catch (RejectedExecutionException e) {
+      // every worker is busy, the caller fetches the rows itself
+      directRows = rows;
+    }
+    return iterator;
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (workerDone != null) {
+      // the worker is not interrupted as some drivers close the connection on interrupts, it stops after its next row
+      boolean interrupted = false;
+      while (workerDone.getCount() > 0) {
+        buffer.clear();
+        try {
+          workerDone.await(100, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      buffer.clear();
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    try {
+      delegate.close();
+    } catch (IOException e) {
+      // ignore, DefaultCursor does not throw
+    }
+  }
+
+  private void prefetch(Iterator<T> rows) {
+    Object last;
+    try {
+      while (!closed && rows.hasNext()) {
+        T value = rows.next();
+        // the index of the delegate accounts for the row bounds
+        if (!offer(new Row(value, delegate.getCurrentIndex()))) {
+          return;
+        }
+      }
+      last = END;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      last = new Failure(new PersistenceException("Interrupted while prefetching the rows of a cursor.", e));
+    } catch (RuntimeException | Error e) {
+      last = new Failure(e);
+    }
+    try {
+      if (closed) {
+        buffer.offer(last);
+      } else {
+        offer(last);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Waits for room in the buffer, until the cursor is closed or abandoned.
+   *
+   * @return whether the item was added
+   */
+  private boolean offer(Object item) throws InterruptedException {
+    long start = System.nanoTime();
+    while (!closed) {
+      if (buffer.offer(item, 100, TimeUnit.MILLISECONDS)) {
+        return true;
+      }
+      if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= abandonTimeout) {
+        abandon();
+        return false;
+      }
+    }
+    return false;
+  }
+
+  private void abandon() {
+    try {
+      delegate.close();
+    } catch (IOException e) {
+      // ignore, DefaultCursor does not throw
+    }
+    buffer.clear();
+    buffer.offer(new Failure(new PersistenceException(
+        "The cursor was neither read nor closed for " + abandonTimeout + " ms, its result set was closed.")));
+  }
+
+  private static final class Row {
+    private final Object value;
+    private final int index;
+
+    Row(Object value, int index) {
+      this.value = value;
+      this.index = index;
+    }
+  }
+
+  private static final class Failure {
+    private final Throwable cause;
+
+    Failure(Throwable cause) {
+      this.cause = cause;
+    }
+  }
+
+  private class PrefetchingIterator implements Iterator<T> {
+
+    private Object next;
+
+    @Override
+    public boolean hasNext() {
+      if (next == null) {
+        next = take();
+      }
+      return next != END;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Row row = (Row) next;
+      next = null;
+      currentIndex = row.index;
+      return (T) row.value;
+    }
+
+    private Object take() {
+      if (closed || consumed || failed) {
+        return END;
+      }
+      open = true;
+      if (directRows != null) {
+        return takeDirectly();
+      }
+      Object item;
+      try {
+        item = buffer.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new PersistenceException("Interrupted while waiting for the next row of a cursor.", e);
+      }
+      if (item instanceof Failure) {
+        failed = true;
+        Throwable cause = ((Failure) item).cause;
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw (RuntimeException) cause;
+      }
+      if (item == END) {
+        consumed = true;
+      }
+      return item;
+    }
+
+    private Object takeDirectly() {
+      try {
+        if (directRows.hasNext()) {
+          T value = directRows.next();
+          return new Row(value, delegate.getCurrentIndex());
+        }
+      } catch (RuntimeException | Error e) {
+        failed = true;
+        throw e;
+      }
+      consumed = true;
+      return END;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException("Cannot remove element from Cursor");
+    }
+  }
+
+  private static final class Workers {
+
+    private static final ExecutorService INSTANCE = createExecutor();
+
+    private static ExecutorService createExecutor() {
+      AtomicInteger count = new AtomicInteger();
+      return new ThreadPoolExecutor(0, Math.max(4, 2 * Runtime.getRuntime().availableProcessors()), 60,
+          TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            Thread thread = new Thread(r, "mybatis-cursor-prefetch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+    }
+
+  }
+
+}
@@ -0,0 +1,192 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A lock-free container of pooled entries used by {@link ConcurrentPooledDataSource}.
+ * <p>
+ * Entries are borrowed first from a thread local list of the entries the calling thread returned most recently, then
+ * from the shared list of all entries. A thread that has to wait is handed a returned entry directly through a
+ * synchronous queue.
+ *
+ * @param <T>
+ *          the entry type
+ */
+class ConcurrentBag<T extends ConcurrentBag.Entry> {
+
+  static final int STATE_NOT_IN_USE = 0;
+  static final int STATE_IN_USE = 1;
+  static final int STATE_REMOVED = -1;
+
+  private static final int MAX_THREAD_LOCAL_ENTRIES = 16;
+
+  private final CopyOnWriteArrayList<T> sharedList = new CopyOnWriteArrayList<>();
+  private final ThreadLocal<List<WeakReference<T>>> threadList = ThreadLocal.withInitial(ArrayList::new);
+  private final SynchronousQueue<T> handoffQueue = new SynchronousQueue<>(true);
+  private final AtomicInteger waiters = new AtomicInteger();
+
+  /**
+   * Borrows an entry that is not in use, waiting up to the given time for one to be returned.
+   *
+   * @param timeout
+   *          the maximum time to wait, zero to return immediately
+   * @param unit
+   *          the unit of the timeout
+   *
+   * @return the borrowed entry, or null if none became available in time
+   *
+   * @throws InterruptedException
+   *           if interrupted while waiting
+   */
+  T borrow(long timeout, TimeUnit unit) throws InterruptedException {
+    List<WeakReference<T>> list = threadList.get();
+    for (int i = list.size() - 1; i >= 0; i--) {
+      T entry = list.remove(i).get();
+      if (entry != null && entry.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) {
+        return entry;
+      }
+    }
+
+    waiters.incrementAndGet();
+    try {
+      for (T entry : sharedList) {
+        if (entry.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) {
+          return entry;
+        }
+      }
+
+      long remaining = unit.toNanos(timeout);
+      while (remaining > 0) {
+        long start = System.nanoTime();
+        T entry = handoffQueue.poll(remaining, TimeUnit.NANOSECONDS);
+        if (entry == null) {
+          return null;
+        }
+        if (entry.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) {
+          return entry;
+        }
+        remaining -= System.nanoTime() - start;
+      }
+      return null;
+    } finally {
+      waiters.decrementAndGet();
+    }
+  }
+
+  /**
+   * Gives a borrowed entry back, handing it directly to a waiting thread if there is one.
+   *
+   * @param entry
+   *          the entry to return
+   *
+   * @return false if the entry has been removed while it was borrowed
+   */
+  boolean requite(T entry) {
+    if (!entry.compareAndSetState(STATE_IN_USE, STATE_NOT_IN_USE)) {
+      return false;
+    }
+    for (int i = 0; waiters.get() > 0; i++) {
+      if (entry.getState() != STATE_NOT_IN_USE || handoffQueue.offer(entry)) {
+        return true;
+      }
+      if ((i & 0xff) == 0xff) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+      } else {
+        Thread.yield();
+      }
+    }
+    List<WeakReference<T>> list = threadList.get();
+    if (list.size() < MAX_THREAD_LOCAL_ENTRIES) {
+      list.add(new WeakReference<>(entry));
+    }
+    return true;
+  }
+
+  /**
+   * Adds a new entry. The entry keeps the state it was created with, so the caller owns it when it is in use.
+   *
+   * @param entry
+   *          the entry to add
+   */
+  void add(T entry) {
+    sharedList.add(entry);
+  }
+
+  /**
+   * Removes an entry whatever its state.
+   *
+   * @param entry
+   *          the entry to remove
+   *
+   * @return true if this call removed the entry, false if it had already been removed
+   */
+  boolean remove(T entry) {
+    if (entry.getAndSetState(STATE_REMOVED) == STATE_REMOVED) {
+      return false;
+    }
+    sharedList.remove(entry);
+    return true;
+  }
+
+  List<T> values() {
+    return new ArrayList<>(sharedList);
+  }
+
+  int count(int state) {
+    int count = 0;
+    for (T entry : sharedList) {
+      if (entry.getState() == state) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  boolean hasWaiters() {
+    return waiters.get() > 0;
+  }
+
+  /**
+   * An element of the bag. New entries start in use.
+   */
+  static class Entry {
+
+    private final AtomicInteger state = new AtomicInteger(STATE_IN_USE);
+
+    int getState() {
+      return state.get();
+    }
+
+    boolean compareAndSetState(int expect, int update) {
+      return state.compareAndSet(expect, update);
+    }
+
+    int getAndSetState(int update) {
+      return state.getAndSet(update);
+    }
+
+  }
+
+}
@@ -0,0 +1,405 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * A thread-safe database connection pool that does not serialize checkouts and returns through a single lock.
+ * <p>
+ * Connections are kept in a {@link ConcurrentBag}: a returned connection is preferably reused by the thread that
+ * returned it, and is otherwise handed directly to a thread waiting for one. It is configured with the same properties
+ * as {@link PooledDataSource} and reports the same {@link PoolState} statistics.
+ *
+ * @since 3.5.17
+ */
+public class ConcurrentPooledDataSource extends PooledDataSource {
+
+  private static final Log log = LogFactory.getLog(ConcurrentPooledDataSource.class);
+
+  private final ConcurrentBag<PoolEntry> bag = new ConcurrentBag<>();
+  private final ConcurrentPoolState state = new ConcurrentPoolState(this, bag);
+  private final AtomicInteger totalConnections = new AtomicInteger();
+
+  private volatile int expectedConnectionTypeCode;
+
+  public ConcurrentPooledDataSource() {
+    resetConnectionTypeCode();
+  }
+
+  public ConcurrentPooledDataSource(UnpooledDataSource dataSource) {
+    super(dataSource);
+    resetConnectionTypeCode();
+  }
+
+  public ConcurrentPooledDataSource(String driver, String url, String username, String password) {
+    super(driver, url, username, password);
+    resetConnectionTypeCode();
+  }
+
+  public ConcurrentPooledDataSource(String driver, String url, Properties driverProperties) {
+    super(driver, url, driverProperties);
+    resetConnectionTypeCode();
+  }
+
+  public ConcurrentPooledDataSource(ClassLoader driverClassLoader, String driver, String url, String username,
+      String password) {
+    super(driverClassLoader, driver, url, username, password);
+    resetConnectionTypeCode();
+  }
+
+  public ConcurrentPooledDataSource(ClassLoader driverClassLoader, String driver, String url,
+      Properties driverProperties) {
+    super(driverClassLoader, driver, url, driverProperties);
+    resetConnectionTypeCode();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return borrowConnection(getUsername(), getPassword()).getProxyConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return borrowConnection(username, password).getProxyConnection();
+  }
+
+  /**
+   * Closes all active and idle connections in the pool.
+   */
+  @Override
+  public void forceCloseAll() {
+    resetConnectionTypeCode();
+    for (PoolEntry entry : bag.values()) {
+      if (bag.remove(entry)) {
+        totalConnections.decrementAndGet();
+        PooledConnection conn = entry.pooledConnection.getAndSet(null);
+        if (conn != null) {
+          conn.invalidate();
+        }
+        try {
+          Connection realConn = entry.realConnection;
+          if (!realConn.getAutoCommit()) {
+            realConn.rollback();
+          }
+          realConn.close();
+        } catch (Exception e) {
+          // ignore
+        }
+      }
+    }
+    if (log.isDebugEnabled()) {
+      log.debug("ConcurrentPooledDataSource forcefully closed/removed all connections.");
+    }
+  }
+
+  @Override
+  public PoolState getPoolState() {
+    return state;
+  }
+
+  @Override
+  protected void pushConnection(PooledConnection conn) throws SQLException {
+    PoolEntry entry = ((EntryConnection) conn).entry;
+    if (!entry.pooledConnection.compareAndSet(conn, null)) {
+      // already returned, or claimed by another thread as overdue
+      if (log.isDebugEnabled()) {
+        log.debug("A bad connection (" + conn.getRealHashCode()
+            + ") attempted to return to the pool, discarding connection.");
+      }
+      state.badConnectionCount.increment();
+      return;
+    }
+    state.accumulatedCheckoutTime.add(conn.getCheckoutTime());
+    if (!conn.isValid()) {
+      conn.invalidate();
+      if (log.isDebugEnabled()) {
+        log.debug("A bad connection (" + conn.getRealHashCode()
+            + ") attempted to return to the pool, discarding connection.");
+      }
+      state.badConnectionCount.increment();
+      discard(entry);
+      return;
+    }
+    conn.invalidate();
+    entry.lastUsedTimestamp = conn.getLastUsedTimestamp();
+    try {
+      if (!entry.realConnection.getAutoCommit()) {
+        entry.realConnection.rollback();
+      }
+    } catch (SQLException e) {
+      discard(entry);
+      throw e;
+    }
+    if (conn.getConnectionTypeCode() == expectedConnectionTypeCode && !isExpired(conn)
+        && (bag.hasWaiters() || bag.count(ConcurrentBag.STATE_NOT_IN_USE) < poolMaximumIdleConnections)) {
+      if (bag.requite(entry)) {
+        if (log.isDebugEnabled()) {
+          log.debug("Returned connection " + conn.getRealHashCode() + " to pool.");
+        }
+      } else {
+        // removed by forceCloseAll() while checked out
+        closeQuietly(entry);
+      }
+    } else {
+      discard(entry);
+      if (log.isDebugEnabled()) {
+        log.debug("Closed connection " + conn.getRealHashCode() + ".");
+      }
+    }
+  }
+
+  @Override
+  protected void maintainPool() {
+    int idleCount = bag.count(ConcurrentBag.STATE_NOT_IN_USE);
+    for (PoolEntry entry : bag.values()) {
+      // reserve the entry so that it cannot be checked out while it is being validated
+      if (!entry.compareAndSetState(ConcurrentBag.STATE_NOT_IN_USE, ConcurrentBag.STATE_IN_USE)) {
+        continue;
+      }
+      PooledConnection conn = new EntryConnection(entry, this);
+      conn.setCreatedTimestamp(entry.createdTimestamp);
+      conn.setLastUsedTimestamp(entry.lastUsedTimestamp);
+      if (isExpired(conn) || (isIdleTimedOut(conn) && idleCount > poolMinimumIdleConnections)) {
+        idleCount--;
+        discard(entry);
+        if (log.isDebugEnabled()) {
+          log.debug("Closed expired idle connection " + conn.getRealHashCode() + ".");
+        }
+      } else if (isPingRequired(conn) && !(isConnectionOpen(conn) && executePingQuery(conn))) {
+        idleCount--;
+        state.badConnectionCount.increment();
+        discard(entry);
+      } else if (!bag.requite(entry)) {
+        closeQuietly(entry);
+      }
+    }
+
+    int minimumIdle = Math.min(poolMinimumIdleConnections, poolMaximumIdleConnections);
+    while (bag.count(ConcurrentBag.STATE_NOT_IN_USE) < minimumIdle) {
+      try {
+        PoolEntry entry = createEntry();
+        if (entry == null) {
+          return;
+        }
+        if (!bag.requite(entry)) {
+          closeQuietly(entry);
+        }
+      } catch (SQLException e) {
+        log.warn("Could not open an idle connection: " + e.getMessage());
+        return;
+      }
+    }
+  }
+
+  private PooledConnection borrowConnection(String username, String password) throws SQLException {
+    boolean countedWait = false;
+    long t = System.currentTimeMillis();
+    int localBadConnectionCount = 0;
+
+    while (true) {
+      PoolEntry entry;
+      try {
+        entry = bag.borrow(0, TimeUnit.MILLISECONDS);
+        if (entry == null) {
+          entry = createEntry();
+        }
+        if (entry == null) {
+          entry = claimOverdueEntry();
+        }
+        if (entry == null) {
+          if (!countedWait) {
+            state.hadToWaitCount.increment();
+            countedWait = true;
+          }
+          if (log.isDebugEnabled()) {
+            log.debug("Waiting as long as " + poolTimeToWait + " milliseconds for connection.");
+          }
+          long wt = System.currentTimeMillis();
+          entry = bag.borrow(poolTimeToWait, TimeUnit.MILLISECONDS);
+          state.accumulatedWaitTime.add(System.currentTimeMillis() - wt);
+          if (entry == null) {
+            log.debug("Wait failed...");
+            continue;
+          }
+        }
+      } catch (InterruptedException e) {
+        // set interrupt flag
+        Thread.currentThread().interrupt();
+        throw new SQLException("ConcurrentPooledDataSource: Interrupted while waiting for a connection.", e);
+      }
+
+      PooledConnection conn = new EntryConnection(entry, this);
+      conn.setCreatedTimestamp(entry.createdTimestamp);
+      conn.setLastUsedTimestamp(entry.lastUsedTimestamp);
+      // ping to server and check the connection is valid or not
+      if (conn.isValid()) {
+        try {
+          if (!entry.realConnection.getAutoCommit()) {
+            entry.realConnection.rollback();
+          }
+        } catch (SQLException e) {
+          discard(entry);
+          throw e;
+        }
+        conn.setConnectionTypeCode(assembleConnectionTypeCode(getUrl(), username, password));
+        conn.setCheckoutTimestamp(System.currentTimeMillis());
+        conn.setLastUsedTimestamp(System.currentTimeMillis());
+        entry.pooledConnection.set(conn);
+        state.requestCount.increment();
+        state.accumulatedRequestTime.add(System.currentTimeMillis() - t);
+        if (log.isDebugEnabled()) {
+          log.debug("Checked out connection " + conn.getRealHashCode() + " from pool.");
+        }
+        return conn;
+      }
+
+      if (log.isDebugEnabled()) {
+        log.debug("A bad connection (" + conn.getRealHashCode()
+            + ") was returned from the pool, getting another connection.");
+      }
+      state.badConnectionCount.increment();
+      localBadConnectionCount++;
+      discard(entry);
+      if (localBadConnectionCount > poolMaximumIdleConnections + poolMaximumLocalBadConnectionTolerance) {
+        if (log.isDebugEnabled()) {
+          log.debug("ConcurrentPooledDataSource: Could not get a good connection to the database.");
+        }
+        throw new SQLException("ConcurrentPooledDataSource: Could not get a good connection to the database.");
+      }
+    }
+  }
+
+  private PoolEntry createEntry() throws SQLException {
+    int total;
+    do {
+      total = totalConnections.get();
+      if (total >= poolMaximumActiveConnections) {
+        return null;
+      }
+    } while (!totalConnections.compareAndSet(total, total + 1));
+
+    try {
+      PoolEntry entry = new PoolEntry(dataSource.getConnection());
+      bag.add(entry);
+      if (log.isDebugEnabled()) {
+        log.debug("Created connection " + entry.realConnection.hashCode() + ".");
+      }
+      return entry;
+    } catch (SQLException | RuntimeException e) {
+      totalConnections.decrementAndGet();
+      throw e;
+    }
+  }
+
+  private PoolEntry claimOverdueEntry() {
+    for (PoolEntry entry : bag.values()) {
+      PooledConnection oldConn = entry.pooledConnection.get();
+      if (oldConn == null) {
+        continue;
+      }
+      long checkoutTime = oldConn.getCheckoutTime();
+      if (checkoutTime > poolMaximumCheckoutTime && entry.pooledConnection.compareAndSet(oldConn, null)) {
+        state.claimedOverdueConnectionCount.increment();
+        state.accumulatedCheckoutTimeOfOverdueConnections.add(checkoutTime);
+        state.accumulatedCheckoutTime.add(checkoutTime);
+        oldConn.invalidate();
+        try {
+          if (!entry.realConnection.getAutoCommit()) {
+            entry.realConnection.rollback();
+          }
+        } catch (SQLException e) {
+          // the validity check on checkout discards the connection if it is really broken
+          log.debug("Bad connection. Could not roll back");
+        }
+        if (log.isDebugEnabled()) {
+          log.debug("Claimed overdue connection " + oldConn.getRealHashCode() + ".");
+        }
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  private void discard(PoolEntry entry) {
+    if (!bag.remove(entry)) {
+      return;
+    }
+    totalConnections.decrementAndGet();
+    closeQuietly(entry);
+    if (bag.hasWaiters()) {
+      // replace the connection so that a waiting thread does not have to wait for the next return
+      try {
+        PoolEntry newEntry = createEntry();
+        if (newEntry != null && !bag.requite(newEntry)) {
+          closeQuietly(newEntry);
+        }
+      } catch (SQLException | RuntimeException e) {
+        if (log.isDebugEnabled()) {
+          log.debug("Could not create a connection for a waiting thread: " + e.getMessage());
+        }
+      }
+    }
+  }
+
+  private void closeQuietly(PoolEntry entry) {
+    try {
+      entry.realConnection.close();
+    } catch (Exception e) {
+      // ignore
+    }
+  }
+
+  private void resetConnectionTypeCode() {
+    expectedConnectionTypeCode = assembleConnectionTypeCode(getUrl(), getUsername(), getPassword());
+  }
+
+  private static final class PoolEntry extends ConcurrentBag.Entry {
+
+    private final Connection realConnection;
+    private final long createdTimestamp;
+    private volatile long lastUsedTimestamp;
+    private final AtomicReference<PooledConnection> pooledConnection = new AtomicReference<>();
+
+    PoolEntry(Connection realConnection) {
+      this.realConnection = realConnection;
+      this.createdTimestamp = System.currentTimeMillis();
+      this.lastUsedTimestamp = createdTimestamp;
+    }
+
+  }
+
+  private static final class EntryConnection extends PooledConnection {
+
+    private final PoolEntry entry;
+
+    EntryConnection(PoolEntry entry, ConcurrentPooledDataSource dataSource) {
+      super(entry.realConnection, dataSource);
+      this.entry = entry;
+    }
+
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * Runs the periodic maintenance of pooled data sources on a single shared daemon thread.
+ * <p>
+ * Scheduled tasks only hold a weak reference to their data source, so an unreachable pool does not leak through the
+ * scheduler; its task cancels itself on the next run.
+ */
+final class PoolMaintenanceScheduler {
+
+  private static final Log log = LogFactory.getLog(PoolMaintenanceScheduler.class);
+
+  private static final ScheduledExecutorService executor = createExecutor();
+
+  private PoolMaintenanceScheduler() {
+    // Prevent Instantiation of Static Class
+  }
+
+  static ScheduledFuture<?> schedule(PooledDataSource dataSource, long intervalMillis) {
+    MaintenanceTask task = new MaintenanceTask(dataSource);
+    task.future = executor.scheduleWithFixedDelay(task, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    return task.future;
+  }
+
+  private static ScheduledExecutorService createExecutor() {
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+      Thread thread = new Thread(r, "mybatis-pool-maintenance");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
+  private static class MaintenanceTask implements Runnable {
+
+    private final WeakReference<PooledDataSource> dataSource;
+    private volatile ScheduledFuture<?> future;
+
+    MaintenanceTask(PooledDataSource dataSource) {
+      this.dataSource = new WeakReference<>(dataSource);
+    }
+
+    @Override
+    public void run() {
+      PooledDataSource ds = dataSource.get();
+      if (ds == null) {
+        if (future != null) {
+          future.cancel(false);
+        }
+        return;
+      }
+      try {
+        ds.maintainPool();
+      } catch (RuntimeException e) {
+        // an exception would suppress all subsequent runs
+        log.warn("Pool maintenance failed: " + e.getMessage());
+      }
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -157,6 +157,10 @@ public class PoolState {
       builder.append("\n poolPingEnabled                ").append(dataSource.poolPingEnabled);
       builder.append("\n poolPingQuery                  ").append(dataSource.poolPingQuery);
       builder.append("\n poolPingConnectionsNotUsedFor  ").append(dataSource.poolPingConnectionsNotUsedFor);
+      builder.append("\n poolMaintenanceInterval        ").append(dataSource.poolMaintenanceInterval);
+      builder.append("\n poolMinIdleConnections         ").append(dataSource.poolMinimumIdleConnections);
+      builder.append("\n poolMaxIdleTime                ").append(dataSource.poolMaximumIdleTime);
+      builder.append("\n poolMaxConnectionLifetime      ").append(dataSource.poolMaximumConnectionLifetime);
       builder.append("\n ---STATUS-----------------------------------------------------");
       builder.append("\n activeConnections              ").append(getActiveConnectionCount());
       builder.append("\n idleConnections                ").append(getIdleConnectionCount());
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -22,7 +22,11 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -46,7 +50,7 @@ public class PooledDataSource implements DataSource {
 
   private final PoolState state = new PoolState(this);
 
-  private final UnpooledDataSource dataSource;
+  final UnpooledDataSource dataSource;
 
   // OPTIONAL CONFIGURATION FIELDS
   protected int poolMaximumActiveConnections = 10;
@@ -57,8 +61,15 @@ public class PooledDataSource implements DataSource {
   protected String poolPingQuery = "NO PING QUERY SET";
   protected boolean poolPingEnabled;
   protected int poolPingConnectionsNotUsedFor;
+  protected int poolMaintenanceInterval;
+  protected int poolMinimumIdleConnections;
+  protected int poolMaximumIdleTime;
+  protected int poolMaximumConnectionLifetime;
 
   private int expectedConnectionTypeCode;
+  // connections taken out of the pool by the maintenance task, guarded by lock
+  private int pendingConnectionCount;
+  private ScheduledFuture<?> maintenanceTask;
 
   private final Lock lock = new ReentrantLock();
   private final Condition condition = lock.newCondition();
@@ -265,6 +276,75 @@ public class PooledDataSource implements DataSource {
     forceCloseAll();
   }
 
+  /**
+   * If greater than zero, a background task runs at this interval to validate idle connections with the ping query,
+   * close idle connections that have expired and open connections up to the minimum number of idle connections. The
+   * ping query is then no longer sent when a connection is checked out or returned.
+   *
+   * @param milliseconds
+   *          the number of milliseconds between two runs of the maintenance task, or 0 to disable it
+   *
+   * @since 3.5.17
+   */
+  public void setPoolMaintenanceInterval(int milliseconds) {
+    this.poolMaintenanceInterval = milliseconds;
+    forceCloseAll();
+    lock.lock();
+    try {
+      if (maintenanceTask != null) {
+        maintenanceTask.cancel(false);
+        maintenanceTask = null;
+      }
+      if (milliseconds > 0) {
+        maintenanceTask = PoolMaintenanceScheduler.schedule(this, milliseconds);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The number of idle connections the maintenance task keeps open. It is never more than the maximum number of idle
+   * connections.
+   *
+   * @param poolMinimumIdleConnections
+   *          The minimum number of idle connections
+   *
+   * @since 3.5.17
+   */
+  public void setPoolMinimumIdleConnections(int poolMinimumIdleConnections) {
+    this.poolMinimumIdleConnections = poolMinimumIdleConnections;
+    forceCloseAll();
+  }
+
+  /**
+   * If an idle connection has not been used in this many milliseconds, the maintenance task closes it unless the pool
+   * would fall below the minimum number of idle connections.
+   *
+   * @param milliseconds
+   *          the number of milliseconds of inactivity after which an idle connection is closed, or 0 for no limit
+   *
+   * @since 3.5.17
+   */
+  public void setPoolMaximumIdleTime(int milliseconds) {
+    this.poolMaximumIdleTime = milliseconds;
+    forceCloseAll();
+  }
+
+  /**
+   * The maximum time a connection is kept open. Older connections are closed when they are returned to the pool or by
+   * the maintenance task.
+   *
+   * @param milliseconds
+   *          the maximum age of a connection in milliseconds, or 0 for no limit
+   *
+   * @since 3.5.17
+   */
+  public void setPoolMaximumConnectionLifetime(int milliseconds) {
+    this.poolMaximumConnectionLifetime = milliseconds;
+    forceCloseAll();
+  }
+
   public String getDriver() {
     return dataSource.getDriver();
   }
@@ -336,6 +416,22 @@ public class PooledDataSource implements DataSource {
     return poolPingConnectionsNotUsedFor;
   }
 
+  public int getPoolMaintenanceInterval() {
+    return poolMaintenanceInterval;
+  }
+
+  public int getPoolMinimumIdleConnections() {
+    return poolMinimumIdleConnections;
+  }
+
+  public int getPoolMaximumIdleTime() {
+    return poolMaximumIdleTime;
+  }
+
+  public int getPoolMaximumConnectionLifetime() {
+    return poolMaximumConnectionLifetime;
+  }
+
   /**
    * Closes all active and idle connections in the pool.
    */
@@ -384,7 +480,7 @@ public class PooledDataSource implements DataSource {
     return state;
   }
 
-  private int assembleConnectionTypeCode(String url, String username, String password) {
+  int assembleConnectionTypeCode(String url, String username, String password) {
     return ("" + url + username + password).hashCode();
   }
 
@@ -395,7 +491,7 @@ public class PooledDataSource implements DataSource {
       state.activeConnections.remove(conn);
       if (conn.isValid()) {
         if (state.idleConnections.size() < poolMaximumIdleConnections
-            && conn.getConnectionTypeCode() == expectedConnectionTypeCode) {
+            && conn.getConnectionTypeCode() == expectedConnectionTypeCode && !isExpired(conn)) {
           state.accumulatedCheckoutTime += conn.getCheckoutTime();
           if (!conn.getRealConnection().getAutoCommit()) {
             conn.getRealConnection().rollback();
@@ -447,7 +543,7 @@ public class PooledDataSource implements DataSource {
           if (log.isDebugEnabled()) {
             log.debug("Checked out connection " + conn.getRealHashCode() + " from pool.");
           }
-        } else if (state.activeConnections.size() < poolMaximumActiveConnections) {
+        } else if (state.activeConnections.size() + pendingConnectionCount < poolMaximumActiveConnections) {
           // Pool does not have available connection and can create a new connection
           conn = new PooledConnection(dataSource.getConnection(), this);
           if (log.isDebugEnabled()) {
@@ -559,47 +655,173 @@ public class PooledDataSource implements DataSource {
    * @return True if the connection is still usable
    */
   protected boolean pingConnection(PooledConnection conn) {
-    boolean result;
+    boolean result = isConnectionOpen(conn);
+    if (result && poolMaintenanceInterval <= 0 && isPingRequired(conn)) {
+      result = executePingQuery(conn);
+    }
+    return result;
+  }
 
+  /**
+   * Validates, evicts and replenishes idle connections. Called periodically when a maintenance interval is set, so that
+   * connections are pinged here rather than by the threads checking them out.
+   *
+   * @since 3.5.17
+   */
+  protected void maintainPool() {
+    List<PooledConnection> toClose = new ArrayList<>();
+    List<PooledConnection> toValidate = new ArrayList<>();
+    lock.lock();
     try {
-      result = !conn.getRealConnection().isClosed();
-    } catch (SQLException e) {
+      int idleCount = state.idleConnections.size();
+      for (Iterator<PooledConnection> it = state.idleConnections.iterator(); it.hasNext();) {
+        PooledConnection conn = it.next();
+        if (isExpired(conn) || (isIdleTimedOut(conn) && idleCount > poolMinimumIdleConnections)) {
+          it.remove();
+          toClose.add(conn);
+          idleCount--;
+        } else if (isPingRequired(conn)) {
+          it.remove();
+          toValidate.add(conn);
+        }
+      }
+      pendingConnectionCount += toValidate.size();
+    } finally {
+      lock.unlock();
+    }
+
+    for (PooledConnection conn : toClose) {
+      conn.invalidate();
+      try {
+        conn.getRealConnection().close();
+      } catch (SQLException e) {
+        // ignore
+      }
       if (log.isDebugEnabled()) {
-        log.debug("Connection " + conn.getRealHashCode() + " is BAD: " + e.getMessage());
+        log.debug("Closed expired idle connection " + conn.getRealHashCode() + ".");
       }
-      result = false;
     }
 
-    if (result && poolPingEnabled && poolPingConnectionsNotUsedFor >= 0
-        && conn.getTimeElapsedSinceLastUse() > poolPingConnectionsNotUsedFor) {
+    for (PooledConnection conn : toValidate) {
+      boolean valid = isConnectionOpen(conn) && executePingQuery(conn);
+      lock.lock();
       try {
-        if (log.isDebugEnabled()) {
-          log.debug("Testing connection " + conn.getRealHashCode() + " ...");
-        }
-        Connection realConn = conn.getRealConnection();
-        try (Statement statement = realConn.createStatement()) {
-          statement.executeQuery(poolPingQuery).close();
+        pendingConnectionCount--;
+        if (!valid) {
+          state.badConnectionCount++;
         }
-        if (!realConn.getAutoCommit()) {
-          realConn.rollback();
+        returnToIdle(conn, valid);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    fillIdleConnections();
+  }
+
+  private void fillIdleConnections() {
+    int minimumIdle = Math.min(poolMinimumIdleConnections, poolMaximumIdleConnections);
+    while (true) {
+      lock.lock();
+      try {
+        if (state.idleConnections.size() + pendingConnectionCount >= minimumIdle || state.activeConnections.size()
+            + state.idleConnections.size() + pendingConnectionCount >= poolMaximumActiveConnections) {
+          return;
         }
+        pendingConnectionCount++;
+      } finally {
+        lock.unlock();
+      }
+
+      PooledConnection conn = null;
+      try {
+        conn = new PooledConnection(dataSource.getConnection(), this);
         if (log.isDebugEnabled()) {
-          log.debug("Connection " + conn.getRealHashCode() + " is GOOD!");
+          log.debug("Created idle connection " + conn.getRealHashCode() + ".");
         }
-      } catch (Exception e) {
-        log.warn("Execution of ping query '" + poolPingQuery + "' failed: " + e.getMessage());
-        try {
-          conn.getRealConnection().close();
-        } catch (Exception e2) {
-          // ignore
-        }
-        result = false;
-        if (log.isDebugEnabled()) {
-          log.debug("Connection " + conn.getRealHashCode() + " is BAD: " + e.getMessage());
+      } catch (SQLException e) {
+        log.warn("Could not open an idle connection: " + e.getMessage());
+      }
+
+      lock.lock();
+      try {
+        pendingConnectionCount--;
+        if (conn == null) {
+          return;
         }
+        returnToIdle(conn, true);
+      } finally {
+        lock.unlock();
       }
     }
-    return result;
+  }
+
+  private void returnToIdle(PooledConnection conn, boolean valid) {
+    if (valid && state.idleConnections.size() < poolMaximumIdleConnections) {
+      state.idleConnections.add(conn);
+      condition.signal();
+      return;
+    }
+    conn.invalidate();
+    try {
+      conn.getRealConnection().close();
+    } catch (SQLException e) {
+      // ignore
+    }
+  }
+
+  boolean isExpired(PooledConnection conn) {
+    return poolMaximumConnectionLifetime > 0 && conn.getAge() > poolMaximumConnectionLifetime;
+  }
+
+  boolean isIdleTimedOut(PooledConnection conn) {
+    return poolMaximumIdleTime > 0 && conn.getTimeElapsedSinceLastUse() > poolMaximumIdleTime;
+  }
+
+  boolean isPingRequired(PooledConnection conn) {
+    return poolPingEnabled && poolPingConnectionsNotUsedFor >= 0
+        && conn.getTimeElapsedSinceLastUse() > poolPingConnectionsNotUsedFor;
+  }
+
+  boolean isConnectionOpen(PooledConnection conn) {
+    try {
+      return !conn.getRealConnection().isClosed();
+    } catch (SQLException e) {
+      if (log.isDebugEnabled()) {
+        log.debug("Connection " + conn.getRealHashCode() + " is BAD: " + e.getMessage());
+      }
+      return false;
+    }
+  }
+
+  boolean executePingQuery(PooledConnection conn) {
+    try {
+      if (log.isDebugEnabled()) {
+        log.debug("Testing connection " + conn.getRealHashCode() + " ...");
+      }
+      Connection realConn = conn.getRealConnection();
+      try (Statement statement = realConn.createStatement()) {
+        statement.executeQuery(poolPingQuery).close();
+      }
+      if (!realConn.getAutoCommit()) {
+        realConn.rollback();
+      }
+      if (log.isDebugEnabled()) {
+        log.debug("Connection " + conn.getRealHashCode() + " is GOOD!");
+      }
+      return true;
+    } catch (Exception e) {
+      log.warn("Execution of ping query '" + poolPingQuery + "' failed: " + e.getMessage());
+      try {
+        conn.getRealConnection().close();
+      } catch (Exception e2) {
+        // ignore
+      }
+      if (log.isDebugEnabled()) {
+        log.debug("Connection " + conn.getRealHashCode() + " is BAD: " + e.getMessage());
+      }
+      return false;
+    }
   }
 
   /**
@@ -34,6 +34,7 @@ import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
@@ -65,13 +66,22 @@ public abstract class BaseExecutor implements Executor {
   protected BaseExecutor(Configuration configuration, Transaction transaction) {
     this.transaction = transaction;
     this.deferredLoads = new ConcurrentLinkedQueue<>();
-    this.localCache = new PerpetualCache("LocalCache");
+    this.localCache = newLocalCache(configuration);
     this.localOutputParameterCache = new PerpetualCache("LocalOutputParameterCache");
     this.closed = false;
     this.configuration = configuration;
     this.wrapper = this;
   }
 
+  private static PerpetualCache newLocalCache(Configuration configuration) {
+    // the configuration is null for the executor of a deserialized lazy loader
+    if (configuration != null && (configuration.getLocalCacheSize() > 0 || configuration.getLocalCacheMaxRows() > 0)) {
+      return new BoundedLocalCache("LocalCache", configuration.getLocalCacheSize(),
+          configuration.getLocalCacheMaxRows());
+    }
+    return new PerpetualCache("LocalCache");
+  }
+
   @Override
   public Transaction getTransaction() {
     if (closed) {
@@ -133,7 +143,8 @@ public abstract class BaseExecutor implements Executor {
   public <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler)
       throws SQLException {
     BoundSql boundSql = ms.getBoundSql(parameter);
-    CacheKey key = createCacheKey(ms, parameter, rowBounds, boundSql);
+    CacheKey key = isLocalCacheConsulted(ms) ? createCacheKey(ms, parameter, rowBounds, boundSql)
+        : CacheKey.NULL_CACHE_KEY;
     return query(ms, parameter, rowBounds, resultHandler, key, boundSql);
   }
 
@@ -166,9 +177,11 @@ public abstract class BaseExecutor implements Executor {
       }
       // issue #601
       deferredLoads.clear();
-      if (configuration.getLocalCacheScope() == LocalCacheScope.STATEMENT) {
+      if (getLocalCacheScope(ms) == LocalCacheScope.STATEMENT) {
         // issue #482
         clearLocalCache();
+      } else if (localCache instanceof BoundedLocalCache) {
+        ((BoundedLocalCache) localCache).trim();
       }
     }
     return list;
@@ -310,6 +323,28 @@ public abstract class BaseExecutor implements Executor {
     StatementUtil.applyTransactionTimeout(statement, statement.getQueryTimeout(), transaction.getTimeout());
   }
 
+  /**
+   * Tells whether the local cache can be looked up with the key of a query. With the statement scope, the local cache
+   * is cleared once a top level query completes, so its key is only needed to resolve nested queries and output
+   * parameters.
+   */
+  private boolean isLocalCacheConsulted(MappedStatement ms) {
+    if (queryStack > 0 || getLocalCacheScope(ms) != LocalCacheScope.STATEMENT
+        || ms.getStatementType() == StatementType.CALLABLE) {
+      return true;
+    }
+    for (ResultMap resultMap : ms.getResultMaps()) {
+      if (resultMap.hasNestedQueries() || resultMap.hasNestedResultMaps() || resultMap.getDiscriminator() != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private LocalCacheScope getLocalCacheScope(MappedStatement ms) {
+    return ms.getLocalCacheScope() == null ? configuration.getLocalCacheScope() : ms.getLocalCacheScope();
+  }
+
   private void handleLocallyCachedOutputParameters(MappedStatement ms, CacheKey key, Object parameter,
       BoundSql boundSql) {
     if (ms.getStatementType() == StatementType.CALLABLE) {
@@ -17,12 +17,17 @@ package org.apache.ibatis.executor;
 
 import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
@@ -30,12 +35,31 @@ import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.StatementType;
+import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.type.TypeHandlerRegistry;
 
 /**
+ * Executes updates as JDBC batches.
+ * <p>
+ * By default a statement is reused while the same SQL is executed in a row. When
+ * {@link Configuration#isGroupBatchStatements()} is enabled, one statement is kept open per distinct SQL, so that
+ * interleaved statements are batched too; the batches are then executed in the order their SQL was first used. A batch
+ * is executed before the session is flushed when it reaches {@link Configuration#getBatchFlushRows()} rows or, as
+ * estimated from the parameter values, {@link Configuration#getBatchFlushBytes()} bytes. The batches opened before it
+ * are executed first, and the results of such batches are returned by the next flush.
+ * <p>
+ * When {@link Configuration#isRewriteBatchedInserts()} is enabled, the rows of a batched
+ * {@code INSERT ... VALUES (...)} are executed as multi-row inserts of up to
+ * {@link Configuration#getBatchInsertMaxParameters()} parameters instead of as a JDBC batch.
+ *
  * @author Jeff Butler
  */
 public class BatchExecutor extends BaseExecutor {
@@ -44,6 +68,10 @@ public class BatchExecutor extends BaseExecutor {
 
   private final List<Statement> statementList = new ArrayList<>();
   private final List<BatchResult> batchResultList = new ArrayList<>();
+  private final List<Long> batchSizeList = new ArrayList<>();
+  private final List<MultiRowInsert> multiRowInsertList = new ArrayList<>();
+  private final Map<CacheKey, Integer> batchIndexes = new HashMap<>();
+  private final List<BatchResult> executedBatchResults = new ArrayList<>();
   private String currentSql;
   private MappedStatement currentStatement;
 
@@ -58,27 +86,148 @@ public class BatchExecutor extends BaseExecutor {
         null, null);
     final BoundSql boundSql = handler.getBoundSql();
     final String sql = boundSql.getSql();
-    final Statement stmt;
-    if (sql.equals(currentSql) && ms.equals(currentStatement)) {
-      int last = statementList.size() - 1;
-      stmt = statementList.get(last);
-      applyTransactionTimeout(stmt);
-      handler.parameterize(stmt);// fix Issues 322
-      BatchResult batchResult = batchResultList.get(last);
+    // reading the parameters may trigger a lazy load, which flushes the batches, so read them before finding one
+    Object[] parameterValues = null;
+    if (configuration.isRewriteBatchedInserts() || configuration.getBatchFlushBytes() > 0) {
+      parameterValues = getParameterValues(boundSql, parameterObject);
+    }
+    int index = findBatch(ms, sql);
+    MultiRowInsert multiRowInsert;
+    Statement stmt = null;
+    if (index >= 0) {
+      multiRowInsert = multiRowInsertList.get(index);
+      if (multiRowInsert == null) {
+        stmt = statementList.get(index);
+        applyTransactionTimeout(stmt);
+        handler.parameterize(stmt);// fix Issues 322
+      }
+      BatchResult batchResult = batchResultList.get(index);
       batchResult.addParameterObject(parameterObject);
     } else {
-      Connection connection = getConnection(ms.getStatementLog());
-      stmt = handler.prepare(connection, transaction.getTimeout());
-      handler.parameterize(stmt); // fix Issues 322
+      multiRowInsert = createMultiRowInsert(ms, boundSql);
+      if (multiRowInsert == null) {
+        Connection connection = getConnection(ms.getStatementLog());
+        stmt = handler.prepare(connection, transaction.getTimeout());
+        handler.parameterize(stmt); // fix Issues 322
+      }
       currentSql = sql;
       currentStatement = ms;
       statementList.add(stmt);
       batchResultList.add(new BatchResult(ms, sql, parameterObject));
+      batchSizeList.add(0L);
+      multiRowInsertList.add(multiRowInsert);
+      index = statementList.size() - 1;
+      if (configuration.isGroupBatchStatements()) {
+        batchIndexes.put(createBatchKey(ms, sql), index);
+      }
+    }
+    if (multiRowInsert != null) {
+      multiRowInsert.addRow(boundSql.getParameterMappings(), parameterValues);
+    } else {
+      handler.batch(stmt);
+    }
+    if (configuration.getBatchFlushBytes() > 0) {
+      batchSizeList.set(index, batchSizeList.get(index) + estimateSize(parameterValues));
     }
-    handler.batch(stmt);
+    flushIfFull(index);
     return BATCH_UPDATE_RETURN_VALUE;
   }
 
+  private MultiRowInsert createMultiRowInsert(MappedStatement ms, BoundSql boundSql) {
+    if (!configuration.isRewriteBatchedInserts() || ms.getSqlCommandType() != SqlCommandType.INSERT
+        || ms.getStatementType() != StatementType.PREPARED) {
+      return null;
+    }
+    // keys generated after the insert can only be assigned to the rows of a multi-row insert by Jdbc3KeyGenerator
+    final Class<?> keyGeneratorType = ms.getKeyGenerator().getClass();
+    if (!Jdbc3KeyGenerator.class.equals(keyGeneratorType) && !NoKeyGenerator.class.equals(keyGeneratorType)) {
+      return null;
+    }
+    for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+      if (parameterMapping.getMode() != ParameterMode.IN) {
+        return null;
+      }
+    }
+    return MultiRowInsert.parse(boundSql.getSql(), boundSql.getParameterMappings().size());
+  }
+
+  private int findBatch(MappedStatement ms, String sql) {
+    if (configuration.isGroupBatchStatements()) {
+      Integer index = batchIndexes.get(createBatchKey(ms, sql));
+      return index == null ? -1 : index;
+    }
+    return sql.equals(currentSql) && ms.equals(currentStatement) ? statementList.size() - 1 : -1;
+  }
+
+  private CacheKey createBatchKey(MappedStatement ms, String sql) {
+    CacheKey batchKey = new CacheKey();
+    batchKey.update(ms.getId());
+    batchKey.update(sql);
+    return batchKey;
+  }
+
+  private void flushIfFull(int index) throws SQLException {
+    final int flushRows = configuration.getBatchFlushRows();
+    final int flushBytes = configuration.getBatchFlushBytes();
+    if ((flushRows <= 0 || batchResultList.get(index).getParameterObjects().size() < flushRows)
+        && (flushBytes <= 0 || batchSizeList.get(index) < flushBytes)) {
+      return;
+    }
+    boolean executed = false;
+    try {
+      // the batches opened before may hold rows this one depends on
+      executeBatches(index + 1, executedBatchResults, false);
+      executed = true;
+    } finally {
+      if (!executed) {
+        closeBatches();
+      }
+    }
+  }
+
+  private Object[] getParameterValues(BoundSql boundSql, Object parameterObject) {
+    final TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+    final List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    final Object[] values = new Object[parameterMappings.size()];
+    // mimic DefaultParameterHandler logic
+    MetaObject metaObject = null;
+    for (int i = 0; i < values.length; i++) {
+      ParameterMapping parameterMapping = parameterMappings.get(i);
+      if (parameterMapping.getMode() != ParameterMode.OUT) {
+        Object value;
+        String propertyName = parameterMapping.getProperty();
+        if (boundSql.hasAdditionalParameter(propertyName)) {
+          value = boundSql.getAdditionalParameter(propertyName);
+        } else if (parameterObject == null) {
+          value = null;
+        } else if (typeHandlerRegistry.hasTypeHandler(parameterObject.getClass())) {
+          value = parameterObject;
+        } else {
+          if (metaObject == null) {
+            metaObject = configuration.newMetaObject(parameterObject);
+          }
+          value = metaObject.getValue(propertyName);
+        }
+        values[i] = value;
+      }
+    }
+    return values;
+  }
+
+  private long estimateSize(Object[] values) {
+    long size = 0;
+    for (Object value : values) {
+      if (value instanceof CharSequence) {
+        size += 2L * ((CharSequence) value).length();
+      } else if (value instanceof byte[]) {
+        size += ((byte[]) value).length;
+      } else {
+        size += 8;
+      }
+    }
+    return size;
+  }
+
   @Override
   public <E> List<E> doQuery(MappedStatement ms, Object parameterObject, RowBounds rowBounds,
       ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
@@ -114,15 +263,32 @@ public class BatchExecutor extends BaseExecutor {
   @Override
   public List<BatchResult> doFlushStatements(boolean isRollback) throws SQLException {
     try {
-      List<BatchResult> results = new ArrayList<>();
       if (isRollback) {
         return Collections.emptyList();
       }
-      for (int i = 0, n = statementList.size(); i < n; i++) {
-        Statement stmt = statementList.get(i);
-        applyTransactionTimeout(stmt);
-        BatchResult batchResult = batchResultList.get(i);
-        try {
+      List<BatchResult> results = new ArrayList<>(executedBatchResults);
+      executeBatches(statementList.size(), results, true);
+      return results;
+    } finally {
+      closeBatches();
+    }
+  }
+
+  private void executeBatches(int count, List<BatchResult> results, boolean closeStatements) throws SQLException {
+    for (int i = 0; i < count; i++) {
+      Statement stmt = statementList.get(i);
+      BatchResult batchResult = batchResultList.get(i);
+      if (batchResult.getParameterObjects().isEmpty()) {
+        // already executed when it was full
+        continue;
+      }
+      MultiRowInsert multiRowInsert = multiRowInsertList.get(i);
+      try {
+        if (multiRowInsert != null) {
+          batchResult.setUpdateCounts(executeMultiRowInsert(batchResult, multiRowInsert));
+          multiRowInsert.clear();
+        } else {
+          applyTransactionTimeout(stmt);
           batchResult.setUpdateCounts(stmt.executeBatch());
           MappedStatement ms = batchResult.getMappedStatement();
           List<Object> parameterObjects = batchResult.getParameterObjects();
@@ -135,29 +301,70 @@ public class BatchExecutor extends BaseExecutor {
               keyGenerator.processAfter(this, ms, stmt, parameter);
             }
           }
-          // Close statement to close cursor #1109
-          closeStatement(stmt);
-        } catch (BatchUpdateException e) {
-          StringBuilder message = new StringBuilder();
-          message.append(batchResult.getMappedStatement().getId()).append(" (batch index #").append(i + 1).append(")")
-              .append(" failed.");
-          if (i > 0) {
-            message.append(" ").append(i)
-                .append(" prior sub executor(s) completed successfully, but will be rolled back.");
+          if (closeStatements) {
+            // Close statement to close cursor #1109
+            closeStatement(stmt);
           }
-          throw new BatchExecutorException(message.toString(), e, results, batchResult);
         }
-        results.add(batchResult);
+      } catch (BatchUpdateException e) {
+        StringBuilder message = new StringBuilder();
+        message.append(batchResult.getMappedStatement().getId()).append(" (batch index #").append(i + 1).append(")")
+            .append(" failed.");
+        if (!results.isEmpty()) {
+          message.append(" ").append(results.size())
+              .append(" prior sub executor(s) completed successfully, but will be rolled back.");
+        }
+        throw new BatchExecutorException(message.toString(), e, new ArrayList<>(results), batchResult);
       }
-      return results;
-    } finally {
-      for (Statement stmt : statementList) {
+      results.add(batchResult);
+      if (!closeStatements) {
+        batchResultList.set(i, new BatchResult(batchResult.getMappedStatement(), batchResult.getSql()));
+        batchSizeList.set(i, 0L);
+      }
+    }
+  }
+
+  private int[] executeMultiRowInsert(BatchResult batchResult, MultiRowInsert multiRowInsert) throws SQLException {
+    final MappedStatement ms = batchResult.getMappedStatement();
+    final List<Object> parameterObjects = batchResult.getParameterObjects();
+    final int rowCount = multiRowInsert.getRowCount();
+    final int rowsPerStatement = multiRowInsert.getRowsPerStatement(configuration.getBatchInsertMaxParameters());
+    final int[] updateCounts = new int[rowCount];
+    for (int fromRow = 0; fromRow < rowCount; fromRow += rowsPerStatement) {
+      final int rows = Math.min(rowsPerStatement, rowCount - fromRow);
+      // the key generator assigns the generated keys to the rows of the list in order
+      final List<Object> rowParameterObjects = new ArrayList<>(parameterObjects.subList(fromRow, fromRow + rows));
+      final BoundSql boundSql = new BoundSql(configuration, multiRowInsert.getSql(rows), Collections.emptyList(),
+          rowParameterObjects);
+      final StatementHandler handler = configuration.newStatementHandler(this, ms, rowParameterObjects,
+          RowBounds.DEFAULT, null, boundSql);
+      Statement stmt = null;
+      try {
+        stmt = handler.prepare(getConnection(ms.getStatementLog()), transaction.getTimeout());
+        multiRowInsert.setParameters((PreparedStatement) stmt, fromRow, rows, configuration);
+        final int count = handler.update(stmt);
+        Arrays.fill(updateCounts, fromRow, fromRow + rows, count == rows ? 1 : Statement.SUCCESS_NO_INFO);
+      } catch (SQLException e) {
+        final int[] partialCounts = Arrays.copyOf(updateCounts, fromRow);
+        throw new BatchUpdateException(e.getMessage(), e.getSQLState(), e.getErrorCode(), partialCounts, e);
+      } finally {
         closeStatement(stmt);
       }
-      currentSql = null;
-      statementList.clear();
-      batchResultList.clear();
     }
+    return updateCounts;
+  }
+
+  private void closeBatches() {
+    for (Statement stmt : statementList) {
+      closeStatement(stmt);
+    }
+    currentSql = null;
+    statementList.clear();
+    batchResultList.clear();
+    batchSizeList.clear();
+    multiRowInsertList.clear();
+    batchIndexes.clear();
+    executedBatchResults.clear();
   }
 
 }
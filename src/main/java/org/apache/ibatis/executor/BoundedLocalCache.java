@@ -0,0 +1,124 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.ibatis.cache.impl.PerpetualCache;
+
+/**
+ * A local cache that keeps a limited number of result lists and rows, the least recently used lists being evicted
+ * first.
+ * <p>
+ * The limits are only enforced by {@link #trim()}, which the executor calls once a top level query has completed: while
+ * a query runs, its nested queries and deferred loads read the lists cached for it.
+ */
+class BoundedLocalCache extends PerpetualCache {
+
+  private final Map<Object, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+  private final int maxEntries;
+  private final int maxRows;
+  private int rows;
+
+  /**
+   * Creates a local cache.
+   *
+   * @param id
+   *          the id of the cache
+   * @param maxEntries
+   *          the maximum number of result lists, or {@code 0} for no limit
+   * @param maxRows
+   *          the maximum number of rows of all result lists, or {@code 0} for no limit
+   */
+  BoundedLocalCache(String id, int maxEntries, int maxRows) {
+    super(id);
+    this.maxEntries = maxEntries;
+    this.maxRows = maxRows;
+  }
+
+  @Override
+  public int getSize() {
+    return cache.size();
+  }
+
+  int getRows() {
+    return rows;
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    Entry entry = new Entry(value);
+    rows += entry.rows;
+    Entry previous = cache.put(key, entry);
+    if (previous != null) {
+      rows -= previous.rows;
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    Entry entry = cache.get(key);
+    return entry == null ? null : entry.value;
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    Entry entry = cache.remove(key);
+    if (entry == null) {
+      return null;
+    }
+    rows -= entry.rows;
+    return entry.value;
+  }
+
+  @Override
+  public void clear() {
+    cache.clear();
+    rows = 0;
+  }
+
+  /**
+   * Evicts the least recently used result lists beyond the limits.
+   */
+  void trim() {
+    Iterator<Entry> iterator = cache.values().iterator();
+    while (isOverLimit() && iterator.hasNext()) {
+      rows -= iterator.next().rows;
+      iterator.remove();
+    }
+  }
+
+  private boolean isOverLimit() {
+    return maxEntries > 0 && cache.size() > maxEntries || maxRows > 0 && rows > maxRows;
+  }
+
+  private static final class Entry {
+
+    private final Object value;
+    // counted when cached, as the list returned to the caller may be modified
+    private final int rows;
+
+    Entry(Object value) {
+      this.value = value;
+      this.rows = value instanceof Collection ? ((Collection<?>) value).size() : 0;
+    }
+
+  }
+
+}
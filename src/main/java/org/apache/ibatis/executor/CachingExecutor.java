@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,18 +16,30 @@
 package org.apache.ibatis.executor;
 
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheInvalidation;
+import org.apache.ibatis.cache.CacheInvalidationBus;
 import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cache.CacheLoader;
+import org.apache.ibatis.cache.TableVersions;
 import org.apache.ibatis.cache.TransactionalCacheManager;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
 import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.property.PropertyCopier;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
@@ -39,7 +51,18 @@ import org.apache.ibatis.transaction.Transaction;
 public class CachingExecutor implements Executor {
 
   private final Executor delegate;
-  private final TransactionalCacheManager tcm = new TransactionalCacheManager();
+  // ids of the caches cleared by the last commit, published with the modified tables
+  private final Set<String> clearedCacheIds = new LinkedHashSet<>();
+  private final TransactionalCacheManager tcm = new TransactionalCacheManager(
+      cache -> clearedCacheIds.add(cache.getId()));
+  // true once this session has written, until the transaction ends
+  private boolean dirty;
+  // true while this session runs a query other sessions may be waiting for
+  private boolean coalescing;
+  // tables written by this session, whose versions are incremented when the transaction ends
+  private final Set<String> writtenTables = new HashSet<>();
+  // the configuration of the statements that invalidated the cache
+  private Configuration configuration;
 
   public CachingExecutor(Executor delegate) {
     this.delegate = delegate;
@@ -57,8 +80,10 @@ public class CachingExecutor implements Executor {
       // issues #499, #524 and #573
       if (forceRollback) {
         tcm.rollback();
+        writtenTables.clear();
       } else {
         tcm.commit();
+        applyInvalidations();
       }
     } finally {
       delegate.close(forceRollback);
@@ -72,7 +97,12 @@ public class CachingExecutor implements Executor {
 
   @Override
   public int update(MappedStatement ms, Object parameterObject) throws SQLException {
-    flushCacheIfRequired(ms);
+    dirty = true;
+    if (ms.getConfiguration().isTableCacheInvalidation()) {
+      invalidateWrittenTables(ms, parameterObject);
+    } else {
+      flushCacheIfRequired(ms);
+    }
     return delegate.update(ms, parameterObject);
   }
 
@@ -85,6 +115,11 @@ public class CachingExecutor implements Executor {
   @Override
   public <E> List<E> query(MappedStatement ms, Object parameterObject, RowBounds rowBounds, ResultHandler resultHandler)
       throws SQLException {
+    if (ms.getCache() == null || !ms.isUseCache() || resultHandler != null) {
+      // the second level cache is not consulted, the delegate creates a key only if its local cache needs one
+      flushCacheIfRequired(ms);
+      return delegate.query(ms, parameterObject, rowBounds, resultHandler);
+    }
     BoundSql boundSql = ms.getBoundSql(parameterObject);
     CacheKey key = createCacheKey(ms, parameterObject, rowBounds, boundSql);
     return query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
@@ -98,11 +133,28 @@ public class CachingExecutor implements Executor {
       flushCacheIfRequired(ms);
       if (ms.isUseCache() && resultHandler == null) {
         ensureNoOutParams(ms, boundSql);
+        CacheKey cacheKey = key;
+        if (ms.getConfiguration().isTableCacheInvalidation()) {
+          TableVersions tableVersions = ms.getConfiguration().getTableVersions();
+          Set<String> tables = tableVersions.getReadTables(ms, boundSql);
+          if (isWrittenInTransaction(tables)) {
+            // the cache holds the committed state of the tables, not the one this session sees
+            return delegate.query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
+          }
+          cacheKey = tableVersions.versionedKey(key, tables);
+        }
         @SuppressWarnings("unchecked")
-        List<E> list = (List<E>) tcm.getObject(cache, key);
+        List<E> list = (List<E>) tcm.getObject(cache, cacheKey);
         if (list == null) {
-          list = delegate.query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
-          tcm.putObject(cache, key, list); // issue #578 and #116
+          if (isCoalescingAllowed(ms)) {
+            list = queryCoalesced(cache, cacheKey, ms, parameterObject, rowBounds, key, boundSql);
+          } else {
+            list = delegate.query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
+          }
+          // issue #578 and #116
+          CacheLoader loader = ms.getConfiguration().isRefreshAheadCache(cache.getId())
+              ? newCacheLoader(ms, parameterObject, rowBounds, key, boundSql) : null;
+          tcm.putObject(cache, cacheKey, list, loader);
         }
         return list;
       }
@@ -119,6 +171,8 @@ public class CachingExecutor implements Executor {
   public void commit(boolean required) throws SQLException {
     delegate.commit(required);
     tcm.commit();
+    applyInvalidations();
+    dirty = false;
   }
 
   @Override
@@ -128,8 +182,81 @@ public class CachingExecutor implements Executor {
     } finally {
       if (required) {
         tcm.rollback();
+        writtenTables.clear();
+        dirty = false;
+      }
+    }
+  }
+
+  private boolean isCoalescingAllowed(MappedStatement ms) {
+    // A session that has written may read data other sessions must not see. Queries nested in a shared query are not
+    // shared, so that a session running a query never waits for another one. The sessions sharing a query share its
+    // result objects, which only a read-only cache allows.
+    Configuration configuration = ms.getConfiguration();
+    return configuration.isCoalesceQueries() && !dirty && !coalescing
+        && configuration.isReadOnlyCache(ms.getCache().getId());
+  }
+
+  private <E> List<E> queryCoalesced(Cache cache, CacheKey cacheKey, MappedStatement ms, Object parameterObject,
+      RowBounds rowBounds, CacheKey key, BoundSql boundSql) throws SQLException {
+    return ms.getConfiguration().getQueryCoalescer().query(cache, cacheKey, () -> {
+      coalescing = true;
+      try {
+        return delegate.query(ms, parameterObject, rowBounds, null, key, boundSql);
+      } finally {
+        coalescing = false;
+      }
+    });
+  }
+
+  /**
+   * Creates the loader re-executing a cached query in a transaction of its own, with a copy of its parameter taken now.
+   * The query is not reloaded if the copy no longer produces the same SQL and cache key, as when an object it refers to
+   * was changed since, or when a plugin rewrote the query.
+   */
+  private static CacheLoader newCacheLoader(MappedStatement ms, Object parameter, RowBounds rowBounds, CacheKey key,
+      BoundSql boundSql) {
+    Object parameterObject;
+    try {
+      parameterObject = copyParameter(ms.getConfiguration(), parameter);
+    } catch (RuntimeException e) {
+      // the entry is not reloaded, and only expires
+      return null;
+    }
+    String sql = boundSql.getSql();
+    return () -> {
+      Configuration configuration = ms.getConfiguration();
+      Environment environment = configuration.getEnvironment();
+      Transaction transaction = environment.getTransactionFactory().newTransaction(environment.getDataSource(), null,
+          false);
+      Executor executor = new SimpleExecutor(configuration, transaction);
+      try {
+        BoundSql currentBoundSql = ms.getBoundSql(parameterObject);
+        CacheKey currentKey = executor.createCacheKey(ms, parameterObject, rowBounds, currentBoundSql);
+        if (!sql.equals(currentBoundSql.getSql()) || !key.equals(currentKey)) {
+          return null;
+        }
+        return executor.query(ms, parameterObject, rowBounds, Executor.NO_RESULT_HANDLER, currentKey, currentBoundSql);
+      } finally {
+        executor.close(false);
       }
+    };
+  }
+
+  private static Object copyParameter(Configuration configuration, Object parameterObject) {
+    if (parameterObject == null || configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+      return parameterObject;
     }
+    // a shallow copy, as the properties that are objects are usually not changed in place
+    Object copy = configuration.getObjectFactory().create(parameterObject.getClass());
+    if (parameterObject instanceof Map) {
+      @SuppressWarnings("unchecked")
+      Map<Object, Object> map = (Map<Object, Object>) copy;
+      map.putAll((Map<?, ?>) parameterObject);
+    } else {
+      PropertyCopier.copyBeanProperties(parameterObject.getClass(), parameterObject, copy);
+    }
+    return copy;
   }
 
   private void ensureNoOutParams(MappedStatement ms, BoundSql boundSql) {
@@ -168,10 +295,59 @@ public class CachingExecutor implements Executor {
   private void flushCacheIfRequired(MappedStatement ms) {
     Cache cache = ms.getCache();
     if (cache != null && ms.isFlushCacheRequired()) {
+      configuration = ms.getConfiguration();
       tcm.clear(cache);
     }
   }
 
+  private void invalidateWrittenTables(MappedStatement ms, Object parameterObject) {
+    if (!ms.isFlushCacheRequired()) {
+      return;
+    }
+    configuration = ms.getConfiguration();
+    Set<String> tables = configuration.getTableVersions().getWrittenTables(ms, parameterObject);
+    if (tables == null) {
+      // the modified tables are unknown, so fall back to clearing the cache of the namespace
+      flushCacheIfRequired(ms);
+      tables = Collections.singleton(TableVersions.ANY_TABLE);
+    }
+    writtenTables.addAll(tables);
+  }
+
+  private boolean isWrittenInTransaction(Set<String> tables) {
+    if (writtenTables.isEmpty()) {
+      return false;
+    }
+    if (tables.contains(TableVersions.ANY_TABLE) || writtenTables.contains(TableVersions.ANY_TABLE)) {
+      return true;
+    }
+    for (String table : tables) {
+      if (writtenTables.contains(table)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void applyInvalidations() {
+    if (clearedCacheIds.isEmpty() && writtenTables.isEmpty()) {
+      return;
+    }
+    try {
+      if (!writtenTables.isEmpty()) {
+        configuration.getTableVersions().increment(writtenTables);
+      }
+      CacheInvalidationBus bus = configuration.getCacheInvalidationBus();
+      if (bus != null) {
+        // one batch per commit, whatever the number of statements
+        bus.publish(new CacheInvalidation(clearedCacheIds, writtenTables));
+      }
+    } finally {
+      clearedCacheIds.clear();
+      writtenTables.clear();
+    }
+  }
+
   @Override
   public void setExecutorWrapper(Executor executor) {
     throw new UnsupportedOperationException("This method should not be called");
@@ -0,0 +1,195 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeException;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * The rows of a batched {@code INSERT ... VALUES (...)} statement, executed as multi-row
+ * {@code INSERT ... VALUES (...), (...)} statements.
+ * <p>
+ * Only an insert whose placeholders all are in a single values list ending the statement can be rewritten, e.g. not
+ * {@code INSERT ... SELECT} or an insert followed by an {@code ON CONFLICT} clause.
+ */
+final class MultiRowInsert {
+
+  private final String insert;
+  private final String values;
+  private final int parameterCount;
+  private final List<List<ParameterMapping>> rowMappings = new ArrayList<>();
+  private final List<Object[]> rowValues = new ArrayList<>();
+
+  private MultiRowInsert(String insert, String values, int parameterCount) {
+    this.insert = insert;
+    this.values = values;
+    this.parameterCount = parameterCount;
+  }
+
+  /**
+   * Parses an insert statement.
+   *
+   * @param sql
+   *          the SQL of the statement
+   * @param parameterCount
+   *          the number of parameters of the statement
+   *
+   * @return the rows of the statement, or {@code null} if the statement cannot be rewritten
+   */
+  static MultiRowInsert parse(String sql, int parameterCount) {
+    final int length = sql.length();
+    int valuesEnd = -1;
+    int i = 0;
+    while (i < length && valuesEnd < 0) {
+      final char c = sql.charAt(i);
+      if (c == '\'' || c == '"') {
+        i = skipQuoted(sql, i);
+      } else if (c == '?') {
+        // a placeholder before the values list
+        return null;
+      } else if (isKeyword(sql, i, "VALUES")) {
+        valuesEnd = i + "VALUES".length();
+      } else {
+        i++;
+      }
+    }
+    if (valuesEnd < 0) {
+      return null;
+    }
+    int start = valuesEnd;
+    while (start < length && Character.isWhitespace(sql.charAt(start))) {
+      start++;
+    }
+    if (start == length || sql.charAt(start) != '(') {
+      return null;
+    }
+    int depth = 0;
+    int placeholders = 0;
+    int end = -1;
+    i = start;
+    while (i < length && end < 0) {
+      final char c = sql.charAt(i);
+      if (c == '\'' || c == '"') {
+        i = skipQuoted(sql, i);
+        continue;
+      }
+      if (c == '(') {
+        depth++;
+      } else if (c == ')' && --depth == 0) {
+        end = i + 1;
+      } else if (c == '?') {
+        placeholders++;
+      }
+      i++;
+    }
+    if (end < 0 || placeholders != parameterCount || !sql.substring(end).trim().isEmpty()) {
+      return null;
+    }
+    return new MultiRowInsert(sql.substring(0, valuesEnd), sql.substring(start, end), parameterCount);
+  }
+
+  private static int skipQuoted(String sql, int start) {
+    final char quote = sql.charAt(start);
+    final int end = sql.indexOf(quote, start + 1);
+    return end < 0 ? sql.length() : end + 1;
+  }
+
+  private static boolean isKeyword(String sql, int index, String keyword) {
+    final int end = index + keyword.length();
+    return sql.regionMatches(true, index, keyword, 0, keyword.length())
+        && (index == 0 || !Character.isJavaIdentifierPart(sql.charAt(index - 1)))
+        && (end == sql.length() || !Character.isJavaIdentifierPart(sql.charAt(end)));
+  }
+
+  void addRow(List<ParameterMapping> parameterMappings, Object[] parameterValues) {
+    rowMappings.add(parameterMappings);
+    rowValues.add(parameterValues);
+  }
+
+  int getRowCount() {
+    return rowValues.size();
+  }
+
+  void clear() {
+    rowMappings.clear();
+    rowValues.clear();
+  }
+
+  /**
+   * Returns the number of rows of a statement that does not exceed the given number of parameters.
+   *
+   * @param maxParameters
+   *          the maximum number of parameters of a statement
+   *
+   * @return the number of rows, at least one
+   */
+  int getRowsPerStatement(int maxParameters) {
+    return parameterCount == 0 ? Math.max(1, maxParameters) : Math.max(1, maxParameters / parameterCount);
+  }
+
+  String getSql(int rows) {
+    final StringBuilder sql = new StringBuilder(insert.length() + rows * (values.length() + 2));
+    sql.append(insert).append(' ').append(values);
+    for (int i = 1; i < rows; i++) {
+      sql.append(", ").append(values);
+    }
+    return sql.toString();
+  }
+
+  /**
+   * Sets the parameters of a multi-row statement, as DefaultParameterHandler does for each row.
+   *
+   * @param ps
+   *          the statement returned for {@link #getSql(int)}
+   * @param fromRow
+   *          the index of the first row
+   * @param rows
+   *          the number of rows
+   * @param configuration
+   *          the configuration
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  void setParameters(PreparedStatement ps, int fromRow, int rows, Configuration configuration) {
+    int index = 1;
+    for (int row = fromRow; row < fromRow + rows; row++) {
+      final List<ParameterMapping> parameterMappings = rowMappings.get(row);
+      final Object[] parameterValues = rowValues.get(row);
+      for (int i = 0; i < parameterValues.length; i++) {
+        final ParameterMapping parameterMapping = parameterMappings.get(i);
+        final Object value = parameterValues[i];
+        final TypeHandler typeHandler = parameterMapping.getTypeHandler();
+        JdbcType jdbcType = parameterMapping.getJdbcType();
+        if (value == null && jdbcType == null) {
+          jdbcType = configuration.getJdbcTypeForNull();
+        }
+        try {
+          typeHandler.setParameter(ps, index++, value, jdbcType);
+        } catch (TypeException | SQLException e) {
+          throw new TypeException("Could not set parameters for mapping: " + parameterMapping + ". Cause: " + e, e);
+        }
+      }
+    }
+  }
+
+}
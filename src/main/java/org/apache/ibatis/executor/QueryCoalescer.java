@@ -0,0 +1,142 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheKey;
+
+/**
+ * Lets concurrent sessions that miss the second level cache with the same key share a single database query.
+ * <p>
+ * The first session to miss runs the query while the others wait for it. Each waiting session receives its own copy of
+ * the resulting list, but the elements are shared, so queries are only coalesced for read-only caches. If the query
+ * fails, every waiting session fails with the same exception.
+ *
+ * @since 3.5.17
+ */
+public class QueryCoalescer {
+
+  private final ConcurrentHashMap<FlightKey, CompletableFuture<List<?>>> flights = new ConcurrentHashMap<>();
+
+  /**
+   * Runs the query, or waits for the identical query another thread is already running.
+   *
+   * @param <E>
+   *          the element type
+   * @param cache
+   *          the cache the query result will be put in
+   * @param key
+   *          the cache key of the query
+   * @param query
+   *          the query to run if no identical query is in flight
+   *
+   * @return the query result
+   *
+   * @throws SQLException
+   *           if the query fails, in this thread or in the thread that ran it
+   */
+  @SuppressWarnings("unchecked")
+  public <E> List<E> query(Cache cache, CacheKey key, Query<E> query) throws SQLException {
+    FlightKey flightKey = new FlightKey(cache, key);
+    CompletableFuture<List<?>> flight = new CompletableFuture<>();
+    CompletableFuture<List<?>> inFlight = flights.putIfAbsent(flightKey, flight);
+    if (inFlight != null) {
+      return new ArrayList<>((List<E>) await(inFlight));
+    }
+    try {
+      List<E> list = query.execute();
+      flight.complete(list);
+      return list;
+    } catch (SQLException | RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      flights.remove(flightKey, flight);
+    }
+  }
+
+  int getInFlightCount() {
+    return flights.size();
+  }
+
+  private List<?> await(CompletableFuture<List<?>> flight) throws SQLException {
+    try {
+      return flight.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ExecutorException("Interrupted while waiting for an identical query to complete.", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof SQLException) {
+        throw (SQLException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new ExecutorException("Error waiting for an identical query to complete. Cause: " + cause, cause);
+    }
+  }
+
+  /**
+   * A query that can be shared.
+   *
+   * @param <E>
+   *          the element type
+   */
+  @FunctionalInterface
+  public interface Query<E> {
+    List<E> execute() throws SQLException;
+  }
+
+  private static final class FlightKey {
+
+    private final Cache cache;
+    private final CacheKey key;
+
+    FlightKey(Cache cache, CacheKey key) {
+      this.cache = cache;
+      this.key = key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof FlightKey)) {
+        return false;
+      }
+      FlightKey other = (FlightKey) o;
+      return cache == other.cache && key.equals(other.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(cache) + key.hashCode();
+    }
+  }
+
+}
@@ -19,9 +19,9 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.statement.StatementHandler;
@@ -34,14 +34,38 @@ import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
 
 /**
+ * An executor that keeps the statements it prepares open, to execute them again for the same SQL.
+ * <p>
+ * The statements are closed when the statements are flushed, or kept open for the next sessions on the same physical
+ * connection when they are reused across sessions. In both cases, the least recently used statements of a connection
+ * are closed beyond the reuse statement cache size.
+ *
  * @author Clinton Begin
+ *
+ * @see Configuration#getReuseStatementCacheSize()
+ * @see Configuration#isReuseStatementsAcrossSessions()
  */
 public class ReuseExecutor extends BaseExecutor {
 
-  private final Map<String, Statement> statementMap = new HashMap<>();
+  private final boolean reuseAcrossSessions;
+  private final StatementCache statementCache;
+  private final Set<Statement> statementsInUse = Collections.newSetFromMap(new IdentityHashMap<>());
 
   public ReuseExecutor(Configuration configuration, Transaction transaction) {
     super(configuration, transaction);
+    this.reuseAcrossSessions = configuration.isReuseStatementsAcrossSessions();
+    this.statementCache = reuseAcrossSessions ? configuration.getStatementCache() : new StatementCache();
+  }
+
+  /**
+   * Returns the statements this executor keeps open, shared with the other sessions when reused across sessions.
+   *
+   * @return the statement cache
+   *
+   * @since 3.5.17
+   */
+  public StatementCache getStatementCache() {
+    return statementCache;
   }
 
   @Override
@@ -49,7 +73,14 @@ public class ReuseExecutor extends BaseExecutor {
     Configuration configuration = ms.getConfiguration();
     StatementHandler handler = configuration.newStatementHandler(this, ms, parameter, RowBounds.DEFAULT, null, null);
     Statement stmt = prepareStatement(handler, ms.getStatementLog());
-    return handler.update(stmt);
+    boolean pinned = statementsInUse.add(stmt);
+    try {
+      return handler.update(stmt);
+    } finally {
+      if (pinned) {
+        statementsInUse.remove(stmt);
+      }
+    }
   }
 
   @Override
@@ -59,7 +90,15 @@ public class ReuseExecutor extends BaseExecutor {
     StatementHandler handler = configuration.newStatementHandler(wrapper, ms, parameter, rowBounds, resultHandler,
         boundSql);
     Statement stmt = prepareStatement(handler, ms.getStatementLog());
-    return handler.query(stmt, resultHandler);
+    // nested queries must not close the statement whose results are being mapped
+    boolean pinned = statementsInUse.add(stmt);
+    try {
+      return handler.query(stmt, resultHandler);
+    } finally {
+      if (pinned) {
+        statementsInUse.remove(stmt);
+      }
+    }
   }
 
   @Override
@@ -68,49 +107,46 @@ public class ReuseExecutor extends BaseExecutor {
     Configuration configuration = ms.getConfiguration();
     StatementHandler handler = configuration.newStatementHandler(wrapper, ms, parameter, rowBounds, null, boundSql);
     Statement stmt = prepareStatement(handler, ms.getStatementLog());
+    // the cursor may be read until the statements are flushed
+    statementsInUse.add(stmt);
     return handler.queryCursor(stmt);
   }
 
   @Override
   public List<BatchResult> doFlushStatements(boolean isRollback) {
-    for (Statement stmt : statementMap.values()) {
-      closeStatement(stmt);
+    if (!reuseAcrossSessions) {
+      statementCache.clear();
     }
-    statementMap.clear();
+    statementsInUse.clear();
     return Collections.emptyList();
   }
 
   private Statement prepareStatement(StatementHandler handler, Log statementLog) throws SQLException {
-    Statement stmt;
     BoundSql boundSql = handler.getBoundSql();
     String sql = boundSql.getSql();
-    if (hasStatementFor(sql)) {
-      stmt = getStatement(sql);
+    Connection cacheKey = getCacheKey(transaction.getConnection());
+    Statement stmt = statementCache.get(cacheKey, sql);
+    if (stmt != null) {
       applyTransactionTimeout(stmt);
     } else {
       Connection connection = getConnection(statementLog);
       stmt = handler.prepare(connection, transaction.getTimeout());
-      putStatement(sql, stmt);
+      statementCache.put(cacheKey, sql, stmt, configuration.getReuseStatementCacheSize(), statementsInUse::contains);
     }
     handler.parameterize(stmt);
     return stmt;
   }
 
-  private boolean hasStatementFor(String sql) {
+  private Connection getCacheKey(Connection connection) {
+    if (!reuseAcrossSessions) {
+      return connection;
+    }
+    // a pooled connection is handed out by a new proxy each time, the statements belong to the physical one
     try {
-      Statement statement = statementMap.get(sql);
-      return statement != null && !statement.getConnection().isClosed();
+      return connection.unwrap(Connection.class);
     } catch (SQLException e) {
-      return false;
+      return connection;
     }
   }
 
-  private Statement getStatement(String s) {
-    return statementMap.get(s);
-  }
-
-  private void putStatement(String sql, Statement stmt) {
-    statementMap.put(sql, stmt);
-  }
-
 }
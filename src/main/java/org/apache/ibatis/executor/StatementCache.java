@@ -0,0 +1,176 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * The statements prepared by {@link ReuseExecutor}, by connection and SQL, with the least recently used ones closed
+ * when a connection has too many.
+ * <p>
+ * Each session has its own cache unless statements are reused across sessions, in which case the cache of the
+ * configuration is shared by the sessions and keyed by the physical connection, so that the statements of a pooled
+ * connection survive the session that prepared them.
+ *
+ * @since 3.5.17
+ */
+public class StatementCache {
+
+  private final Map<Connection, LinkedHashMap<String, Statement>> statements = new HashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Returns the open statement prepared for the SQL on the connection.
+   *
+   * @param connection
+   *          the connection
+   * @param sql
+   *          the SQL
+   *
+   * @return the statement, or {@code null} if there is none
+   */
+  public synchronized Statement get(Connection connection, String sql) {
+    Map<String, Statement> connectionStatements = statements.get(connection);
+    Statement statement = connectionStatements == null ? null : connectionStatements.get(sql);
+    if (statement != null && isClosed(statement)) {
+      connectionStatements.remove(sql);
+      statement = null;
+    }
+    (statement == null ? misses : hits).increment();
+    return statement;
+  }
+
+  /**
+   * Adds a statement, closing the least recently used statements of the connection beyond the maximum size.
+   *
+   * @param connection
+   *          the connection
+   * @param sql
+   *          the SQL
+   * @param statement
+   *          the statement prepared for the SQL on the connection
+   * @param maxSize
+   *          the maximum number of statements of the connection, or {@code 0} for no limit
+   * @param inUse
+   *          tells whether a statement is in use, such a statement is not closed even if it is beyond the maximum size
+   */
+  public synchronized void put(Connection connection, String sql, Statement statement, int maxSize,
+      Predicate<Statement> inUse) {
+    if (!statements.containsKey(connection)) {
+      removeClosedConnections();
+    }
+    Map<String, Statement> connectionStatements = statements.computeIfAbsent(connection,
+        k -> new LinkedHashMap<>(16, 0.75f, true));
+    Statement previous = connectionStatements.put(sql, statement);
+    if (previous != null && previous != statement) {
+      close(previous);
+    }
+    if (maxSize > 0) {
+      Iterator<Statement> iterator = connectionStatements.values().iterator();
+      while (connectionStatements.size() > maxSize && iterator.hasNext()) {
+        Statement eldest = iterator.next();
+        if (eldest != statement && !inUse.test(eldest)) {
+          iterator.remove();
+          close(eldest);
+          evictions.increment();
+        }
+      }
+    }
+  }
+
+  /**
+   * Closes and removes the statements of a connection.
+   *
+   * @param connection
+   *          the connection
+   */
+  public synchronized void clear(Connection connection) {
+    Map<String, Statement> connectionStatements = statements.remove(connection);
+    if (connectionStatements != null) {
+      connectionStatements.values().forEach(StatementCache::close);
+    }
+  }
+
+  /**
+   * Closes and removes all statements.
+   */
+  public synchronized void clear() {
+    statements.values().forEach(connectionStatements -> connectionStatements.values().forEach(StatementCache::close));
+    statements.clear();
+  }
+
+  public synchronized int getSize() {
+    return statements.values().stream().mapToInt(Map::size).sum();
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  private void removeClosedConnections() {
+    Iterator<Map.Entry<Connection, LinkedHashMap<String, Statement>>> iterator = statements.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Connection, LinkedHashMap<String, Statement>> entry = iterator.next();
+      if (isClosed(entry.getKey())) {
+        iterator.remove();
+        entry.getValue().values().forEach(StatementCache::close);
+      }
+    }
+  }
+
+  private static boolean isClosed(Statement statement) {
+    try {
+      return statement.isClosed() || statement.getConnection().isClosed();
+    } catch (SQLException e) {
+      return true;
+    }
+  }
+
+  private static boolean isClosed(Connection connection) {
+    try {
+      return connection.isClosed();
+    } catch (SQLException e) {
+      return true;
+    }
+  }
+
+  private static void close(Statement statement) {
+    try {
+      statement.close();
+    } catch (SQLException e) {
+      // ignore
+    }
+  }
+
+}
@@ -0,0 +1,142 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.loader;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * A result loader of a nested select that loads the results of its sibling loaders at the same time, with a batch
+ * select receiving the list of their parameters.
+ *
+ * @since 3.5.17
+ */
+public class BatchResultLoader extends ResultLoader {
+
+  private final Batch batch;
+
+  public BatchResultLoader(Configuration config, Executor executor, MappedStatement mappedStatement,
+      Object parameterObject, Class<?> targetType, CacheKey cacheKey, BoundSql boundSql, Batch batch) {
+    super(config, executor, mappedStatement, parameterObject, targetType, cacheKey, boundSql);
+    this.batch = batch;
+    batch.add(parameterObject);
+  }
+
+  @Override
+  public Object loadResult() throws SQLException {
+    List<Object> list = batch.load(parameterObject);
+    resultObject = resultExtractor.extractObjectFromList(list, targetType);
+    return resultObject;
+  }
+
+  /**
+   * The loaders sharing a batch select.
+   * <p>
+   * The batch select receives the parameters of the loaders as a {@code list}, and its results are matched to each
+   * parameter by the value of a property, which must be equal to the parameter.
+   */
+  public static class Batch {
+
+    private final Configuration configuration;
+    private final Executor executor;
+    private final MappedStatement batchStatement;
+    private final String keyProperty;
+    private final int batchSize;
+    private final Set<Object> pendingParameters = new LinkedHashSet<>();
+    private final Map<Object, List<Object>> results = new HashMap<>();
+
+    /**
+     * Creates a batch.
+     *
+     * @param configuration
+     *          the configuration
+     * @param executor
+     *          the executor of the loaders
+     * @param batchStatement
+     *          the batch select
+     * @param keyProperty
+     *          the property of the results holding the parameter they were loaded for
+     * @param batchSize
+     *          the maximum number of parameters of a batch select, or {@code 0} for no limit
+     */
+    public Batch(Configuration configuration, Executor executor, MappedStatement batchStatement, String keyProperty,
+        int batchSize) {
+      this.configuration = configuration;
+      this.executor = executor;
+      this.batchStatement = batchStatement;
+      this.keyProperty = keyProperty;
+      this.batchSize = batchSize;
+    }
+
+    synchronized void add(Object parameterObject) {
+      if (!results.containsKey(parameterObject)) {
+        pendingParameters.add(parameterObject);
+      }
+    }
+
+    synchronized List<Object> load(Object parameterObject) throws SQLException {
+      List<Object> list = results.get(parameterObject);
+      if (list == null) {
+        pendingParameters.remove(parameterObject);
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(parameterObject);
+        Iterator<Object> iterator = pendingParameters.iterator();
+        while ((batchSize <= 0 || parameters.size() < batchSize) && iterator.hasNext()) {
+          parameters.add(iterator.next());
+          iterator.remove();
+        }
+        final Map<Object, List<Object>> loaded = new HashMap<>();
+        for (Object parameter : parameters) {
+          loaded.put(parameter, new ArrayList<>());
+        }
+        for (Object row : selectList(parameters)) {
+          List<Object> rows = loaded.get(configuration.newMetaObject(row).getValue(keyProperty));
+          if (rows != null) {
+            rows.add(row);
+          }
+        }
+        results.putAll(loaded);
+        list = loaded.get(parameterObject);
+      }
+      return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> selectList(List<Object> parameters) throws SQLException {
+      Object parameterObject = ParamNameResolver.wrapToMapIfCollection(parameters, null);
+      BoundSql boundSql = batchStatement.getBoundSql(parameterObject);
+      // the executor of the loaders may be closed by now, so the cache key is created by the one running the query
+      ResultLoader resultLoader = new ResultLoader(configuration, executor, batchStatement, parameterObject, List.class,
+          null, boundSql);
+      return (List<Object>) resultLoader.loadResult();
+    }
+
+  }
+
+}
@@ -79,8 +79,11 @@ public class ResultLoader {
       localExecutor = newExecutor();
     }
     try {
-      return localExecutor.query(mappedStatement, parameterObject, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER,
-          cacheKey, boundSql);
+      // a loader created with a bound sql but without a cache key gets it from the executor that runs the query
+      final CacheKey key = cacheKey != null || boundSql == null ? cacheKey
+          : localExecutor.createCacheKey(mappedStatement, parameterObject, RowBounds.DEFAULT, boundSql);
+      return localExecutor.query(mappedStatement, parameterObject, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, key,
+          boundSql);
     } finally {
       if (localExecutor != executor) {
         localExecutor.close(false);
@@ -0,0 +1,58 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * Copies the columns of the current row to the properties of a result object by calling the setters directly.
+ * <p>
+ * Subclasses are generated at runtime by {@link RowMapperCompiler}, one for each result map and column layout. The
+ * column at index {@code i} is read with the type handler at index {@code i}.
+ *
+ * @since 3.5.17
+ */
+public abstract class CompiledRowMapper {
+
+  protected final TypeHandler<?>[] typeHandlers;
+  protected final String[] columns;
+
+  protected CompiledRowMapper(TypeHandler<?>[] typeHandlers, String[] columns) {
+    this.typeHandlers = typeHandlers;
+    this.columns = columns;
+  }
+
+  /**
+   * Copies the columns of the current row to the result object.
+   *
+   * @param rs
+   *          the result set positioned on the row
+   * @param rowValue
+   *          the result object
+   * @param callSettersOnNulls
+   *          whether setters of non primitive properties are called for null values
+   *
+   * @return true if any column had a value
+   *
+   * @throws SQLException
+   *           if a column cannot be read
+   */
+  public abstract boolean map(ResultSet rs, Object rowValue, boolean callSettersOnNulls) throws SQLException;
+
+}
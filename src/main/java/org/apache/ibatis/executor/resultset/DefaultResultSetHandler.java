@@ -22,15 +22,20 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.apache.ibatis.annotations.AutomapConstructor;
 import org.apache.ibatis.annotations.Param;
@@ -38,9 +43,11 @@ import org.apache.ibatis.binding.MapperMethod.ParamMap;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.cursor.defaults.DefaultCursor;
+import org.apache.ibatis.cursor.defaults.PrefetchingCursor;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.loader.BatchResultLoader;
 import org.apache.ibatis.executor.loader.ResultLoader;
 import org.apache.ibatis.executor.loader.ResultLoaderMap;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
@@ -77,6 +84,7 @@ import org.apache.ibatis.util.MapUtil;
 public class DefaultResultSetHandler implements ResultSetHandler {
 
   private static final Object DEFERRED = new Object();
+  private static final int DEFAULT_PREFETCH_SIZE = 1000;
 
   private final Executor executor;
   private final Configuration configuration;
@@ -101,6 +109,11 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   // Cached Automappings
   private final Map<String, List<UnMappedColumnAutoMapping>> autoMappingsCache = new HashMap<>();
   private final Map<String, List<String>> constructorAutoMappingColumns = new HashMap<>();
+  private final Map<String, CompiledRowMapper> compiledRowMappers = new HashMap<>();
+
+  // batch nested queries
+  private final Map<ResultMapping, BatchResultLoader.Batch> resultLoaderBatches = new IdentityHashMap<>();
+  private List<PendingBatchLoad> pendingBatchLoads;
 
   // temporary marking flag that indicate using constructor mapping (use field to reduce memory usage)
   private boolean useConstructorMappings;
@@ -110,6 +123,18 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     public ResultMapping propertyMapping;
   }
 
+  private static class PendingBatchLoad {
+    private final MetaObject metaObject;
+    private final String property;
+    private final ResultLoader resultLoader;
+
+    PendingBatchLoad(MetaObject metaObject, String property, ResultLoader resultLoader) {
+      this.metaObject = metaObject;
+      this.property = property;
+      this.resultLoader = resultLoader;
+    }
+  }
+
   private static class UnMappedColumnAutoMapping {
     private final String column;
     private final String property;
@@ -190,6 +215,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     ErrorContext.instance().activity("handling results").object(mappedStatement.getId());
 
     final List<Object> multipleResults = new ArrayList<>();
+    // the eager batch nested queries are loaded once all rows are mapped, unless the rows are handed to a result
+    // handler
+    pendingBatchLoads = resultHandler == null ? new ArrayList<>() : null;
 
     int resultSetCount = 0;
     ResultSetWrapper rsw = getFirstResultSet(stmt);
@@ -220,9 +248,24 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       }
     }
 
+    if (pendingBatchLoads != null) {
+      loadPendingBatchLoads();
+    }
     return collapseSingleResultList(multipleResults);
   }
 
+  private void loadPendingBatchLoads() throws SQLException {
+    final List<PendingBatchLoad> loads = pendingBatchLoads;
+    pendingBatchLoads = null;
+    for (PendingBatchLoad load : loads) {
+      final Object value = load.resultLoader.loadResult();
+      if (value != null
+          || configuration.isCallSettersOnNulls() && !load.metaObject.getSetterType(load.property).isPrimitive()) {
+        load.metaObject.setValue(load.property, value);
+      }
+    }
+  }
+
   @Override
   public <E> Cursor<E> handleCursorResultSets(Statement stmt) throws SQLException {
     ErrorContext.instance().activity("handling cursor results").object(mappedStatement.getId());
@@ -238,7 +281,13 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
 
     ResultMap resultMap = resultMaps.get(0);
-    return new DefaultCursor<>(this, resultMap, rsw, rowBounds);
+    Cursor<E> cursor = new DefaultCursor<>(this, resultMap, rsw, rowBounds);
+    if (configuration.isPrefetchCursors()) {
+      // buffer as many rows as the driver fetches per round trip
+      int fetchSize = stmt.getFetchSize();
+      cursor = new PrefetchingCursor<>(cursor, fetchSize > 0 ? fetchSize : DEFAULT_PREFETCH_SIZE);
+    }
+    return cursor;
   }
 
   private ResultSetWrapper getFirstResultSet(Statement stmt) throws SQLException {
@@ -307,10 +356,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         handleRowValues(rsw, resultMap, null, RowBounds.DEFAULT, parentMapping);
       } else if (resultHandler == null) {
         DefaultResultHandler defaultResultHandler = new DefaultResultHandler(objectFactory);
-        handleRowValues(rsw, resultMap, defaultResultHandler, rowBounds, null);
+        handleRowValuesOfResultSet(rsw, resultMap, defaultResultHandler);
         multipleResults.add(defaultResultHandler.getResultList());
       } else {
-        handleRowValues(rsw, resultMap, resultHandler, rowBounds, null);
+        handleRowValuesOfResultSet(rsw, resultMap, resultHandler);
       }
     } finally {
       // issue #228 (close resultsets)
@@ -318,6 +367,16 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
   }
 
+  private void handleRowValuesOfResultSet(ResultSetWrapper rsw, ResultMap resultMap, ResultHandler<?> resultHandler)
+      throws SQLException {
+    final ParallelRowMapper rowMapper = getParallelRowMapper(rsw, resultMap);
+    if (rowMapper != null) {
+      handleRowValuesInParallel(rsw, rowMapper, resultHandler, rowBounds);
+    } else {
+      handleRowValues(rsw, resultMap, resultHandler, rowBounds, null);
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private List<Object> collapseSingleResultList(List<Object> multipleResults) {
     return multipleResults.size() == 1 ? (List<Object>) multipleResults.get(0) : multipleResults;
@@ -402,6 +461,119 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
   }
 
+  //
+  // HANDLE ROWS FOR SIMPLE RESULTMAP IN PARALLEL
+  //
+
+  private ParallelRowMapper getParallelRowMapper(ResultSetWrapper rsw, ResultMap resultMap) throws SQLException {
+    if (!configuration.isParallelResultMapping() || !isParallelMappable(rsw, resultMap)) {
+      return null;
+    }
+    final List<String> columns = new ArrayList<>();
+    final List<String> properties = new ArrayList<>();
+    final List<TypeHandler<?>> typeHandlers = new ArrayList<>();
+    final List<Boolean> primitives = new ArrayList<>();
+    // same order as applyAutomaticMappings() and applyPropertyMappings()
+    final MetaObject metaObject = configuration.newMetaObject(objectFactory.create(resultMap.getType()));
+    if (shouldApplyAutomaticMappings(resultMap, false)) {
+      for (UnMappedColumnAutoMapping mapping : createAutomaticMappings(rsw, resultMap, metaObject, null)) {
+        columns.add(mapping.column);
+        properties.add(mapping.property);
+        typeHandlers.add(mapping.typeHandler);
+        primitives.add(mapping.primitive);
+      }
+    }
+    final Set<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, null);
+    for (ResultMapping propertyMapping : resultMap.getPropertyResultMappings()) {
+      final String column = propertyMapping.getColumn();
+      final String property = propertyMapping.getProperty();
+      if (column != null && property != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
+        columns.add(column);
+        properties.add(property);
+        typeHandlers.add(propertyMapping.getTypeHandler());
+        primitives.add(configuration.isCallSettersOnNulls() && metaObject.getSetterType(property).isPrimitive());
+      }
+    }
+    return new ParallelRowMapper(configuration, resultMap.getType(), columns, properties, typeHandlers, primitives);
+  }
+
+  private boolean isParallelMappable(ResultSetWrapper rsw, ResultMap resultMap) {
+    if (resultMap.hasNestedResultMaps() || resultMap.hasNestedQueries() || resultMap.getDiscriminator() != null
+        || !resultMap.getConstructorResultMappings().isEmpty()) {
+      return false;
+    }
+    for (ResultMapping propertyMapping : resultMap.getPropertyResultMappings()) {
+      if (propertyMapping.isCompositeResult() || propertyMapping.getResultSet() != null) {
+        return false;
+      }
+    }
+    final Class<?> resultType = resultMap.getType();
+    return !hasTypeHandlerForResultObject(rsw, resultType)
+        && (resultType.isInterface() || MetaClass.forClass(resultType, reflectorFactory).hasDefaultConstructor());
+  }
+
+  private void handleRowValuesInParallel(ResultSetWrapper rsw, ParallelRowMapper rowMapper,
+      ResultHandler<?> resultHandler, RowBounds rowBounds) throws SQLException {
+    final DefaultResultContext<Object> resultContext = new DefaultResultContext<>();
+    final ResultSet resultSet = rsw.getResultSet();
+    // one chunk per worker is mapped while the next one is read
+    final int maxPendingChunks = ForkJoinPool.getCommonPoolParallelism() + 1;
+    final Deque<ForkJoinTask<Object[]>> pendingChunks = new ArrayDeque<>();
+    skipRows(resultSet, rowBounds);
+    int remainingRows = rowBounds.getLimit();
+    try {
+      while (remainingRows > 0 && !resultContext.isStopped()) {
+        // hand over the chunks mapped so far, so that no more rows are read once the result handler stops
+        while (!pendingChunks.isEmpty() && pendingChunks.peek().isDone() && !resultContext.isStopped()) {
+          storeObjects(resultHandler, resultContext, pendingChunks.remove().join(), rowBounds);
+        }
+        if (resultContext.isStopped()) {
+          break;
+        }
+        final int chunkSize = Math.min(remainingRows, ParallelRowMapper.CHUNK_SIZE);
+        final Object[][] rows = rowMapper.read(resultSet, chunkSize);
+        remainingRows = rows.length < chunkSize ? 0 : remainingRows - rows.length;
+        if (remainingRows == 0 && pendingChunks.isEmpty()) {
+          // a result of a single chunk is not worth the hand-off
+          storeObjects(resultHandler, resultContext, rowMapper.map(rows), rowBounds);
+        } else {
+          pendingChunks.add(ForkJoinPool.commonPool().submit(() -> mapInContext(rowMapper, rows)));
+          if (pendingChunks.size() == maxPendingChunks) {
+            storeObjects(resultHandler, resultContext, pendingChunks.remove().join(), rowBounds);
+          }
+        }
+      }
+      while (!pendingChunks.isEmpty() && !resultContext.isStopped()) {
+        storeObjects(resultHandler, resultContext, pendingChunks.remove().join(), rowBounds);
+      }
+    } finally {
+      for (ForkJoinTask<Object[]> pendingChunk : pendingChunks) {
+        pendingChunk.cancel(false);
+      }
+    }
+  }
+
+  private Object[] mapInContext(ParallelRowMapper rowMapper, Object[][] rows) {
+    // the worker may be the calling thread itself when it joins a chunk that has not started yet
+    ErrorContext.instance().store().resource(mappedStatement.getResource()).activity("handling results")
+        .object(mappedStatement.getId()).sql(boundSql.getSql());
+    try {
+      return rowMapper.map(rows);
+    } finally {
+      ErrorContext.instance().recall();
+    }
+  }
+
+  private void storeObjects(ResultHandler<?> resultHandler, DefaultResultContext<Object> resultContext,
+      Object[] rowValues, RowBounds rowBounds) {
+    for (Object rowValue : rowValues) {
+      if (!shouldProcessMoreRows(resultContext, rowBounds)) {
+        return;
+      }
+      callResultHandler(resultHandler, resultContext, rowValue);
+    }
+  }
+
   //
   // GET VALUE FROM ROW FOR SIMPLE RESULT MAP
   //
@@ -410,18 +582,73 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     final ResultLoaderMap lazyLoader = new ResultLoaderMap();
     Object rowValue = createResultObject(rsw, resultMap, lazyLoader, columnPrefix);
     if (rowValue != null && !hasTypeHandlerForResultObject(rsw, resultMap.getType())) {
-      final MetaObject metaObject = configuration.newMetaObject(rowValue);
       boolean foundValues = this.useConstructorMappings;
-      if (shouldApplyAutomaticMappings(resultMap, false)) {
-        foundValues = applyAutomaticMappings(rsw, resultMap, metaObject, columnPrefix) || foundValues;
+      final CompiledRowMapper rowMapper = getCompiledRowMapper(rsw, resultMap, rowValue, columnPrefix);
+      if (rowMapper != null) {
+        foundValues = rowMapper.map(rsw.getResultSet(), rowValue, configuration.isCallSettersOnNulls()) || foundValues;
+      } else {
+        final MetaObject metaObject = configuration.newMetaObject(rowValue);
+        if (shouldApplyAutomaticMappings(resultMap, false)) {
+          foundValues = applyAutomaticMappings(rsw, resultMap, metaObject, columnPrefix) || foundValues;
+        }
+        foundValues = applyPropertyMappings(rsw, resultMap, metaObject, lazyLoader, columnPrefix) || foundValues;
       }
-      foundValues = applyPropertyMappings(rsw, resultMap, metaObject, lazyLoader, columnPrefix) || foundValues;
       foundValues = lazyLoader.size() > 0 || foundValues;
       rowValue = foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
     }
     return rowValue;
   }
 
+  //
+  // COMPILED ROW MAPPERS
+  //
+
+  private CompiledRowMapper getCompiledRowMapper(ResultSetWrapper rsw, ResultMap resultMap, Object rowValue,
+      String columnPrefix) throws SQLException {
+    if (!configuration.isCompileRowMappers() || !resultMap.getType().isInstance(rowValue)
+        || configuration.getObjectWrapperFactory().hasWrapperFor(rowValue)) {
+      return null;
+    }
+    final String mapKey = resultMap.getId() + ":" + columnPrefix;
+    CompiledRowMapper rowMapper = compiledRowMappers.get(mapKey);
+    if (rowMapper == null && !compiledRowMappers.containsKey(mapKey)) {
+      rowMapper = compileRowMapper(rsw, resultMap, rowValue, columnPrefix);
+      compiledRowMappers.put(mapKey, rowMapper);
+    }
+    return rowMapper;
+  }
+
+  private CompiledRowMapper compileRowMapper(ResultSetWrapper rsw, ResultMap resultMap, Object rowValue,
+      String columnPrefix) throws SQLException {
+    if (!RowMapperCompiler.isCompilable(resultMap)) {
+      return null;
+    }
+    final List<String> columns = new ArrayList<>();
+    final List<String> properties = new ArrayList<>();
+    final List<TypeHandler<?>> typeHandlers = new ArrayList<>();
+    // same order as applyAutomaticMappings() and applyPropertyMappings()
+    if (shouldApplyAutomaticMappings(resultMap, false)) {
+      final MetaObject metaObject = configuration.newMetaObject(rowValue);
+      for (UnMappedColumnAutoMapping mapping : createAutomaticMappings(rsw, resultMap, metaObject, columnPrefix)) {
+        columns.add(mapping.column);
+        properties.add(mapping.property);
+        typeHandlers.add(mapping.typeHandler);
+      }
+    }
+    final Set<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
+    for (ResultMapping propertyMapping : resultMap.getPropertyResultMappings()) {
+      final String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
+      if (column != null && propertyMapping.getProperty() != null
+          && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
+        columns.add(column);
+        properties.add(propertyMapping.getProperty());
+        typeHandlers.add(propertyMapping.getTypeHandler());
+      }
+    }
+    return configuration.getRowMapperCompiler().compile(reflectorFactory, resultMap.getType(), columns, properties,
+        typeHandlers);
+  }
+
   //
   // GET VALUE FROM ROW FOR NESTED RESULT MAP
   //
@@ -903,11 +1130,14 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         executor.deferLoad(nestedQuery, metaResultObject, property, key, targetType);
         value = DEFERRED;
       } else {
-        final ResultLoader resultLoader = new ResultLoader(configuration, executor, nestedQuery,
+        final ResultLoader resultLoader = newNestedQueryResultLoader(propertyMapping, nestedQuery,
             nestedQueryParameterObject, targetType, key, nestedBoundSql);
         if (propertyMapping.isLazy()) {
           lazyLoader.addLoader(property, metaResultObject, resultLoader);
           value = DEFERRED;
+        } else if (pendingBatchLoads != null && resultLoader instanceof BatchResultLoader) {
+          pendingBatchLoads.add(new PendingBatchLoad(metaResultObject, property, resultLoader));
+          value = DEFERRED;
         } else {
           value = resultLoader.loadResult();
         }
@@ -916,6 +1146,20 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return value;
   }
 
+  private ResultLoader newNestedQueryResultLoader(ResultMapping propertyMapping, MappedStatement nestedQuery,
+      Object nestedQueryParameterObject, Class<?> targetType, CacheKey key, BoundSql nestedBoundSql) {
+    final String batchQueryId = propertyMapping.getBatchQueryId();
+    if (batchQueryId == null) {
+      return new ResultLoader(configuration, executor, nestedQuery, nestedQueryParameterObject, targetType, key,
+          nestedBoundSql);
+    }
+    final BatchResultLoader.Batch batch = resultLoaderBatches.computeIfAbsent(propertyMapping,
+        k -> new BatchResultLoader.Batch(configuration, executor, configuration.getMappedStatement(batchQueryId),
+            propertyMapping.getBatchKeyProperty(), configuration.getNestedSelectBatchSize()));
+    return new BatchResultLoader(configuration, executor, nestedQuery, nestedQueryParameterObject, targetType, key,
+        nestedBoundSql, batch);
+  }
+
   private Object prepareParameterForNestedQuery(ResultSet rs, ResultMapping resultMapping, Class<?> parameterType,
       String columnPrefix) throws SQLException {
     if (resultMapping.isCompositeResult()) {
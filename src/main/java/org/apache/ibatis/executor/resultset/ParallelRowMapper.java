@@ -0,0 +1,119 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * Maps the rows of a simple result map in two steps, so that the second one can run on another thread.
+ * <p>
+ * {@link #read(ResultSet, int)} copies the column values of a chunk of rows with the type handlers, and must be called
+ * by the thread that owns the result set. {@link #map(Object[][])} creates and populates the result objects of a chunk
+ * without touching JDBC objects, the same way as the row by row mapping of {@link DefaultResultSetHandler}.
+ */
+final class ParallelRowMapper {
+
+  static final int CHUNK_SIZE = 256;
+
+  private final Configuration configuration;
+  private final ObjectFactory objectFactory;
+  private final Class<?> type;
+  private final String[] columns;
+  private final String[] properties;
+  private final TypeHandler<?>[] typeHandlers;
+  private final boolean[] primitives;
+
+  ParallelRowMapper(Configuration configuration, Class<?> type, List<String> columns, List<String> properties,
+      List<TypeHandler<?>> typeHandlers, List<Boolean> primitives) {
+    this.configuration = configuration;
+    this.objectFactory = configuration.getObjectFactory();
+    this.type = type;
+    this.columns = columns.toArray(new String[0]);
+    this.properties = properties.toArray(new String[0]);
+    this.typeHandlers = typeHandlers.toArray(new TypeHandler<?>[0]);
+    this.primitives = new boolean[primitives.size()];
+    for (int i = 0; i < this.primitives.length; i++) {
+      this.primitives[i] = primitives.get(i);
+    }
+  }
+
+  /**
+   * Reads the column values of the next rows.
+   *
+   * @param rs
+   *          the result set
+   * @param maxRows
+   *          the maximum number of rows to read
+   *
+   * @return the column values of each row read, fewer than {@code maxRows} rows only if the result set is exhausted
+   *
+   * @throws SQLException
+   *           if a column cannot be read
+   */
+  Object[][] read(ResultSet rs, int maxRows) throws SQLException {
+    final List<Object[]> rows = new ArrayList<>(Math.min(maxRows, CHUNK_SIZE));
+    while (rows.size() < maxRows && !rs.isClosed() && rs.next()) {
+      final Object[] values = new Object[columns.length];
+      for (int i = 0; i < columns.length; i++) {
+        values[i] = typeHandlers[i].getResult(rs, columns[i]);
+      }
+      rows.add(values);
+    }
+    return rows.toArray(new Object[0][]);
+  }
+
+  /**
+   * Creates the result objects of rows read before.
+   *
+   * @param rows
+   *          the column values of each row
+   *
+   * @return the result object of each row, {@code null} for an empty row unless returnInstanceForEmptyRow is enabled
+   */
+  Object[] map(Object[][] rows) {
+    final Object[] rowValues = new Object[rows.length];
+    for (int i = 0; i < rows.length; i++) {
+      rowValues[i] = mapRow(rows[i]);
+    }
+    return rowValues;
+  }
+
+  private Object mapRow(Object[] values) {
+    final Object rowValue = objectFactory.create(type);
+    final MetaObject metaObject = configuration.newMetaObject(rowValue);
+    boolean foundValues = false;
+    for (int i = 0; i < values.length; i++) {
+      final Object value = values[i];
+      if (value != null) {
+        foundValues = true;
+      }
+      if (value != null || configuration.isCallSettersOnNulls() && !primitives[i]) {
+        // gcode issue #377, call setter on nulls (value is not 'found')
+        metaObject.setValue(properties[i], value);
+      }
+    }
+    return foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
+  }
+
+}
@@ -0,0 +1,251 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.MethodInvoker;
+import org.apache.ibatis.reflection.property.PropertyNamer;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * Generates and caches {@link CompiledRowMapper}s with Javassist.
+ * <p>
+ * Only simple result maps can be compiled: no nested result maps, nested queries, discriminators or constructor
+ * mappings, and every property must be a top level property with a public setter. When a row mapper cannot be compiled,
+ * {@link #compile} returns {@code null} and the caller maps the row through {@code MetaObject} as usual.
+ *
+ * @since 3.5.17
+ */
+public class RowMapperCompiler {
+
+  private static final Log log = LogFactory.getLog(RowMapperCompiler.class);
+  private static final boolean JAVASSIST_AVAILABLE = isJavassistAvailable();
+  private static final Object NOT_COMPILABLE = new Object();
+  private static final AtomicInteger COUNTER = new AtomicInteger();
+
+  private final Map<CacheKey, Object> rowMappers = new ConcurrentHashMap<>();
+
+  /**
+   * Returns whether rows of the result map can be mapped by a compiled row mapper.
+   *
+   * @param resultMap
+   *          the result map
+   *
+   * @return true if the result map is simple enough to be compiled
+   */
+  public static boolean isCompilable(ResultMap resultMap) {
+    if (resultMap.hasNestedResultMaps() || resultMap.hasNestedQueries() || resultMap.getDiscriminator() != null
+        || !resultMap.getConstructorResultMappings().isEmpty()) {
+      return false;
+    }
+    for (ResultMapping propertyMapping : resultMap.getPropertyResultMappings()) {
+      if (propertyMapping.isCompositeResult() || propertyMapping.getResultSet() != null) {
+        return false;
+      }
+    }
+    return isCompilable(resultMap.getType());
+  }
+
+  /**
+   * Returns the row mapper that sets each property from the column at the same index, generating it on first use.
+   *
+   * @param reflectorFactory
+   *          the reflector factory of the configuration
+   * @param type
+   *          the result type
+   * @param columns
+   *          the column labels
+   * @param properties
+   *          the property names
+   * @param typeHandlers
+   *          the type handlers that read the columns
+   *
+   * @return the row mapper, or {@code null} if one of the properties cannot be set directly
+   */
+  public CompiledRowMapper compile(ReflectorFactory reflectorFactory, Class<?> type, List<String> columns,
+      List<String> properties, List<TypeHandler<?>> typeHandlers) {
+    CacheKey key = new CacheKey();
+    key.update(type);
+    key.updateAll(columns.toArray());
+    key.updateAll(properties.toArray());
+    key.updateAll(typeHandlers.toArray());
+    Object rowMapper = rowMappers.computeIfAbsent(key,
+        k -> generate(reflectorFactory, type, columns, properties, typeHandlers));
+    return rowMapper == NOT_COMPILABLE ? null : (CompiledRowMapper) rowMapper;
+  }
+
+  int getRowMapperCount() {
+    return rowMappers.size();
+  }
+
+  private Object generate(ReflectorFactory reflectorFactory, Class<?> type, List<String> columns,
+      List<String> properties, List<TypeHandler<?>> typeHandlers) {
+    if (!JAVASSIST_AVAILABLE || !isCompilable(type)) {
+      return NOT_COMPILABLE;
+    }
+    Reflector reflector = reflectorFactory.findForClass(type);
+    List<Method> setters = new ArrayList<>();
+    for (String property : properties) {
+      Method setter = findSetter(reflector, property);
+      if (setter == null) {
+        return NOT_COMPILABLE;
+      }
+      setters.add(setter);
+    }
+    try {
+      Class<?> rowMapperClass = JavassistGenerator.generate(type, setters);
+      return rowMapperClass.getConstructor(TypeHandler[].class, String[].class)
+          .newInstance(typeHandlers.toArray(new TypeHandler<?>[0]), columns.toArray(new String[0]));
+    } catch (Exception | LinkageError e) {
+      if (log.isDebugEnabled()) {
+        log.debug("Could not compile a row mapper for " + type.getName() + ". Cause: " + e);
+      }
+      return NOT_COMPILABLE;
+    }
+  }
+
+  private static boolean isCompilable(Class<?> type) {
+    if (type.isInterface() || type.isArray() || type.isPrimitive() || type.getClassLoader() == null
+        || Map.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type)) {
+      return false;
+    }
+    // the row mapper is defined in the package of the type, so only private classes are out of reach
+    for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+      if (Modifier.isPrivate(c.getModifiers()) || c.isAnonymousClass() || c.isLocalClass()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Method findSetter(Reflector reflector, String property) {
+    if (property.indexOf('.') >= 0 || property.indexOf('[') >= 0 || !reflector.hasSetter(property)) {
+      return null;
+    }
+    Invoker invoker = reflector.getSetInvoker(property);
+    if (invoker.getClass() != MethodInvoker.class) {
+      // a field or an ambiguous setter
+      return null;
+    }
+    for (Method method : reflector.getType().getMethods()) {
+      if (!method.isBridge() && method.getParameterCount() == 1 && method.getParameterTypes()[0] == invoker.getType()
+          && PropertyNamer.isSetter(method.getName())
+          && property.equals(PropertyNamer.methodToProperty(method.getName()))) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isJavassistAvailable() {
+    try {
+      Resources.classForName("javassist.ClassPool");
+      return true;
+    } catch (Throwable e) {
+      return false;
+    }
+  }
+
+  private static class JavassistGenerator {
+
+    static Class<?> generate(Class<?> type, List<Method> setters) throws Exception {
+      ClassPool pool = new ClassPool(true);
+      pool.appendClassPath(new LoaderClassPath(type.getClassLoader()));
+      pool.appendClassPath(new ClassClassPath(CompiledRowMapper.class));
+      CtClass ctClass = pool.makeClass(type.getName() + "$$RowMapper$$" + COUNTER.incrementAndGet(),
+          pool.get(CompiledRowMapper.class.getName()));
+      try {
+        ctClass.addConstructor(CtNewConstructor.make("public " + ctClass.getSimpleName()
+            + "(org.apache.ibatis.type.TypeHandler[] typeHandlers, String[] columns) { super(typeHandlers, columns); }",
+            ctClass));
+        ctClass.addMethod(CtNewMethod.make(mapMethod(type, setters), ctClass));
+        // defined next to the result type so that it can see package private types and setters
+        return ctClass.toClass(type);
+      } finally {
+        ctClass.detach();
+      }
+    }
+
+    private static String mapMethod(Class<?> type, List<Method> setters) {
+      StringBuilder src = new StringBuilder();
+      src.append("public boolean map(java.sql.ResultSet rs, Object rowValue, boolean callSettersOnNulls)"
+          + " throws java.sql.SQLException {\n");
+      src.append(sourceName(type)).append(" bean = (").append(sourceName(type)).append(") rowValue;\n");
+      src.append("boolean found = false;\n");
+      src.append("Object value;\n");
+      for (int i = 0; i < setters.size(); i++) {
+        Method setter = setters.get(i);
+        Class<?> parameterType = setter.getParameterTypes()[0];
+        src.append("value = typeHandlers[").append(i).append("].getResult(rs, columns[").append(i).append("]);\n");
+        src.append("if (value != null) {\n");
+        src.append("found = true;\n");
+        src.append("bean.").append(setter.getName()).append('(').append(cast(parameterType)).append(");\n");
+        if (!parameterType.isPrimitive()) {
+          // same as MetaObject, null is only set when callSettersOnNulls is enabled
+          src.append("} else if (callSettersOnNulls) {\n");
+          src.append("bean.").append(setter.getName()).append('(').append(cast(parameterType)).append(");\n");
+        }
+        src.append("}\n");
+      }
+      src.append("return found;\n");
+      src.append('}');
+      return src.toString();
+    }
+
+    private static String cast(Class<?> parameterType) {
+      if (parameterType == boolean.class) {
+        return "((java.lang.Boolean) value).booleanValue()";
+      }
+      if (parameterType == char.class) {
+        return "((java.lang.Character) value).charValue()";
+      }
+      if (parameterType.isPrimitive()) {
+        // widening as Method.invoke() does
+        return "((java.lang.Number) value)." + parameterType.getName() + "Value()";
+      }
+      return "(" + sourceName(parameterType) + ") value";
+    }
+
+    private static String sourceName(Class<?> type) {
+      return type.isArray() ? sourceName(type.getComponentType()) + "[]" : type.getName();
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,6 +15,9 @@
  */
 package org.apache.ibatis.io;
 
+import java.io.InvalidClassException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.security.Security;
 
 import org.apache.ibatis.logging.Log;
@@ -25,18 +28,30 @@ public final class SerialFilterChecker {
   /* Property key for the JEP-290 serialization filters */
   private static final String JDK_SERIAL_FILTER = "jdk.serialFilter";
   private static final boolean SERIAL_FILTER_MISSING;
+  private static final Method GET_SERIAL_FILTER;
+  private static final Method CHECK_INPUT;
+  private static final Class<?> FILTER_INFO;
   private static boolean firstInvocation = true;
 
   static {
     Object serialFilter;
+    Method getSerialFilter = null;
+    Method checkInput = null;
+    Class<?> filterInfo = null;
     try {
       Class<?> objectFilterConfig = Class.forName("java.io.ObjectInputFilter$Config");
-      serialFilter = objectFilterConfig.getMethod("getSerialFilter").invoke(null);
+      getSerialFilter = objectFilterConfig.getMethod("getSerialFilter");
+      filterInfo = Class.forName("java.io.ObjectInputFilter$FilterInfo");
+      checkInput = Class.forName("java.io.ObjectInputFilter").getMethod("checkInput", filterInfo);
+      serialFilter = getSerialFilter.invoke(null);
     } catch (ReflectiveOperationException e) {
       // Java 1.8
       serialFilter = System.getProperty(JDK_SERIAL_FILTER, Security.getProperty(JDK_SERIAL_FILTER));
     }
     SERIAL_FILTER_MISSING = serialFilter == null;
+    GET_SERIAL_FILTER = getSerialFilter;
+    CHECK_INPUT = checkInput;
+    FILTER_INFO = filterInfo;
   }
 
   public static void check() {
@@ -48,6 +63,61 @@ public final class SerialFilterChecker {
     }
   }
 
+  /**
+   * Checks a class against the JEP-290 serial filter, for the codecs that resolve classes without an
+   * {@code ObjectInputStream}. Any class is accepted on Java 1.8, or when no serial filter is defined.
+   *
+   * @param type
+   *          the class read from a stream
+   *
+   * @throws InvalidClassException
+   *           if the serial filter rejects the class
+   *
+   * @since 3.5.17
+   */
+  public static void checkClass(Class<?> type) throws InvalidClassException {
+    if (GET_SERIAL_FILTER == null) {
+      return;
+    }
+    Object status;
+    try {
+      Object serialFilter = GET_SERIAL_FILTER.invoke(null);
+      if (serialFilter == null) {
+        return;
+      }
+      Object filterInfo = Proxy.newProxyInstance(SerialFilterChecker.class.getClassLoader(),
+          new Class<?>[] { FILTER_INFO }, (proxy, method, args) -> filterInfo(type, proxy, method, args));
+      status = CHECK_INPUT.invoke(serialFilter, filterInfo);
+    } catch (ReflectiveOperationException e) {
+      throw (InvalidClassException) new InvalidClassException(type.getName(), "Error applying the serial filter")
+          .initCause(e);
+    }
+    // as ObjectInputStream, only a rejected class fails, an undecided one is accepted
+    if (status == null || "REJECTED".equals(((Enum<?>) status).name())) {
+      throw new InvalidClassException(type.getName(), "Rejected by the serial filter");
+    }
+  }
+
+  private static Object filterInfo(Class<?> type, Object proxy, Method method, Object[] args) {
+    switch (method.getName()) {
+      case "serialClass":
+        return type;
+      case "arrayLength":
+        return -1L;
+      case "depth":
+        return 1L;
+      case "references":
+      case "streamBytes":
+        return 0L;
+      case "hashCode":
+        return System.identityHashCode(type);
+      case "equals":
+        return proxy == args[0];
+      default:
+        return "FilterInfo[" + type.getName() + "]";
+    }
+  }
+
   private SerialFilterChecker() {
   }
 }
@@ -24,13 +24,18 @@ import java.util.Properties;
 import org.apache.ibatis.builder.InitializingObject;
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheSerializer;
 import org.apache.ibatis.cache.decorators.BlockingCache;
 import org.apache.ibatis.cache.decorators.LoggingCache;
 import org.apache.ibatis.cache.decorators.LruCache;
+import org.apache.ibatis.cache.decorators.RefreshAheadCache;
 import org.apache.ibatis.cache.decorators.ScheduledCache;
 import org.apache.ibatis.cache.decorators.SerializedCache;
 import org.apache.ibatis.cache.decorators.SynchronizedCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.SystemMetaObject;
 
@@ -38,14 +43,19 @@ import org.apache.ibatis.reflection.SystemMetaObject;
  * @author Clinton Begin
  */
 public class CacheBuilder {
+  private static final Log log = LogFactory.getLog(CacheBuilder.class);
+
   private final String id;
   private Class<? extends Cache> implementation;
   private final List<Class<? extends Cache>> decorators;
   private Integer size;
   private Long clearInterval;
+  private Long timeToLive;
   private boolean readWrite;
   private Properties properties;
   private boolean blocking;
+  private Class<? extends CacheSerializer> serializer;
+  private boolean shareImmutableValues;
 
   public CacheBuilder(String id) {
     this.id = id;
@@ -74,6 +84,21 @@ public class CacheBuilder {
     return this;
   }
 
+  /**
+   * Sets the time to live of the entries, which are reloaded in the background when read shortly before they expire.
+   *
+   * @param timeToLive
+   *          the time to live in milliseconds, or {@code null} for entries staying until evicted
+   *
+   * @return this builder
+   *
+   * @since 3.5.17
+   */
+  public CacheBuilder timeToLive(Long timeToLive) {
+    this.timeToLive = timeToLive;
+    return this;
+  }
+
   public CacheBuilder readWrite(boolean readWrite) {
     this.readWrite = readWrite;
     return this;
@@ -84,6 +109,36 @@ public class CacheBuilder {
     return this;
   }
 
+  /**
+   * Sets the serializer of the values of a read/write cache.
+   *
+   * @param serializer
+   *          the serializer type, or {@code null} for Java serialization
+   *
+   * @return this builder
+   *
+   * @since 3.5.17
+   */
+  public CacheBuilder serializer(Class<? extends CacheSerializer> serializer) {
+    this.serializer = serializer;
+    return this;
+  }
+
+  /**
+   * Sets whether a read/write cache shares immutable values instead of serializing them.
+   *
+   * @param shareImmutableValues
+   *          whether immutable values are shared
+   *
+   * @return this builder
+   *
+   * @since 3.5.17
+   */
+  public CacheBuilder shareImmutableValues(boolean shareImmutableValues) {
+    this.shareImmutableValues = shareImmutableValues;
+    return this;
+  }
+
   public CacheBuilder properties(Properties properties) {
     this.properties = properties;
     return this;
@@ -100,8 +155,13 @@ public class CacheBuilder {
         setCacheProperties(cache);
       }
       cache = setStandardDecorators(cache);
-    } else if (!LoggingCache.class.isAssignableFrom(cache.getClass())) {
-      cache = new LoggingCache(cache);
+    } else {
+      if (timeToLive != null) {
+        log.warn("The timeToLive of cache " + id + " is ignored, as custom caches are not decorated.");
+      }
+      if (!LoggingCache.class.isAssignableFrom(cache.getClass())) {
+        cache = new LoggingCache(cache);
+      }
     }
     return cache;
   }
@@ -126,10 +186,19 @@ public class CacheBuilder {
         ((ScheduledCache) cache).setClearInterval(clearInterval);
       }
       if (readWrite) {
-        cache = new SerializedCache(cache);
+        cache = serializer == null && !shareImmutableValues ? new SerializedCache(cache)
+            : new SerializedCache(cache, newSerializerInstance(), shareImmutableValues);
       }
       cache = new LoggingCache(cache);
       cache = new SynchronizedCache(cache);
+      if (timeToLive != null) {
+        cache = new RefreshAheadCache(cache);
+        ((RefreshAheadCache) cache).setTimeToLive(timeToLive);
+        if (size != null) {
+          ((RefreshAheadCache) cache).setSize(size);
+        }
+        setCacheProperties(cache);
+      }
       if (blocking) {
         cache = new BlockingCache(cache);
       }
@@ -139,6 +208,10 @@ public class CacheBuilder {
     }
   }
 
+  private CacheSerializer newSerializerInstance() throws ReflectiveOperationException {
+    return serializer == null ? new JavaCacheSerializer() : serializer.getDeclaredConstructor().newInstance();
+  }
+
   private void setCacheProperties(Cache cache) {
     if (properties != null) {
       MetaObject metaCache = SystemMetaObject.forObject(cache);
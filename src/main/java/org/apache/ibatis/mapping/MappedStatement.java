@@ -27,6 +27,7 @@ import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.scripting.LanguageDriver;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.LocalCacheScope;
 
 /**
  * @author Clinton Begin
@@ -57,6 +58,8 @@ public final class MappedStatement {
   private LanguageDriver lang;
   private String[] resultSets;
   private boolean dirtySelect;
+  private LocalCacheScope localCacheScope;
+  private String[] tables;
 
   MappedStatement() {
     // constructor disabled
@@ -182,6 +185,16 @@ public final class MappedStatement {
       return this;
     }
 
+    public Builder localCacheScope(LocalCacheScope localCacheScope) {
+      mappedStatement.localCacheScope = localCacheScope;
+      return this;
+    }
+
+    public Builder tables(String tables) {
+      mappedStatement.tables = delimitedStringToArray(tables);
+      return this;
+    }
+
     /**
      * Resul sets.
      *
@@ -304,6 +317,28 @@ public final class MappedStatement {
     return dirtySelect;
   }
 
+  /**
+   * Gets the scope of the local cache for this statement.
+   *
+   * @return the scope, or {@code null} to use the scope of the configuration
+   *
+   * @since 3.5.17
+   */
+  public LocalCacheScope getLocalCacheScope() {
+    return localCacheScope;
+  }
+
+  /**
+   * Gets the tables this statement reads, for a select, or writes, for an insert, update or delete.
+   *
+   * @return the tables, or {@code null} if they are not declared
+   *
+   * @since 3.5.17
+   */
+  public String[] getTables() {
+    return tables;
+  }
+
   /**
    * Gets the resul sets.
    *
@@ -45,6 +45,8 @@ public class ResultMapping {
   private String resultSet;
   private String foreignColumn;
   private boolean lazy;
+  private String batchQueryId;
+  private String batchKeyProperty;
 
   ResultMapping() {
   }
@@ -132,6 +134,16 @@ public class ResultMapping {
       return this;
     }
 
+    public Builder batchQueryId(String batchQueryId) {
+      resultMapping.batchQueryId = batchQueryId;
+      return this;
+    }
+
+    public Builder batchKeyProperty(String batchKeyProperty) {
+      resultMapping.batchKeyProperty = batchKeyProperty;
+      return this;
+    }
+
     public ResultMapping build() {
       // lock down collections
       resultMapping.flags = Collections.unmodifiableList(resultMapping.flags);
@@ -171,6 +183,16 @@ public class ResultMapping {
               "There should be the same number of columns and foreignColumns in property " + resultMapping.property);
         }
       }
+      if (resultMapping.batchQueryId != null) {
+        if (resultMapping.nestedQueryId == null || !resultMapping.composites.isEmpty()) {
+          throw new IllegalStateException(
+              "A batch select requires a nested select with a single column in property " + resultMapping.property);
+        }
+        if (resultMapping.batchKeyProperty == null) {
+          throw new IllegalStateException(
+              "Mapping is missing batchKeyProperty attribute for property " + resultMapping.property);
+        }
+      }
     }
 
     private void resolveTypeHandler() {
@@ -255,6 +277,28 @@ public class ResultMapping {
     this.lazy = lazy;
   }
 
+  /**
+   * Gets the id of the statement that executes the nested query for several values of the column at once.
+   *
+   * @return the statement id, or {@code null} if the nested query is executed for each value
+   *
+   * @since 3.5.17
+   */
+  public String getBatchQueryId() {
+    return batchQueryId;
+  }
+
+  /**
+   * Gets the property of the results of the batch query that holds the value of the column they were loaded for.
+   *
+   * @return the property name
+   *
+   * @since 3.5.17
+   */
+  public String getBatchKeyProperty() {
+    return batchKeyProperty;
+  }
+
   public boolean isSimple() {
     return this.nestedResultMapId == null && this.nestedQueryId == null && this.resultSet == null;
   }
@@ -303,6 +347,8 @@ public class ResultMapping {
     sb.append(", resultSet='").append(resultSet).append('\'');
     sb.append(", foreignColumn='").append(foreignColumn).append('\'');
     sb.append(", lazy=").append(lazy);
+    sb.append(", batchQueryId='").append(batchQueryId).append('\'');
+    sb.append(", batchKeyProperty='").append(batchKeyProperty).append('\'');
     sb.append('}');
     return sb.toString();
   }
@@ -111,12 +111,12 @@ public class MetaObject {
   }
 
   public Object getValue(String name) {
-    PropertyTokenizer prop = new PropertyTokenizer(name);
+    PropertyTokenizer prop = PropertyTokenizer.of(name);
     return objectWrapper.get(prop);
   }
 
   public void setValue(String name, Object value) {
-    objectWrapper.set(new PropertyTokenizer(name), value);
+    objectWrapper.set(PropertyTokenizer.of(name), value);
   }
 
   public MetaObject metaObjectForProperty(String name) {
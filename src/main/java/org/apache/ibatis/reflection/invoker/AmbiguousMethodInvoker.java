@@ -24,7 +24,7 @@ public class AmbiguousMethodInvoker extends MethodInvoker {
   private final String exceptionMessage;
 
   public AmbiguousMethodInvoker(Method method, String exceptionMessage) {
-    super(method);
+    super(method, false);
     this.exceptionMessage = exceptionMessage;
   }
 
@@ -0,0 +1,129 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Creates getter and setter functions with {@link LambdaMetafactory}, which the JIT compiler can inline unlike
+ * {@link Method#invoke(Object, Object...)}.
+ * <p>
+ * The functions are defined in the class declaring the method, with a lookup obtained by
+ * {@code MethodHandles.privateLookupIn}. On Java 8, or when the package of the class is not open to MyBatis, no
+ * function is created and the method is invoked by reflection.
+ */
+final class LambdaAccessors {
+
+  private static final MethodHandle privateLookupInMethodHandle = getPrivateLookupInMethodHandle();
+
+  private static final ClassValue<MethodHandles.Lookup> lookups = new ClassValue<MethodHandles.Lookup>() {
+    @Override
+    protected MethodHandles.Lookup computeValue(Class<?> type) {
+      if (privateLookupInMethodHandle == null) {
+        return null;
+      }
+      try {
+        return (MethodHandles.Lookup) privateLookupInMethodHandle.invokeExact(type, MethodHandles.lookup());
+      } catch (Throwable e) {
+        return null;
+      }
+    }
+  };
+
+  private LambdaAccessors() {
+    // Prevent Instantiation
+  }
+
+  /**
+   * Creates a function calling a getter.
+   *
+   * @param method
+   *          the getter
+   *
+   * @return the function, or {@code null} if it cannot be created
+   */
+  @SuppressWarnings("unchecked")
+  static Function<Object, Object> getter(Method method) {
+    MethodHandles.Lookup lookup = lookupFor(method);
+    if (lookup == null || method.getParameterCount() != 0) {
+      return null;
+    }
+    try {
+      MethodType instantiatedType = MethodType.methodType(method.getReturnType(), method.getDeclaringClass()).wrap();
+      CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+          MethodType.methodType(Object.class, Object.class), lookup.unreflect(method), instantiatedType);
+      return (Function<Object, Object>) callSite.getTarget().invoke();
+    } catch (Throwable e) {
+      return null;
+    }
+  }
+
+  /**
+   * Creates a function calling a setter, ignoring what it returns.
+   *
+   * @param method
+   *          the setter
+   *
+   * @return the function, or {@code null} if it cannot be created
+   */
+  @SuppressWarnings("unchecked")
+  static BiConsumer<Object, Object> setter(Method method) {
+    MethodHandles.Lookup lookup = lookupFor(method);
+    if (lookup == null || method.getParameterCount() != 1) {
+      return null;
+    }
+    try {
+      MethodType instantiatedType = MethodType.methodType(void.class, method.getDeclaringClass(),
+          wrap(method.getParameterTypes()[0]));
+      CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+          MethodType.methodType(void.class, Object.class, Object.class), lookup.unreflect(method), instantiatedType);
+      return (BiConsumer<Object, Object>) callSite.getTarget().invoke();
+    } catch (Throwable e) {
+      return null;
+    }
+  }
+
+  static Class<?> wrap(Class<?> type) {
+    return MethodType.methodType(type).wrap().returnType();
+  }
+
+  private static MethodHandles.Lookup lookupFor(Method method) {
+    Class<?> declaringClass = method.getDeclaringClass();
+    if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())
+        || !Modifier.isPublic(declaringClass.getModifiers())) {
+      return null;
+    }
+    return lookups.get(declaringClass);
+  }
+
+  private static MethodHandle getPrivateLookupInMethodHandle() {
+    try {
+      return MethodHandles.lookup().findStatic(MethodHandles.class, "privateLookupIn",
+          MethodType.methodType(MethodHandles.Lookup.class, Class.class, MethodHandles.Lookup.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+}
@@ -17,29 +17,65 @@ package org.apache.ibatis.reflection.invoker;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.apache.ibatis.reflection.Reflector;
 
 /**
+ * Invokes a getter or a setter.
+ * <p>
+ * When possible, the method is called through a function generated by {@link LambdaAccessors}, and by reflection
+ * otherwise. Arguments the method cannot accept are passed by reflection too, so that the failure is reported the same
+ * way.
+ *
  * @author Clinton Begin
  */
 public class MethodInvoker implements Invoker {
 
   private final Class<?> type;
   private final Method method;
+  private final Function<Object, Object> getter;
+  private final BiConsumer<Object, Object> setter;
+  private final Class<?> setterArgumentType;
 
   public MethodInvoker(Method method) {
+    this(method, true);
+  }
+
+  MethodInvoker(Method method, boolean generateAccessor) {
     this.method = method;
 
     if (method.getParameterTypes().length == 1) {
       type = method.getParameterTypes()[0];
+      getter = null;
+      setter = generateAccessor ? LambdaAccessors.setter(method) : null;
     } else {
       type = method.getReturnType();
+      getter = generateAccessor ? LambdaAccessors.getter(method) : null;
+      setter = null;
     }
+    setterArgumentType = LambdaAccessors.wrap(type);
   }
 
   @Override
   public Object invoke(Object target, Object[] args) throws IllegalAccessException, InvocationTargetException {
+    if (getter != null && (args == null || args.length == 0) && method.getDeclaringClass().isInstance(target)) {
+      try {
+        return getter.apply(target);
+      } catch (Throwable t) {
+        throw new InvocationTargetException(t);
+      }
+    }
+    if (setter != null && args != null && args.length == 1 && method.getDeclaringClass().isInstance(target)
+        && (args[0] == null ? !type.isPrimitive() : setterArgumentType.isInstance(args[0]))) {
+      try {
+        setter.accept(target, args[0]);
+        return null;
+      } catch (Throwable t) {
+        throw new InvocationTargetException(t);
+      }
+    }
     try {
       return method.invoke(target, args);
     } catch (IllegalAccessException e) {
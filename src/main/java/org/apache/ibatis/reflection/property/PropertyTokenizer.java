@@ -16,33 +16,69 @@
 package org.apache.ibatis.reflection.property;
 
 import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * A property expression such as {@code user.address[0].city}, split into its first property and the expression of the
+ * children.
+ * <p>
+ * A tokenizer is immutable, so the tokenizers returned by {@link #of(String)} and {@link #next()} are parsed once and
+ * shared.
+ *
  * @author Clinton Begin
  */
 public class PropertyTokenizer implements Iterator<PropertyTokenizer> {
-  private String name;
+  private static final int CACHE_SIZE = 8192;
+  private static final Map<String, PropertyTokenizer> cache = new ConcurrentHashMap<>();
+
+  private final String name;
   private final String indexedName;
-  private String index;
+  private final String index;
   private final String children;
+  private PropertyTokenizer next;
 
   public PropertyTokenizer(String fullname) {
     int delim = fullname.indexOf('.');
     if (delim > -1) {
-      name = fullname.substring(0, delim);
+      indexedName = fullname.substring(0, delim);
       children = fullname.substring(delim + 1);
     } else {
-      name = fullname;
+      indexedName = fullname;
       children = null;
     }
-    indexedName = name;
-    delim = name.indexOf('[');
+    delim = indexedName.indexOf('[');
     if (delim > -1) {
-      index = name.substring(delim + 1, name.length() - 1);
-      name = name.substring(0, delim);
+      index = indexedName.substring(delim + 1, indexedName.length() - 1);
+      name = indexedName.substring(0, delim);
+    } else {
+      index = null;
+      name = indexedName;
     }
   }
 
+  /**
+   * Returns the tokenizer of a property expression, parsed once for all the calls with the same expression.
+   *
+   * @param fullname
+   *          the property expression
+   *
+   * @return the tokenizer
+   *
+   * @since 3.5.17
+   */
+  public static PropertyTokenizer of(String fullname) {
+    PropertyTokenizer prop = cache.get(fullname);
+    if (prop == null) {
+      prop = new PropertyTokenizer(fullname);
+      // expressions may be built at runtime, so only the first ones are kept
+      if (cache.size() < CACHE_SIZE) {
+        cache.putIfAbsent(fullname, prop);
+      }
+    }
+    return prop;
+  }
+
   public String getName() {
     return name;
   }
@@ -66,7 +102,13 @@ public class PropertyTokenizer implements Iterator<PropertyTokenizer> {
 
   @Override
   public PropertyTokenizer next() {
-    return new PropertyTokenizer(children);
+    // racy but safe, a tokenizer only has final fields
+    PropertyTokenizer prop = next;
+    if (prop == null) {
+      prop = new PropertyTokenizer(children);
+      next = prop;
+    }
+    return prop;
   }
 
   @Override
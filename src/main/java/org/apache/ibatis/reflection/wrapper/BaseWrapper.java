@@ -118,7 +118,8 @@ public abstract class BaseWrapper implements ObjectWrapper {
     if (metaValue == SystemMetaObject.NULL_META_OBJECT) {
       return null;
     }
-    return metaValue.getValue(prop.getChildren());
+    // the tokenizer of the children is parsed once
+    return metaValue.getObjectWrapper().get(prop.next());
   }
 
   protected void setChildValue(PropertyTokenizer prop, Object value) {
@@ -128,8 +129,8 @@ public abstract class BaseWrapper implements ObjectWrapper {
         // don't instantiate child path if value is null
         return;
       }
-      metaValue = instantiatePropertyValue(null, new PropertyTokenizer(prop.getName()), metaObject.getObjectFactory());
+      metaValue = instantiatePropertyValue(null, PropertyTokenizer.of(prop.getName()), metaObject.getObjectFactory());
     }
-    metaValue.setValue(prop.getChildren(), value);
+    metaValue.getObjectWrapper().set(prop.next(), value);
   }
 }
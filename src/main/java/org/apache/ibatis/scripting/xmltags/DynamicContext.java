@@ -15,7 +15,9 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
 
@@ -41,6 +43,7 @@ public class DynamicContext {
   private final ContextMap bindings;
   private final StringJoiner sqlBuilder = new StringJoiner(" ");
   private int uniqueNumber;
+  private List<Object> branches;
 
   public DynamicContext(Configuration configuration, Object parameterObject) {
     if (parameterObject != null && !(parameterObject instanceof Map)) {
@@ -74,6 +77,30 @@ public class DynamicContext {
     return uniqueNumber++;
   }
 
+  /**
+   * Starts recording the branches taken while applying the nodes, see {@link #addBranch(Object)}.
+   */
+  void recordBranches() {
+    branches = new ArrayList<>();
+  }
+
+  /**
+   * Records a decision that changes the generated SQL or the type of a binding, such as an {@code <if>} result or the
+   * class of a {@code <foreach>} item. Contexts that wrap another context must delegate this method.
+   *
+   * @param branch
+   *          the decision
+   */
+  void addBranch(Object branch) {
+    if (branches != null) {
+      branches.add(branch);
+    }
+  }
+
+  List<Object> getBranches() {
+    return branches;
+  }
+
   static class ContextMap extends HashMap<String, Object> {
     private static final long serialVersionUID = 2977601501966151582L;
     private final MetaObject parameterMetaObject;
@@ -15,9 +15,17 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.apache.ibatis.builder.SqlSourceBuilder;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
 import org.apache.ibatis.session.Configuration;
 
 /**
@@ -27,22 +35,145 @@ public class DynamicSqlSource implements SqlSource {
 
   private final Configuration configuration;
   private final SqlNode rootSqlNode;
+  private final SqlSourceBuilder sqlSourceParser;
+  private final int planCacheSize;
+  private final Map<List<Object>, Plan> plans;
+  private final LongAdder planCacheHits = new LongAdder();
+  private final LongAdder planCacheMisses = new LongAdder();
 
   public DynamicSqlSource(Configuration configuration, SqlNode rootSqlNode) {
+    this(configuration, rootSqlNode, 0);
+  }
+
+  /**
+   * Creates a dynamic SQL source that caches the SQL and parameter mappings generated for each combination of taken
+   * branches.
+   * <p>
+   * The branches are recorded by the built-in nodes ({@code <if>}, {@code <choose>}, {@code <foreach>}, {@code <bind>}
+   * and {@code ${}} substitutions), so the cache must only be enabled when the node tree is made of them.
+   *
+   * @param configuration
+   *          the configuration
+   * @param rootSqlNode
+   *          the root node
+   * @param planCacheSize
+   *          the maximum number of cached plans, {@code 0} disables the cache
+   *
+   * @since 3.5.17
+   */
+  public DynamicSqlSource(Configuration configuration, SqlNode rootSqlNode, int planCacheSize) {
     this.configuration = configuration;
     this.rootSqlNode = rootSqlNode;
+    this.sqlSourceParser = new SqlSourceBuilder(configuration, true);
+    this.planCacheSize = planCacheSize;
+    this.plans = planCacheSize > 0 ? new ConcurrentHashMap<>() : null;
   }
 
   @Override
   public BoundSql getBoundSql(Object parameterObject) {
     DynamicContext context = new DynamicContext(configuration, parameterObject);
+    if (plans != null) {
+      context.recordBranches();
+    }
     rootSqlNode.apply(context);
-    SqlSourceBuilder sqlSourceParser = new SqlSourceBuilder(configuration);
     Class<?> parameterType = parameterObject == null ? Object.class : parameterObject.getClass();
-    SqlSource sqlSource = sqlSourceParser.parse(context.getSql(), parameterType, context.getBindings());
-    BoundSql boundSql = sqlSource.getBoundSql(parameterObject);
+    BoundSql boundSql;
+    if (plans == null) {
+      SqlSource sqlSource = sqlSourceParser.parse(context.getSql(), parameterType, context.getBindings());
+      boundSql = sqlSource.getBoundSql(parameterObject);
+    } else {
+      List<Object> key = context.getBranches();
+      key.add(parameterType);
+      Plan plan = plans.get(key);
+      if (plan != null && plan.sql != null) {
+        planCacheHits.increment();
+        boundSql = new BoundSql(configuration, plan.sql, new ArrayList<>(plan.parameterMappings), parameterObject);
+      } else {
+        planCacheMisses.increment();
+        SqlSource sqlSource = sqlSourceParser.parse(context.getSql(), parameterType, context.getBindings());
+        boundSql = sqlSource.getBoundSql(parameterObject);
+        if (plan == null && plans.size() < planCacheSize) {
+          plans.put(key, isReusable(boundSql.getParameterMappings(), context.getBindings())
+              ? new Plan(boundSql.getSql(), new ArrayList<>(boundSql.getParameterMappings())) : Plan.NOT_REUSABLE);
+        }
+      }
+    }
     context.getBindings().forEach(boundSql::setAdditionalParameter);
     return boundSql;
   }
 
+  /**
+   * Returns the number of calls that reused a cached plan.
+   *
+   * @return the number of plan cache hits
+   *
+   * @since 3.5.17
+   */
+  public long getPlanCacheHits() {
+    return planCacheHits.sum();
+  }
+
+  /**
+   * Returns the number of calls that had to parse the generated SQL while the plan cache was enabled.
+   *
+   * @return the number of plan cache misses
+   *
+   * @since 3.5.17
+   */
+  public long getPlanCacheMisses() {
+    return planCacheMisses.sum();
+  }
+
+  /**
+   * Returns the number of cached plans.
+   *
+   * @return the plan cache size
+   *
+   * @since 3.5.17
+   */
+  public int getPlanCacheSize() {
+    return plans == null ? 0 : plans.size();
+  }
+
+  /**
+   * The type of a parameter is resolved from the runtime value of a binding when the property navigates into it, so
+   * such a plan is only reused when the navigation depends on the class of the binding alone.
+   */
+  private static boolean isReusable(List<ParameterMapping> parameterMappings, Map<String, Object> bindings) {
+    for (ParameterMapping parameterMapping : parameterMappings) {
+      String property = parameterMapping.getProperty();
+      if (property == null) {
+        continue;
+      }
+      PropertyTokenizer prop = new PropertyTokenizer(property);
+      if (!bindings.containsKey(prop.getName())) {
+        // resolved from the parameter type
+        continue;
+      }
+      if (prop.getIndex() != null) {
+        return false;
+      }
+      if (prop.hasNext()) {
+        Object value = bindings.get(prop.getName());
+        if (value instanceof Map || new PropertyTokenizer(prop.getChildren()).hasNext()
+            || prop.getChildren().indexOf('[') >= 0) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static final class Plan {
+    static final Plan NOT_REUSABLE = new Plan(null, null);
+
+    private final String sql;
+    private final List<ParameterMapping> parameterMappings;
+
+    Plan(String sql, List<ParameterMapping> parameterMappings) {
+      this.sql = sql;
+      this.parameterMappings = parameterMappings;
+    }
+  }
+
 }
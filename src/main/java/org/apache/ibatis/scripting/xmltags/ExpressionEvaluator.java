@@ -29,7 +29,11 @@ import org.apache.ibatis.builder.BuilderException;
 public class ExpressionEvaluator {
 
   public boolean evaluateBoolean(String expression, Object parameterObject) {
-    Object value = OgnlCache.getValue(expression, parameterObject);
+    return evaluateBoolean(null, expression, parameterObject);
+  }
+
+  boolean evaluateBoolean(SimpleExpression compiledExpression, String expression, Object parameterObject) {
+    Object value = getValue(compiledExpression, expression, parameterObject);
     if (value instanceof Boolean) {
       return (Boolean) value;
     }
@@ -51,7 +55,12 @@ public class ExpressionEvaluator {
    * @since 3.5.9
    */
   public Iterable<?> evaluateIterable(String expression, Object parameterObject, boolean nullable) {
-    Object value = OgnlCache.getValue(expression, parameterObject);
+    return evaluateIterable(null, expression, parameterObject, nullable);
+  }
+
+  Iterable<?> evaluateIterable(SimpleExpression compiledExpression, String expression, Object parameterObject,
+      boolean nullable) {
+    Object value = getValue(compiledExpression, expression, parameterObject);
     if (value == null) {
       if (nullable) {
         return null;
@@ -80,4 +89,14 @@ public class ExpressionEvaluator {
         "Error evaluating expression '" + expression + "'.  Return value (" + value + ") was not iterable.");
   }
 
+  private static Object getValue(SimpleExpression compiledExpression, String expression, Object parameterObject) {
+    if (compiledExpression != null) {
+      Object value = compiledExpression.getValue(parameterObject);
+      if (value != SimpleExpression.UNRESOLVED) {
+        return value;
+      }
+    }
+    return OgnlCache.getValue(expression, parameterObject);
+  }
+
 }
@@ -17,6 +17,7 @@ package org.apache.ibatis.scripting.xmltags;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 import org.apache.ibatis.parsing.GenericTokenParser;
 import org.apache.ibatis.session.Configuration;
@@ -29,13 +30,17 @@ public class ForEachSqlNode implements SqlNode {
 
   private final ExpressionEvaluator evaluator;
   private final String collectionExpression;
+  private final SimpleExpression compiledCollectionExpression;
   private final Boolean nullable;
+  private final Boolean padding;
   private final SqlNode contents;
   private final String open;
   private final String close;
   private final String separator;
   private final String item;
   private final String index;
+  private final Pattern itemPattern;
+  private final Pattern indexPattern;
   private final Configuration configuration;
 
   /**
@@ -49,64 +54,97 @@ public class ForEachSqlNode implements SqlNode {
   }
 
   /**
+   * @deprecated Since 3.5.17, use the
+   *             {@link #ForEachSqlNode(Configuration, SqlNode, String, Boolean, Boolean, String, String, String, String, String)}.
+   *
    * @since 3.5.9
    */
+  @Deprecated
   public ForEachSqlNode(Configuration configuration, SqlNode contents, String collectionExpression, Boolean nullable,
       String index, String item, String open, String close, String separator) {
+    this(configuration, contents, collectionExpression, nullable, null, index, item, open, close, separator);
+  }
+
+  /**
+   * @since 3.5.17
+   */
+  public ForEachSqlNode(Configuration configuration, SqlNode contents, String collectionExpression, Boolean nullable,
+      Boolean padding, String index, String item, String open, String close, String separator) {
     this.evaluator = new ExpressionEvaluator();
     this.collectionExpression = collectionExpression;
+    this.compiledCollectionExpression = SimpleExpression.compile(collectionExpression);
     this.nullable = nullable;
+    this.padding = padding;
     this.contents = contents;
     this.open = open;
     this.close = close;
     this.separator = separator;
     this.index = index;
     this.item = item;
+    this.itemPattern = itemPattern(item);
+    this.indexPattern = index == null ? null : itemPattern(index);
     this.configuration = configuration;
   }
 
   @Override
   public boolean apply(DynamicContext context) {
     Map<String, Object> bindings = context.getBindings();
-    final Iterable<?> iterable = evaluator.evaluateIterable(collectionExpression, bindings,
-        Optional.ofNullable(nullable).orElseGet(configuration::isNullableOnForEach));
+    final Iterable<?> iterable = evaluator.evaluateIterable(compiledCollectionExpression, collectionExpression,
+        bindings, Optional.ofNullable(nullable).orElseGet(configuration::isNullableOnForEach));
     if (iterable == null || !iterable.iterator().hasNext()) {
+      context.addBranch(0);
       return true;
     }
     boolean first = true;
     applyOpen(context);
     int i = 0;
+    Object last = null;
     for (Object o : iterable) {
-      DynamicContext oldContext = context;
-      if (first || separator == null) {
-        context = new PrefixedContext(context, "");
-      } else {
-        context = new PrefixedContext(context, separator);
-      }
-      int uniqueNumber = context.getUniqueNumber();
-      // Issue #709
-      if (o instanceof Map.Entry) {
-        @SuppressWarnings("unchecked")
-        Map.Entry<Object, Object> mapEntry = (Map.Entry<Object, Object>) o;
-        applyIndex(context, mapEntry.getKey(), uniqueNumber);
-        applyItem(context, mapEntry.getValue(), uniqueNumber);
-      } else {
-        applyIndex(context, i, uniqueNumber);
-        applyItem(context, o, uniqueNumber);
-      }
-      contents.apply(new FilteredDynamicContext(configuration, context, index, item, uniqueNumber));
-      if (first) {
-        first = !((PrefixedContext) context).isPrefixApplied();
-      }
-      context = oldContext;
+      first = applyElement(context, o, i, first);
+      last = o;
       i++;
     }
+    if (Optional.ofNullable(padding).orElseGet(configuration::isPaddingOnForEach)) {
+      // repeat the last element up to the next power of two, so that few distinct statements are generated
+      int size = Integer.highestOneBit(i) == i ? i : Integer.highestOneBit(i) << 1;
+      for (int padded = i; padded < size; padded++) {
+        first = applyElement(context, last, i - 1, first);
+      }
+      i = size;
+    }
     applyClose(context);
+    context.addBranch(i);
     context.getBindings().remove(item);
     context.getBindings().remove(index);
     return true;
   }
 
+  private boolean applyElement(DynamicContext context, Object o, int i, boolean first) {
+    PrefixedContext prefixedContext;
+    if (first || separator == null) {
+      prefixedContext = new PrefixedContext(context, "");
+    } else {
+      prefixedContext = new PrefixedContext(context, separator);
+    }
+    int uniqueNumber = prefixedContext.getUniqueNumber();
+    // Issue #709
+    if (o instanceof Map.Entry) {
+      @SuppressWarnings("unchecked")
+      Map.Entry<Object, Object> mapEntry = (Map.Entry<Object, Object>) o;
+      applyIndex(prefixedContext, mapEntry.getKey(), uniqueNumber);
+      applyItem(prefixedContext, mapEntry.getValue(), uniqueNumber);
+      addTypeBranch(prefixedContext, mapEntry.getKey());
+      addTypeBranch(prefixedContext, mapEntry.getValue());
+    } else {
+      applyIndex(prefixedContext, i, uniqueNumber);
+      applyItem(prefixedContext, o, uniqueNumber);
+      addTypeBranch(prefixedContext, i);
+      addTypeBranch(prefixedContext, o);
+    }
+    contents.apply(new FilteredDynamicContext(configuration, prefixedContext, index, item, uniqueNumber));
+    return first && !prefixedContext.isPrefixApplied();
+  }
+
   private void applyIndex(DynamicContext context, Object o, int i) {
     if (index != null) {
       context.bind(index, o);
@@ -121,6 +159,11 @@ public class ForEachSqlNode implements SqlNode {
     }
   }
 
+  private static void addTypeBranch(DynamicContext context, Object value) {
+    // the type of a parameter mapping depends on the class of the item
+    context.addBranch(value == null ? null : value.getClass());
+  }
+
   private void applyOpen(DynamicContext context) {
     if (open != null) {
       context.appendSql(open);
@@ -137,7 +180,11 @@ public class ForEachSqlNode implements SqlNode {
     return ITEM_PREFIX + item + "_" + i;
   }
 
-  private static class FilteredDynamicContext extends DynamicContext {
+  private static Pattern itemPattern(String item) {
+    return Pattern.compile("^\\s*" + item + "(?![^.,:\\s])");
+  }
+
+  private class FilteredDynamicContext extends DynamicContext {
     private final DynamicContext delegate;
     private final int index;
     private final String itemIndex;
@@ -170,9 +217,9 @@ public class ForEachSqlNode implements SqlNode {
     @Override
     public void appendSql(String sql) {
       GenericTokenParser parser = new GenericTokenParser("#{", "}", content -> {
-        String newContent = content.replaceFirst("^\\s*" + item + "(?![^.,:\\s])", itemizeItem(item, index));
+        String newContent = itemPattern.matcher(content).replaceFirst(itemizeItem(item, index));
         if (itemIndex != null && newContent.equals(content)) {
-          newContent = content.replaceFirst("^\\s*" + itemIndex + "(?![^.,:\\s])", itemizeItem(itemIndex, index));
+          newContent = indexPattern.matcher(content).replaceFirst(itemizeItem(itemIndex, index));
         }
         return "#{" + newContent + "}";
       });
@@ -185,6 +232,11 @@ public class ForEachSqlNode implements SqlNode {
       return delegate.getUniqueNumber();
     }
 
+    @Override
+    void addBranch(Object branch) {
+      delegate.addBranch(branch);
+    }
+
   }
 
   private class PrefixedContext extends DynamicContext {
@@ -231,6 +283,11 @@ public class ForEachSqlNode implements SqlNode {
     public int getUniqueNumber() {
       return delegate.getUniqueNumber();
     }
+
+    @Override
+    void addBranch(Object branch) {
+      delegate.addBranch(branch);
+    }
   }
 
 }
@@ -21,17 +21,21 @@ package org.apache.ibatis.scripting.xmltags;
 public class IfSqlNode implements SqlNode {
   private final ExpressionEvaluator evaluator;
   private final String test;
+  private final SimpleExpression compiledTest;
   private final SqlNode contents;
 
   public IfSqlNode(SqlNode contents, String test) {
     this.test = test;
+    this.compiledTest = SimpleExpression.compile(test);
     this.contents = contents;
     this.evaluator = new ExpressionEvaluator();
   }
 
   @Override
   public boolean apply(DynamicContext context) {
-    if (evaluator.evaluateBoolean(test, context.getBindings())) {
+    boolean result = evaluator.evaluateBoolean(compiledTest, test, context.getBindings());
+    context.addBranch(result);
+    if (result) {
       contents.apply(context);
       return true;
     }
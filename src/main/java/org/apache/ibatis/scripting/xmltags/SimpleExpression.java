@@ -0,0 +1,222 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An expression that only reads top level bindings, compiled once so that it can be evaluated without OGNL.
+ * <p>
+ * Two forms are supported: a single property such as {@code list}, and null or empty string checks of properties joined
+ * with {@code and} / {@code or}, such as {@code name != null and name != ''}. Any other expression is not compiled, and
+ * a value that OGNL would compare with type conversion (e.g. a number compared to {@code ''}) is left to OGNL at
+ * evaluation time.
+ */
+final class SimpleExpression {
+
+  /**
+   * Returned by {@link #getValue(Object)} when the expression must be evaluated by OGNL.
+   */
+  static final Object UNRESOLVED = new Object();
+
+  private static final DynamicContext.ContextAccessor ACCESSOR = new DynamicContext.ContextAccessor();
+  private static final Set<String> KEYWORDS = new HashSet<>(
+      Arrays.asList("null", "and", "or", "not", "eq", "neq", "lt", "lte", "gt", "gte", "in", "instanceof", "new",
+          "true", "false", "this", "shl", "shr", "ushr", "band", "bor", "xor"));
+
+  private final String property;
+  // or-ed groups of and-ed comparisons
+  private final List<List<Comparison>> conditions;
+
+  private SimpleExpression(String property, List<List<Comparison>> conditions) {
+    this.property = property;
+    this.conditions = conditions;
+  }
+
+  /**
+   * Compiles the expression.
+   *
+   * @param expression
+   *          an OGNL expression
+   *
+   * @return the compiled expression, or {@code null} if the expression is not in a supported form
+   */
+  static SimpleExpression compile(String expression) {
+    if (expression == null) {
+      return null;
+    }
+    List<String> tokens = tokenize(expression);
+    if (tokens == null || tokens.isEmpty()) {
+      return null;
+    }
+    if (tokens.size() == 1) {
+      return isProperty(tokens.get(0)) ? new SimpleExpression(tokens.get(0), null) : null;
+    }
+    List<List<Comparison>> conditions = new ArrayList<>();
+    List<Comparison> group = new ArrayList<>();
+    int i = 0;
+    while (true) {
+      if (i + 3 > tokens.size()) {
+        return null;
+      }
+      Comparison comparison = Comparison.of(tokens.get(i), tokens.get(i + 1), tokens.get(i + 2));
+      if (comparison == null) {
+        return null;
+      }
+      group.add(comparison);
+      i += 3;
+      if (i == tokens.size()) {
+        break;
+      }
+      String operator = tokens.get(i++);
+      if ("or".equals(operator) || "||".equals(operator)) {
+        conditions.add(group);
+        group = new ArrayList<>();
+      } else if (!"and".equals(operator) && !"&&".equals(operator)) {
+        return null;
+      }
+    }
+    conditions.add(group);
+    return new SimpleExpression(null, conditions);
+  }
+
+  /**
+   * Evaluates the expression against the bindings of a {@link DynamicContext}.
+   *
+   * @param root
+   *          the root object
+   *
+   * @return the value, or {@link #UNRESOLVED} if it must be evaluated by OGNL
+   */
+  Object getValue(Object root) {
+    if (!(root instanceof DynamicContext.ContextMap)) {
+      return UNRESOLVED;
+    }
+    try {
+      if (property != null) {
+        return ACCESSOR.getProperty(null, root, property);
+      }
+      for (List<Comparison> group : conditions) {
+        Boolean result = Boolean.TRUE;
+        for (Comparison comparison : group) {
+          result = comparison.evaluate(root);
+          if (result == null) {
+            return UNRESOLVED;
+          }
+          if (!result) {
+            break;
+          }
+        }
+        if (result) {
+          return Boolean.TRUE;
+        }
+      }
+      return Boolean.FALSE;
+    } catch (RuntimeException e) {
+      // let OGNL report it
+      return UNRESOLVED;
+    }
+  }
+
+  private static boolean isProperty(String token) {
+    return Character.isJavaIdentifierStart(token.charAt(0)) && !KEYWORDS.contains(token);
+  }
+
+  private static boolean isLiteral(String token) {
+    return "null".equals(token) || "''".equals(token);
+  }
+
+  private static List<String> tokenize(String expression) {
+    List<String> tokens = new ArrayList<>();
+    int length = expression.length();
+    int i = 0;
+    while (i < length) {
+      char c = expression.charAt(i);
+      if (Character.isWhitespace(c)) {
+        i++;
+      } else if (Character.isJavaIdentifierStart(c) && c != '$') {
+        int start = i;
+        do {
+          i++;
+        } while (i < length && Character.isJavaIdentifierPart(expression.charAt(i)) && expression.charAt(i) != '$');
+        tokens.add(expression.substring(start, i));
+      } else if ((c == '\'' || c == '"') && i + 1 < length && expression.charAt(i + 1) == c) {
+        tokens.add("''");
+        i += 2;
+      } else if (i + 1 < length && isOperator(expression.substring(i, i + 2))) {
+        tokens.add(expression.substring(i, i + 2));
+        i += 2;
+      } else {
+        return null;
+      }
+    }
+    return tokens;
+  }
+
+  private static boolean isOperator(String token) {
+    return "==".equals(token) || "!=".equals(token) || "&&".equals(token) || "||".equals(token);
+  }
+
+  private static final class Comparison {
+    private final String property;
+    private final boolean equal;
+    private final boolean emptyString;
+
+    private Comparison(String property, boolean equal, boolean emptyString) {
+      this.property = property;
+      this.equal = equal;
+      this.emptyString = emptyString;
+    }
+
+    static Comparison of(String left, String operator, String right) {
+      boolean equal;
+      if ("==".equals(operator) || "eq".equals(operator)) {
+        equal = true;
+      } else if ("!=".equals(operator) || "neq".equals(operator)) {
+        equal = false;
+      } else {
+        return null;
+      }
+      if (isProperty(left) && isLiteral(right)) {
+        return new Comparison(left, equal, "''".equals(right));
+      }
+      if (isLiteral(left) && isProperty(right)) {
+        return new Comparison(right, equal, "''".equals(left));
+      }
+      return null;
+    }
+
+    Boolean evaluate(Object root) {
+      Object value = ACCESSOR.getProperty(null, root, property);
+      boolean matches;
+      if (!emptyString) {
+        matches = value == null;
+      } else if (value == null) {
+        matches = false;
+      } else if (value instanceof String) {
+        matches = ((String) value).isEmpty();
+      } else {
+        return null;
+      }
+      return matches == equal;
+    }
+  }
+
+}
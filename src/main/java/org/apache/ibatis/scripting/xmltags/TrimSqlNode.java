@@ -111,6 +111,11 @@ public class TrimSqlNode implements SqlNode {
       return delegate.getUniqueNumber();
     }
 
+    @Override
+    void addBranch(Object branch) {
+      delegate.addBranch(branch);
+    }
+
     @Override
     public void appendSql(String sql) {
       sqlBuffer.append(sql);
@@ -32,6 +32,7 @@ public class VarDeclSqlNode implements SqlNode {
   public boolean apply(DynamicContext context) {
     final Object value = OgnlCache.getValue(expression, context.getBindings());
     context.bind(name, value);
+    context.addBranch(value == null ? null : value.getClass());
     return true;
   }
 
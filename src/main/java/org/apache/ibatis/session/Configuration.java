@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -36,19 +36,32 @@ import org.apache.ibatis.builder.ResultMapResolver;
 import org.apache.ibatis.builder.annotation.MethodResolver;
 import org.apache.ibatis.builder.xml.XMLStatementBuilder;
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheInvalidation;
+import org.apache.ibatis.cache.CacheInvalidationBus;
+import org.apache.ibatis.cache.CacheSerializer;
+import org.apache.ibatis.cache.TableVersions;
 import org.apache.ibatis.cache.decorators.FifoCache;
 import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.decorators.SoftCache;
 import org.apache.ibatis.cache.decorators.WeakCache;
+import org.apache.ibatis.cache.impl.ConcurrentCache;
+import org.apache.ibatis.cache.impl.OffHeapCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.invalidation.InProcessCacheInvalidationBus;
+import org.apache.ibatis.cache.invalidation.MulticastCacheInvalidationBus;
+import org.apache.ibatis.cache.serializer.CompactCacheSerializer;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
 import org.apache.ibatis.datasource.jndi.JndiDataSourceFactory;
+import org.apache.ibatis.datasource.pooled.ConcurrentPooledDataSourceFactory;
 import org.apache.ibatis.datasource.pooled.PooledDataSourceFactory;
 import org.apache.ibatis.datasource.unpooled.UnpooledDataSourceFactory;
 import org.apache.ibatis.executor.BatchExecutor;
 import org.apache.ibatis.executor.CachingExecutor;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.QueryCoalescer;
 import org.apache.ibatis.executor.ReuseExecutor;
 import org.apache.ibatis.executor.SimpleExecutor;
+import org.apache.ibatis.executor.StatementCache;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.loader.ProxyFactory;
 import org.apache.ibatis.executor.loader.cglib.CglibProxyFactory;
@@ -56,6 +69,7 @@ import org.apache.ibatis.executor.loader.javassist.JavassistProxyFactory;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.executor.resultset.RowMapperCompiler;
 import org.apache.ibatis.executor.statement.RoutingStatementHandler;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.io.VFS;
@@ -118,6 +132,26 @@ public class Configuration {
   protected boolean shrinkWhitespacesInSql;
   protected boolean nullableOnForEach;
   protected boolean argNameBasedConstructorAutoMapping;
+  protected boolean coalesceQueries;
+  protected boolean compileRowMappers;
+  protected int dynamicSqlPlanCacheSize;
+  protected boolean prefetchCursors;
+  protected boolean parallelResultMapping;
+  protected boolean groupBatchStatements;
+  protected int batchFlushRows;
+  protected int batchFlushBytes;
+  protected boolean rewriteBatchedInserts;
+  protected int batchInsertMaxParameters = 1000;
+  protected int reuseStatementCacheSize;
+  protected boolean reuseStatementsAcrossSessions;
+  protected boolean paddingOnForEach;
+  protected int localCacheSize;
+  protected int localCacheMaxRows;
+  protected int nestedSelectBatchSize = 100;
+  protected Class<? extends CacheSerializer> cacheSerializer = JavaCacheSerializer.class;
+  protected boolean shareImmutableCacheValues;
+  protected boolean tableCacheInvalidation;
+  protected CacheInvalidationBus cacheInvalidationBus;
 
   protected String logPrefix;
   protected Class<? extends Log> logImpl;
@@ -161,6 +195,12 @@ public class Configuration {
           .conflictMessageProducer((savedValue, targetValue) -> ". please check " + savedValue.getResource() + " and "
               + targetValue.getResource());
   protected final Map<String, Cache> caches = new StrictMap<>("Caches collection");
+  protected final Set<String> readOnlyCacheIds = new HashSet<>();
+  protected final Set<String> refreshAheadCacheIds = new HashSet<>();
+  protected final QueryCoalescer queryCoalescer = new QueryCoalescer();
+  protected final TableVersions tableVersions = new TableVersions();
+  protected final StatementCache statementCache = new StatementCache();
+  protected final RowMapperCompiler rowMapperCompiler = new RowMapperCompiler();
   protected final Map<String, ResultMap> resultMaps = new StrictMap<>("Result Maps collection");
   protected final Map<String, ParameterMap> parameterMaps = new StrictMap<>("Parameter Maps collection");
   protected final Map<String, KeyGenerator> keyGenerators = new StrictMap<>("Key Generators collection");
@@ -194,14 +234,23 @@ public class Configuration {
 
     typeAliasRegistry.registerAlias("JNDI", JndiDataSourceFactory.class);
     typeAliasRegistry.registerAlias("POOLED", PooledDataSourceFactory.class);
+    typeAliasRegistry.registerAlias("CONCURRENT_POOLED", ConcurrentPooledDataSourceFactory.class);
     typeAliasRegistry.registerAlias("UNPOOLED", UnpooledDataSourceFactory.class);
 
     typeAliasRegistry.registerAlias("PERPETUAL", PerpetualCache.class);
+    typeAliasRegistry.registerAlias("CONCURRENT", ConcurrentCache.class);
+    typeAliasRegistry.registerAlias("OFF_HEAP", OffHeapCache.class);
     typeAliasRegistry.registerAlias("FIFO", FifoCache.class);
     typeAliasRegistry.registerAlias("LRU", LruCache.class);
     typeAliasRegistry.registerAlias("SOFT", SoftCache.class);
     typeAliasRegistry.registerAlias("WEAK", WeakCache.class);
 
+    typeAliasRegistry.registerAlias("JAVA_SERIALIZER", JavaCacheSerializer.class);
+    typeAliasRegistry.registerAlias("COMPACT_SERIALIZER", CompactCacheSerializer.class);
+
+    typeAliasRegistry.registerAlias("IN_PROCESS", InProcessCacheInvalidationBus.class);
+    typeAliasRegistry.registerAlias("MULTICAST", MulticastCacheInvalidationBus.class);
+
     typeAliasRegistry.registerAlias("DB_VENDOR", VendorDatabaseIdProvider.class);
 
     typeAliasRegistry.registerAlias("XML", XMLLanguageDriver.class);
@@ -334,6 +383,595 @@ public class Configuration {
     return nullableOnForEach;
   }
 
+  /**
+   * Sets whether concurrent sessions that miss the second level cache with the same key share one database query.
+   *
+   * @param coalesceQueries
+   *          If shared, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public void setCoalesceQueries(boolean coalesceQueries) {
+    this.coalesceQueries = coalesceQueries;
+  }
+
+  /**
+   * Returns whether concurrent sessions that miss the second level cache with the same key share one database query.
+   * Queries are only shared for read-only caches, whose objects are shared by the sessions anyway.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If shared, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public boolean isCoalesceQueries() {
+    return coalesceQueries;
+  }
+
+  /**
+   * Returns the registry of the queries currently shared between sessions.
+   *
+   * @return the query coalescer
+   *
+   * @since 3.5.17
+   */
+  public QueryCoalescer getQueryCoalescer() {
+    return queryCoalescer;
+  }
+
+  /**
+   * Sets whether rows of simple result maps are mapped by row mappers generated at runtime instead of reflection.
+   * Result maps mapped in parallel (see {@link #setParallelResultMapping(boolean)}) are still mapped by reflection.
+   *
+   * @param compileRowMappers
+   *          If generated, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public void setCompileRowMappers(boolean compileRowMappers) {
+    this.compileRowMappers = compileRowMappers;
+  }
+
+  /**
+   * Returns whether rows of simple result maps are mapped by row mappers generated at runtime instead of reflection.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If generated, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public boolean isCompileRowMappers() {
+    return compileRowMappers;
+  }
+
+  /**
+   * Sets the maximum number of SQL plans each dynamic statement caches, keyed by the branches taken.
+   *
+   * @param dynamicSqlPlanCacheSize
+   *          the maximum number of plans per statement, {@code 0} disables the cache
+   *
+   * @since 3.5.17
+   */
+  public void setDynamicSqlPlanCacheSize(int dynamicSqlPlanCacheSize) {
+    this.dynamicSqlPlanCacheSize = dynamicSqlPlanCacheSize;
+  }
+
+  /**
+   * Returns the maximum number of SQL plans each dynamic statement caches, keyed by the branches taken.
+   * <p>
+   * Default is {@code 0} (disabled).
+   *
+   * @return the maximum number of plans per statement
+   *
+   * @since 3.5.17
+   */
+  public int getDynamicSqlPlanCacheSize() {
+    return dynamicSqlPlanCacheSize;
+  }
+
+  /**
+   * Sets whether the rows of a cursor are fetched and mapped on a background thread ahead of the caller, up to the
+   * fetch size of the statement.
+   *
+   * @param prefetchCursors
+   *          If prefetched, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public void setPrefetchCursors(boolean prefetchCursors) {
+    this.prefetchCursors = prefetchCursors;
+  }
+
+  /**
+   * Returns whether the rows of a cursor are fetched and mapped on a background thread ahead of the caller.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If prefetched, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public boolean isPrefetchCursors() {
+    return prefetchCursors;
+  }
+
+  /**
+   * Sets whether the rows of simple result maps are mapped in chunks on the common fork-join pool. The column values
+   * are still read on the calling thread and the results are handed to the result handler in order. The object factory
+   * and the object wrapper factory must be thread safe. Result maps mapped in parallel do not use the row mappers
+   * generated when {@link #setCompileRowMappers(boolean) compileRowMappers} is also enabled.
+   *
+   * @param parallelResultMapping
+   *          If mapped in parallel, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public void setParallelResultMapping(boolean parallelResultMapping) {
+    this.parallelResultMapping = parallelResultMapping;
+  }
+
+  /**
+   * Returns whether the rows of simple result maps are mapped in chunks on the common fork-join pool.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If mapped in parallel, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public boolean isParallelResultMapping() {
+    return parallelResultMapping;
+  }
+
+  /**
+   * Sets whether the batch executor keeps one statement open per distinct SQL, instead of only reusing the statement of
+   * the previous update. The batches are executed in the order their SQL was first used.
+   *
+   * @param groupBatchStatements
+   *          If grouped, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public void setGroupBatchStatements(boolean groupBatchStatements) {
+    this.groupBatchStatements = groupBatchStatements;
+  }
+
+  /**
+   * Returns whether the batch executor keeps one statement open per distinct SQL.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If grouped, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public boolean isGroupBatchStatements() {
+    return groupBatchStatements;
+  }
+
+  /**
+   * Sets the number of rows at which the batch executor executes a batch without waiting for the session to be flushed.
+   *
+   * @param batchFlushRows
+   *          the number of rows, or {@code 0} for no limit
+   *
+   * @since 3.5.17
+   */
+  public void setBatchFlushRows(int batchFlushRows) {
+    this.batchFlushRows = batchFlushRows;
+  }
+
+  /**
+   * Returns the number of rows at which the batch executor executes a batch without waiting for the session to be
+   * flushed.
+   * <p>
+   * Default is {@code 0} (no limit).
+   *
+   * @return the number of rows, or {@code 0} for no limit
+   *
+   * @since 3.5.17
+   */
+  public int getBatchFlushRows() {
+    return batchFlushRows;
+  }
+
+  /**
+   * Sets the estimated size of the parameter values, in bytes, at which the batch executor executes a batch without
+   * waiting for the session to be flushed.
+   *
+   * @param batchFlushBytes
+   *          the number of bytes, or {@code 0} for no limit
+   *
+   * @since 3.5.17
+   */
+  public void setBatchFlushBytes(int batchFlushBytes) {
+    this.batchFlushBytes = batchFlushBytes;
+  }
+
+  /**
+   * Returns the estimated size of the parameter values, in bytes, at which the batch executor executes a batch without
+   * waiting for the session to be flushed.
+   * <p>
+   * Default is {@code 0} (no limit).
+   *
+   * @return the number of bytes, or {@code 0} for no limit
+   *
+   * @since 3.5.17
+   */
+  public int getBatchFlushBytes() {
+    return batchFlushBytes;
+  }
+
+  /**
+   * Sets whether the batch executor executes the rows of a batched {@code INSERT ... VALUES (...)} as multi-row
+   * {@code INSERT ... VALUES (...), (...)} statements instead of as a JDBC batch.
+   *
+   * @param rewriteBatchedInserts
+   *          If rewritten, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public void setRewriteBatchedInserts(boolean rewriteBatchedInserts) {
+    this.rewriteBatchedInserts = rewriteBatchedInserts;
+  }
+
+  /**
+   * Returns whether the batch executor executes the rows of a batched insert as multi-row inserts.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If rewritten, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public boolean isRewriteBatchedInserts() {
+    return rewriteBatchedInserts;
+  }
+
+  /**
+   * Sets the maximum number of parameters of a multi-row insert, which limits the number of rows per statement.
+   *
+   * @param batchInsertMaxParameters
+   *          the maximum number of parameters
+   *
+   * @since 3.5.17
+   */
+  public void setBatchInsertMaxParameters(int batchInsertMaxParameters) {
+    this.batchInsertMaxParameters = batchInsertMaxParameters;
+  }
+
+  /**
+   * Returns the maximum number of parameters of a multi-row insert.
+   * <p>
+   * Default is {@code 1000}.
+   *
+   * @return the maximum number of parameters
+   *
+   * @since 3.5.17
+   */
+  public int getBatchInsertMaxParameters() {
+    return batchInsertMaxParameters;
+  }
+
+  /**
+   * Sets the maximum number of statements the reuse executor keeps open per connection, the least recently used ones
+   * being closed beyond it.
+   *
+   * @param reuseStatementCacheSize
+   *          the maximum number of statements, or {@code 0} for no limit
+   *
+   * @since 3.5.17
+   */
+  public void setReuseStatementCacheSize(int reuseStatementCacheSize) {
+    this.reuseStatementCacheSize = reuseStatementCacheSize;
+  }
+
+  /**
+   * Returns the maximum number of statements the reuse executor keeps open per connection.
+   * <p>
+   * Default is {@code 0}, for no limit.
+   *
+   * @return the maximum number of statements, or {@code 0} for no limit
+   *
+   * @since 3.5.17
+   */
+  public int getReuseStatementCacheSize() {
+    return reuseStatementCacheSize;
+  }
+
+  /**
+   * Sets whether the statements of the reuse executor are kept open after the session, to be reused by the next
+   * sessions on the same connection.
+   *
+   * @param reuseStatementsAcrossSessions
+   *          If kept, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public void setReuseStatementsAcrossSessions(boolean reuseStatementsAcrossSessions) {
+    this.reuseStatementsAcrossSessions = reuseStatementsAcrossSessions;
+  }
+
+  /**
+   * Returns whether the statements of the reuse executor are reused by the next sessions on the same connection.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If kept, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public boolean isReuseStatementsAcrossSessions() {
+    return reuseStatementsAcrossSessions;
+  }
+
+  /**
+   * Returns the statements of the reuse executor shared by the sessions, when reused across sessions.
+   *
+   * @return the statement cache
+   *
+   * @since 3.5.17
+   */
+  public StatementCache getStatementCache() {
+    return statementCache;
+  }
+
+  /**
+   * Sets the default value of 'padding' attribute on 'foreach' tag.
+   *
+   * @param paddingOnForEach
+   *          If padded, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public void setPaddingOnForEach(boolean paddingOnForEach) {
+    this.paddingOnForEach = paddingOnForEach;
+  }
+
+  /**
+   * Returns the default value of 'padding' attribute on 'foreach' tag.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If padded, set to {@code true}
+   *
+   * @since 3.5.17
+   */
+  public boolean isPaddingOnForEach() {
+    return paddingOnForEach;
+  }
+
+  /**
+   * Sets the maximum number of result lists the local cache of a session keeps between top level queries. The least
+   * recently used lists are evicted beyond it.
+   *
+   * @param localCacheSize
+   *          the maximum number of result lists, or {@code 0} for no limit
+   *
+   * @since 3.5.17
+   */
+  public void setLocalCacheSize(int localCacheSize) {
+    this.localCacheSize = localCacheSize;
+  }
+
+  /**
+   * Returns the maximum number of result lists the local cache of a session keeps between top level queries.
+   * <p>
+   * Default is {@code 0}, for no limit.
+   *
+   * @return the maximum number of result lists, or {@code 0} for no limit
+   *
+   * @since 3.5.17
+   */
+  public int getLocalCacheSize() {
+    return localCacheSize;
+  }
+
+  /**
+   * Sets the maximum number of rows of all the result lists the local cache of a session keeps between top level
+   * queries. The least recently used lists are evicted beyond it, so a list having more rows is not kept at all.
+   *
+   * @param localCacheMaxRows
+   *          the maximum number of rows, or {@code 0} for no limit
+   *
+   * @since 3.5.17
+   */
+  public void setLocalCacheMaxRows(int localCacheMaxRows) {
+    this.localCacheMaxRows = localCacheMaxRows;
+  }
+
+  /**
+   * Returns the maximum number of rows of all the result lists the local cache of a session keeps between top level
+   * queries.
+   * <p>
+   * Default is {@code 0}, for no limit.
+   *
+   * @return the maximum number of rows, or {@code 0} for no limit
+   *
+   * @since 3.5.17
+   */
+  public int getLocalCacheMaxRows() {
+    return localCacheMaxRows;
+  }
+
+  /**
+   * Sets the maximum number of values a batch select of a nested select receives at once.
+   *
+   * @param nestedSelectBatchSize
+   *          the maximum number of values, or {@code 0} for no limit
+   *
+   * @since 3.5.17
+   */
+  public void setNestedSelectBatchSize(int nestedSelectBatchSize) {
+    this.nestedSelectBatchSize = nestedSelectBatchSize;
+  }
+
+  /**
+   * Returns the maximum number of values a batch select of a nested select receives at once.
+   * <p>
+   * Default is {@code 100}.
+   *
+   * @return the maximum number of values, or {@code 0} for no limit
+   *
+   * @since 3.5.17
+   */
+  public int getNestedSelectBatchSize() {
+    return nestedSelectBatchSize;
+  }
+
+  /**
+   * Sets the serializer of the values of the read/write caches. The state of lazy loading proxies is always written
+   * with Java serialization.
+   *
+   * @param cacheSerializer
+   *          the serializer type, or {@code null} for Java serialization
+   *
+   * @since 3.5.17
+   */
+  public void setCacheSerializer(Class<? extends CacheSerializer> cacheSerializer) {
+    this.cacheSerializer = cacheSerializer == null ? JavaCacheSerializer.class : cacheSerializer;
+  }
+
+  /**
+   * Returns the serializer of the values of the read/write caches.
+   * <p>
+   * Default is {@link JavaCacheSerializer}.
+   *
+   * @return the serializer type
+   *
+   * @since 3.5.17
+   */
+  public Class<? extends CacheSerializer> getCacheSerializer() {
+    return cacheSerializer;
+  }
+
+  /**
+   * Sets whether the read/write caches share immutable values, and lists of immutable values, instead of serializing
+   * them.
+   *
+   * @param shareImmutableCacheValues
+   *          whether immutable values are shared
+   *
+   * @since 3.5.17
+   */
+  public void setShareImmutableCacheValues(boolean shareImmutableCacheValues) {
+    this.shareImmutableCacheValues = shareImmutableCacheValues;
+  }
+
+  /**
+   * Returns whether the read/write caches share immutable values instead of serializing them.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return whether immutable values are shared
+   *
+   * @since 3.5.17
+   */
+  public boolean isShareImmutableCacheValues() {
+    return shareImmutableCacheValues;
+  }
+
+  /**
+   * Sets whether writes invalidate the second level cache entries depending on the tables they modify, instead of
+   * clearing the cache of their namespace.
+   *
+   * @param tableCacheInvalidation
+   *          whether the second level cache is invalidated table by table
+   *
+   * @since 3.5.17
+   */
+  public void setTableCacheInvalidation(boolean tableCacheInvalidation) {
+    this.tableCacheInvalidation = tableCacheInvalidation;
+  }
+
+  /**
+   * Returns whether the second level cache is invalidated table by table.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return whether the second level cache is invalidated table by table
+   *
+   * @since 3.5.17
+   */
+  public boolean isTableCacheInvalidation() {
+    return tableCacheInvalidation;
+  }
+
+  /**
+   * Returns the versions of the tables, used when the second level cache is invalidated table by table.
+   *
+   * @return the table versions
+   *
+   * @since 3.5.17
+   */
+  public TableVersions getTableVersions() {
+    return tableVersions;
+  }
+
+  /**
+   * Sets the bus broadcasting the invalidations of the second level cache to the other nodes of a cluster. The bus is
+   * started, and the previous one closed.
+   *
+   * @param cacheInvalidationBus
+   *          the bus, or {@code null} to not broadcast invalidations
+   *
+   * @since 3.5.17
+   */
+  public void setCacheInvalidationBus(CacheInvalidationBus cacheInvalidationBus) {
+    if (this.cacheInvalidationBus != null) {
+      this.cacheInvalidationBus.close();
+    }
+    this.cacheInvalidationBus = cacheInvalidationBus;
+    if (cacheInvalidationBus != null) {
+      cacheInvalidationBus.start(this::invalidateCaches);
+    }
+  }
+
+  /**
+   * Returns the bus broadcasting the invalidations of the second level cache.
+   * <p>
+   * Default is {@code null}.
+   *
+   * @return the bus, or {@code null}
+   *
+   * @since 3.5.17
+   */
+  public CacheInvalidationBus getCacheInvalidationBus() {
+    return cacheInvalidationBus;
+  }
+
+  /**
+   * Applies the invalidations published by another node: clears the caches and increments the versions of the tables.
+   *
+   * @param invalidation
+   *          the invalidations
+   *
+   * @since 3.5.17
+   */
+  public void invalidateCaches(CacheInvalidation invalidation) {
+    for (String cacheId : invalidation.getCacheIds()) {
+      if (caches.containsKey(cacheId)) {
+        caches.get(cacheId).clear();
+      }
+    }
+    if (!invalidation.getTables().isEmpty()) {
+      tableVersions.increment(invalidation.getTables());
+    }
+  }
+
+  /**
+   * Returns the cache of the row mappers generated for simple result maps.
+   *
+   * @return the row mapper compiler
+   *
+   * @since 3.5.17
+   */
+  public RowMapperCompiler getRowMapperCompiler() {
+    return rowMapperCompiler;
+  }
+
   public boolean isArgNameBasedConstructorAutoMapping() {
     return argNameBasedConstructorAutoMapping;
   }
@@ -765,6 +1403,71 @@ public class Configuration {
     caches.put(cache.getId(), cache);
   }
 
+  /**
+   * Adds a cache, recording whether it returns the cached objects themselves rather than copies of them.
+   *
+   * @param cache
+   *          the cache
+   * @param readOnly
+   *          whether the cached objects are shared by the sessions reading them
+   *
+   * @since 3.5.17
+   */
+  public void addCache(Cache cache, boolean readOnly) {
+    addCache(cache, readOnly, false);
+  }
+
+  /**
+   * Adds a cache, recording whether it returns the cached objects themselves rather than copies of them, and whether it
+   * reloads its entries ahead of their expiry.
+   *
+   * @param cache
+   *          the cache
+   * @param readOnly
+   *          whether the cached objects are shared by the sessions reading them
+   * @param refreshAhead
+   *          whether the cache is decorated by a {@link org.apache.ibatis.cache.decorators.RefreshAheadCache}
+   *
+   * @since 3.5.17
+   */
+  public void addCache(Cache cache, boolean readOnly, boolean refreshAhead) {
+    addCache(cache);
+    if (readOnly) {
+      readOnlyCacheIds.add(cache.getId());
+    }
+    if (refreshAhead) {
+      refreshAheadCacheIds.add(cache.getId());
+    }
+  }
+
+  /**
+   * Returns whether a cache was declared read-only, sharing the cached objects between the sessions reading them.
+   *
+   * @param id
+   *          the cache id
+   *
+   * @return {@code true} if the cache is read-only
+   *
+   * @since 3.5.17
+   */
+  public boolean isReadOnlyCache(String id) {
+    return readOnlyCacheIds.contains(id);
+  }
+
+  /**
+   * Returns whether a cache reloads its entries ahead of their expiry, and therefore needs a loader for each of them.
+   *
+   * @param id
+   *          the cache id
+   *
+   * @return {@code true} if the cache is decorated by a {@link org.apache.ibatis.cache.decorators.RefreshAheadCache}
+   *
+   * @since 3.5.17
+   */
+  public boolean isRefreshAheadCache(String id) {
+    return refreshAheadCacheIds.contains(id);
+  }
+
   public Collection<String> getCacheNames() {
     return caches.keySet();
   }
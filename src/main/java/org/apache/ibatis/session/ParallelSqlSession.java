@@ -0,0 +1,228 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs independent read statements concurrently, each one in its own session and therefore on its own connection.
+ * <p>
+ * Each session is opened with the transaction isolation level of this parallel session, and closed without commit once
+ * its statement completes. As the statements do not share a transaction, they do not necessarily see the same state of
+ * the database.
+ *
+ * @since 3.5.17
+ */
+public class ParallelSqlSession {
+
+  /**
+   * Threads shared by all parallel sessions, at least as many as the default size of the connection pool. Statements
+   * wait in a queue when all of them are busy.
+   */
+  private static final int DEFAULT_THREADS = Math.max(10, 2 * Runtime.getRuntime().availableProcessors());
+
+  private static final ExecutorService DEFAULT_EXECUTOR = newDefaultExecutor();
+
+  private final SqlSessionFactory sqlSessionFactory;
+  private final TransactionIsolationLevel level;
+  private final Executor executor;
+  private final Queue<CompletableFuture<?>> futures = new ConcurrentLinkedQueue<>();
+  private final Queue<StatementTiming> timings = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Creates a parallel session running the statements on a bounded number of daemon threads shared by all parallel
+   * sessions. An executor matching the size of the connection pool should be given when it differs much from it.
+   *
+   * @param sqlSessionFactory
+   *          the factory of the session of each statement
+   * @param level
+   *          the transaction isolation level, or {@code null} for the default level of the data source
+   */
+  public ParallelSqlSession(SqlSessionFactory sqlSessionFactory, TransactionIsolationLevel level) {
+    this(sqlSessionFactory, level, DEFAULT_EXECUTOR);
+  }
+
+  /**
+   * Creates a parallel session.
+   *
+   * @param sqlSessionFactory
+   *          the factory of the session of each statement
+   * @param level
+   *          the transaction isolation level, or {@code null} for the default level of the data source
+   * @param executor
+   *          runs the statements, it should not limit their concurrency below the size of the connection pool
+   */
+  public ParallelSqlSession(SqlSessionFactory sqlSessionFactory, TransactionIsolationLevel level, Executor executor) {
+    this.sqlSessionFactory = sqlSessionFactory;
+    this.level = level;
+    this.executor = executor;
+  }
+
+  public <T> CompletableFuture<T> selectOne(String statement) {
+    return execute(statement, session -> session.selectOne(statement));
+  }
+
+  public <T> CompletableFuture<T> selectOne(String statement, Object parameter) {
+    return execute(statement, session -> session.selectOne(statement, parameter));
+  }
+
+  public <E> CompletableFuture<List<E>> selectList(String statement) {
+    return execute(statement, session -> session.selectList(statement));
+  }
+
+  public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter) {
+    return execute(statement, session -> session.selectList(statement, parameter));
+  }
+
+  public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter, RowBounds rowBounds) {
+    return execute(statement, session -> session.selectList(statement, parameter, rowBounds));
+  }
+
+  /**
+   * Calls a mapper in its own session.
+   *
+   * @param <T>
+   *          the mapper type
+   * @param <R>
+   *          the result type
+   * @param type
+   *          the mapper type
+   * @param call
+   *          calls the mapper
+   *
+   * @return the result of the call, named after the mapper type in the timings
+   */
+  public <T, R> CompletableFuture<R> select(Class<T> type, Function<T, R> call) {
+    return execute(type.getName(), session -> call.apply(session.getMapper(type)));
+  }
+
+  /**
+   * Runs some statements in their own session. They should only read, as the session is closed without commit.
+   *
+   * @param <R>
+   *          the result type
+   * @param name
+   *          the name of the statements in the timings
+   * @param work
+   *          runs the statements
+   *
+   * @return the result of the work
+   */
+  public <R> CompletableFuture<R> execute(String name, Function<SqlSession, R> work) {
+    CompletableFuture<R> future = CompletableFuture.supplyAsync(() -> {
+      final long start = System.nanoTime();
+      boolean succeeded = false;
+      try (SqlSession session = sqlSessionFactory.openSession(level)) {
+        R result = work.apply(session);
+        succeeded = true;
+        return result;
+      } finally {
+        timings.add(new StatementTiming(name, System.nanoTime() - start, succeeded));
+      }
+    }, executor);
+    futures.add(future);
+    return future;
+  }
+
+  /**
+   * Returns a future completed once all the statements submitted so far are completed.
+   *
+   * @return the future, completed exceptionally if a statement failed
+   */
+  public CompletableFuture<Void> allOf() {
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+  }
+
+  /**
+   * Returns the timings of the statements completed so far, in the order of completion.
+   *
+   * @return the timings
+   */
+  public List<StatementTiming> getTimings() {
+    return new ArrayList<>(timings);
+  }
+
+  /**
+   * The time a statement took, from opening its session to closing it.
+   */
+  public static class StatementTiming {
+
+    private final String name;
+    private final long elapsedNanos;
+    private final boolean succeeded;
+
+    StatementTiming(String name, long elapsedNanos, boolean succeeded) {
+      this.name = name;
+      this.elapsedNanos = elapsedNanos;
+      this.succeeded = succeeded;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getElapsedNanos() {
+      return elapsedNanos;
+    }
+
+    public long getElapsedMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public boolean isSucceeded() {
+      return succeeded;
+    }
+
+    @Override
+    public String toString() {
+      return name + ": " + getElapsedMillis() + " ms" + (succeeded ? "" : " (failed)");
+    }
+
+  }
+
+  private static ExecutorService newDefaultExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_THREADS, DEFAULT_THREADS, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), new Threads());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static class Threads implements ThreadFactory {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "mybatis-parallel-session-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
+}
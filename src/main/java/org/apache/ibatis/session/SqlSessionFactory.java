@@ -16,6 +16,7 @@
 package org.apache.ibatis.session;
 
 import java.sql.Connection;
+import java.util.concurrent.Executor;
 
 /**
  * Creates an {@link SqlSession} out of a connection or a DataSource
@@ -42,4 +43,45 @@ public interface SqlSessionFactory {
 
   Configuration getConfiguration();
 
+  /**
+   * Opens a parallel session, running each statement in its own session with the default transaction isolation level.
+   *
+   * @return the parallel session
+   *
+   * @since 3.5.17
+   */
+  default ParallelSqlSession openParallelSession() {
+    return new ParallelSqlSession(this, null);
+  }
+
+  /**
+   * Opens a parallel session, running each statement in its own session with the given transaction isolation level.
+   *
+   * @param level
+   *          the transaction isolation level
+   *
+   * @return the parallel session
+   *
+   * @since 3.5.17
+   */
+  default ParallelSqlSession openParallelSession(TransactionIsolationLevel level) {
+    return new ParallelSqlSession(this, level);
+  }
+
+  /**
+   * Opens a parallel session, running each statement in its own session on the given executor.
+   *
+   * @param level
+   *          the transaction isolation level
+   * @param executor
+   *          runs the statements
+   *
+   * @return the parallel session
+   *
+   * @since 3.5.17
+   */
+  default ParallelSqlSession openParallelSession(TransactionIsolationLevel level, Executor executor) {
+    return new ParallelSqlSession(this, level, executor);
+  }
+
 }
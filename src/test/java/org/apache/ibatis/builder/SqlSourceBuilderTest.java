@@ -15,7 +15,12 @@
  */
 package org.apache.ibatis.builder;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.session.Configuration;
 import org.junit.jupiter.api.Assertions;
@@ -53,4 +58,24 @@ public class SqlSourceBuilderTest {
     String shrankWhitespacesInSql = "SELECT * FROM user WHERE user_id = 1";
     Assertions.assertEquals(shrankWhitespacesInSql, actual);
   }
+
+  @Test
+  void testCachedParameterMappingsAreReusedPerPropertyType() {
+    SqlSourceBuilder cachingBuilder = new SqlSourceBuilder(configuration, true);
+    String sql = "SELECT * FROM user WHERE user_id = #{id} AND name = #{name,jdbcType=VARCHAR}";
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("id", 1);
+    List<ParameterMapping> first = cachingBuilder.parse(sql, HashMap.class, parameters).getBoundSql(null)
+        .getParameterMappings();
+    List<ParameterMapping> second = cachingBuilder.parse(sql, HashMap.class, parameters).getBoundSql(null)
+        .getParameterMappings();
+    Assertions.assertSame(first.get(0), second.get(0));
+    Assertions.assertSame(first.get(1), second.get(1));
+
+    parameters.put("id", "1");
+    ParameterMapping idMapping = cachingBuilder.parse(sql, HashMap.class, parameters).getBoundSql(null)
+        .getParameterMappings().get(0);
+    Assertions.assertEquals(Integer.class, first.get(0).getJavaType());
+    Assertions.assertEquals(String.class, idMapping.getJavaType());
+  }
 }
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -40,6 +40,9 @@ import java.util.Properties;
 import org.apache.ibatis.builder.mapper.CustomMapper;
 import org.apache.ibatis.builder.typehandler.CustomIntegerTypeHandler;
 import org.apache.ibatis.builder.xml.XMLConfigBuilder;
+import org.apache.ibatis.cache.invalidation.InProcessCacheInvalidationBus;
+import org.apache.ibatis.cache.serializer.CompactCacheSerializer;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
 import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
 import org.apache.ibatis.domain.blog.Author;
 import org.apache.ibatis.domain.blog.Blog;
@@ -111,6 +114,26 @@ class XmlConfigBuilderTest {
       assertThat(config.isArgNameBasedConstructorAutoMapping()).isFalse();
       assertThat(config.getDefaultSqlProviderType()).isNull();
       assertThat(config.isNullableOnForEach()).isFalse();
+      assertThat(config.isCoalesceQueries()).isFalse();
+      assertThat(config.isCompileRowMappers()).isFalse();
+      assertThat(config.getDynamicSqlPlanCacheSize()).isZero();
+      assertThat(config.isPrefetchCursors()).isFalse();
+      assertThat(config.isParallelResultMapping()).isFalse();
+      assertThat(config.isGroupBatchStatements()).isFalse();
+      assertThat(config.getBatchFlushRows()).isZero();
+      assertThat(config.getBatchFlushBytes()).isZero();
+      assertThat(config.isRewriteBatchedInserts()).isFalse();
+      assertThat(config.getBatchInsertMaxParameters()).isEqualTo(1000);
+      assertThat(config.getReuseStatementCacheSize()).isZero();
+      assertThat(config.isReuseStatementsAcrossSessions()).isFalse();
+      assertThat(config.isPaddingOnForEach()).isFalse();
+      assertThat(config.getLocalCacheSize()).isZero();
+      assertThat(config.getLocalCacheMaxRows()).isZero();
+      assertThat(config.getNestedSelectBatchSize()).isEqualTo(100);
+      assertThat(config.getCacheSerializer()).isEqualTo(JavaCacheSerializer.class);
+      assertThat(config.isShareImmutableCacheValues()).isFalse();
+      assertThat(config.isTableCacheInvalidation()).isFalse();
+      assertThat(config.getCacheInvalidationBus()).isNull();
     }
   }
 
@@ -217,6 +240,28 @@ class XmlConfigBuilderTest {
       assertThat(config.isArgNameBasedConstructorAutoMapping()).isTrue();
       assertThat(config.getDefaultSqlProviderType().getName()).isEqualTo(MySqlProvider.class.getName());
       assertThat(config.isNullableOnForEach()).isTrue();
+      assertThat(config.isCoalesceQueries()).isTrue();
+      assertThat(config.isCompileRowMappers()).isTrue();
+      assertThat(config.getDynamicSqlPlanCacheSize()).isEqualTo(64);
+      assertThat(config.isPrefetchCursors()).isTrue();
+      assertThat(config.isParallelResultMapping()).isTrue();
+      assertThat(config.isGroupBatchStatements()).isTrue();
+      assertThat(config.getBatchFlushRows()).isEqualTo(1000);
+      assertThat(config.getBatchFlushBytes()).isEqualTo(1048576);
+      assertThat(config.isRewriteBatchedInserts()).isTrue();
+      assertThat(config.getBatchInsertMaxParameters()).isEqualTo(30000);
+      assertThat(config.getReuseStatementCacheSize()).isEqualTo(64);
+      assertThat(config.isReuseStatementsAcrossSessions()).isTrue();
+      assertThat(config.isPaddingOnForEach()).isTrue();
+      assertThat(config.getLocalCacheSize()).isEqualTo(100);
+      assertThat(config.getLocalCacheMaxRows()).isEqualTo(10000);
+      assertThat(config.getNestedSelectBatchSize()).isEqualTo(50);
+      assertThat(config.getCacheSerializer()).isEqualTo(CompactCacheSerializer.class);
+      assertThat(config.isShareImmutableCacheValues()).isTrue();
+      assertThat(config.isTableCacheInvalidation()).isTrue();
+      assertThat(((InProcessCacheInvalidationBus) config.getCacheInvalidationBus()).getChannel())
+          .isEqualTo("customized");
+      config.setCacheInvalidationBus(null);
 
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blogauthor")).isEqualTo(Author.class);
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blog")).isEqualTo(Blog.class);
@@ -65,6 +65,23 @@ class XmlMapperBuilderTest {
     }
   }
 
+  @Test
+  void shouldRecordReadOnlyCaches() throws Exception {
+    Configuration configuration = new Configuration();
+    String resource = "org/apache/ibatis/builder/CachedAuthorMapper.xml";
+    try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+      XMLMapperBuilder builder = new XMLMapperBuilder(inputStream, configuration, resource,
+          configuration.getSqlFragments());
+      builder.parse();
+    }
+    MapperBuilderAssistant assistant = new MapperBuilderAssistant(configuration, "ReadWriteMapper.xml");
+    assistant.setCurrentNamespace("ReadWriteMapper");
+    assistant.useNewCache(null, null, null, null, true, false, null);
+
+    assertThat(configuration.isReadOnlyCache("org.apache.ibatis.builder.CachedAuthorMapper")).isTrue();
+    assertThat(configuration.isReadOnlyCache("ReadWriteMapper")).isFalse();
+  }
+
   @Test
   void mappedStatementWithoutOptionsWhenSpecifyDefaultValue() throws Exception {
     Configuration configuration = new Configuration();
@@ -338,6 +338,119 @@ class DynamicSqlSourceTest extends BaseDataTest {
     assertEquals("__frch_u_0", boundSql.getParameterMappings().get(3).getProperty());
   }
 
+  @Test
+  void shouldPadForEachToNextPowerOfTwo() throws Exception {
+    DynamicSqlSource source = createDynamicSqlSource(new TextSqlNode("SELECT * FROM BLOG WHERE ID IN"),
+        new ForEachSqlNode(new Configuration(), mixedContents(new TextSqlNode("#{item}")), "ids", null, true, null,
+            "item", "(", ")", ","));
+    Map<String, Object> parameterObject = new HashMap<>();
+    parameterObject.put("ids", Arrays.asList(1));
+    assertEquals("SELECT * FROM BLOG WHERE ID IN (  ? )", source.getBoundSql(parameterObject).getSql());
+    parameterObject.put("ids", Arrays.asList(1, 2, 3));
+    BoundSql boundSql = source.getBoundSql(parameterObject);
+    assertEquals("SELECT * FROM BLOG WHERE ID IN (  ? , ? , ? , ? )", boundSql.getSql());
+    assertEquals(3, boundSql.getAdditionalParameter("__frch_item_2"));
+    assertEquals(3, boundSql.getAdditionalParameter("__frch_item_3"));
+    parameterObject.put("ids", Arrays.asList(1, 2, 3, 4, 5));
+    assertEquals(8, source.getBoundSql(parameterObject).getParameterMappings().size());
+  }
+
+  @Test
+  void shouldPadForEachWhenPaddingOnForEachIsEnabled() {
+    Configuration configuration = new Configuration();
+    configuration.setPaddingOnForEach(true);
+    DynamicSqlSource source = new DynamicSqlSource(configuration,
+        mixedContents(new TextSqlNode("SELECT * FROM BLOG WHERE ID IN"), new ForEachSqlNode(configuration,
+            mixedContents(new TextSqlNode("#{item}")), "ids", null, null, null, "item", "(", ")", ",")),
+        16);
+    Map<String, Object> parameterObject = new HashMap<>();
+    parameterObject.put("ids", Arrays.asList(1, 2, 3));
+    assertEquals("SELECT * FROM BLOG WHERE ID IN (  ? , ? , ? , ? )", source.getBoundSql(parameterObject).getSql());
+    parameterObject.put("ids", Arrays.asList(1, 2, 3, 4));
+    assertEquals(4, source.getBoundSql(parameterObject).getAdditionalParameter("__frch_item_3"));
+    assertEquals(1, source.getPlanCacheHits());
+    assertEquals(1, source.getPlanCacheSize());
+  }
+
+  @Test
+  void shouldReusePlanWhenSameBranchesAreTaken() {
+    DynamicSqlSource source = new DynamicSqlSource(new Configuration(),
+        mixedContents(new TextSqlNode("SELECT * FROM BLOG"),
+            new WhereSqlNode(new Configuration(),
+                mixedContents(new IfSqlNode(mixedContents(new TextSqlNode("AND ID = #{id}")), "id != null"),
+                    new IfSqlNode(mixedContents(new TextSqlNode("AND NAME = #{name}")), "name != null")))),
+        16);
+    Map<String, Object> parameterObject = new HashMap<>();
+    parameterObject.put("id", 1);
+    BoundSql first = source.getBoundSql(parameterObject);
+    parameterObject.put("id", 2);
+    BoundSql second = source.getBoundSql(parameterObject);
+    assertEquals("SELECT * FROM BLOG WHERE  ID = ?", second.getSql());
+    assertEquals(first.getSql(), second.getSql());
+    assertEquals(first.getParameterMappings(), second.getParameterMappings());
+    assertEquals(2,
+        second.getParameterObject() instanceof Map ? ((Map<?, ?>) second.getParameterObject()).get("id") : null);
+    assertEquals(1, source.getPlanCacheHits());
+    assertEquals(1, source.getPlanCacheMisses());
+
+    parameterObject.put("name", "Steve");
+    assertEquals("SELECT * FROM BLOG WHERE  ID = ?AND NAME = ?", source.getBoundSql(parameterObject).getSql());
+    assertEquals(2, source.getPlanCacheMisses());
+    assertEquals(2, source.getPlanCacheSize());
+  }
+
+  @Test
+  void shouldKeyPlansOnForEachSizesAndSubstitutions() {
+    DynamicSqlSource source = new DynamicSqlSource(new Configuration(),
+        mixedContents(new TextSqlNode("SELECT * FROM ${table} WHERE ID IN"), new ForEachSqlNode(new Configuration(),
+            mixedContents(new TextSqlNode("#{item}")), "ids", null, "item", "(", ")", ",")),
+        16);
+    Map<String, Object> parameterObject = new HashMap<>();
+    parameterObject.put("table", "BLOG");
+    parameterObject.put("ids", Arrays.asList(1, 2));
+    assertEquals("SELECT * FROM BLOG WHERE ID IN (  ? , ? )", source.getBoundSql(parameterObject).getSql());
+    parameterObject.put("ids", Arrays.asList(1, 2, 3));
+    assertEquals("SELECT * FROM BLOG WHERE ID IN (  ? , ? , ? )", source.getBoundSql(parameterObject).getSql());
+    parameterObject.put("table", "POST");
+    assertEquals("SELECT * FROM POST WHERE ID IN (  ? , ? , ? )", source.getBoundSql(parameterObject).getSql());
+    parameterObject.put("ids", Arrays.asList("1", "2", "3"));
+    BoundSql boundSql = source.getBoundSql(parameterObject);
+    assertEquals(String.class, boundSql.getParameterMappings().get(0).getJavaType());
+    assertEquals("2", boundSql.getAdditionalParameter("__frch_item_1"));
+    assertEquals(0, source.getPlanCacheHits());
+    assertEquals(4, source.getPlanCacheMisses());
+  }
+
+  @Test
+  void shouldNotReusePlansWhoseTypesDependOnNestedValues() {
+    DynamicSqlSource source = new DynamicSqlSource(new Configuration(),
+        mixedContents(new TextSqlNode("SELECT * FROM BLOG WHERE ID IN"), new ForEachSqlNode(new Configuration(),
+            mixedContents(new TextSqlNode("#{item.id}")), "items", null, "item", "(", ")", ",")),
+        16);
+    Map<String, Object> item = new HashMap<>();
+    item.put("id", 1);
+    Map<String, Object> parameterObject = new HashMap<>();
+    parameterObject.put("items", Arrays.asList(item));
+    assertEquals(Integer.class, source.getBoundSql(parameterObject).getParameterMappings().get(0).getJavaType());
+    item.put("id", "1");
+    assertEquals(String.class, source.getBoundSql(parameterObject).getParameterMappings().get(0).getJavaType());
+    assertEquals(0, source.getPlanCacheHits());
+  }
+
+  @Test
+  void shouldBoundPlanCache() {
+    DynamicSqlSource source = new DynamicSqlSource(new Configuration(),
+        mixedContents(new IfSqlNode(mixedContents(new TextSqlNode("ID = #{id}")), "id != null")), 1);
+    Map<String, Object> parameterObject = new HashMap<>();
+    source.getBoundSql(parameterObject);
+    parameterObject.put("id", 1);
+    source.getBoundSql(parameterObject);
+    source.getBoundSql(parameterObject);
+    assertEquals(1, source.getPlanCacheSize());
+    assertEquals(0, source.getPlanCacheHits());
+    assertEquals(3, source.getPlanCacheMisses());
+  }
+
   private DynamicSqlSource createDynamicSqlSource(SqlNode... contents) throws IOException, SQLException {
     createBlogDataSource();
     final String resource = "org/apache/ibatis/builder/MapperConfig.xml";
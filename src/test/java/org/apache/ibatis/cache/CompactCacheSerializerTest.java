@@ -0,0 +1,223 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ObjectInputFilter;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.ibatis.cache.decorators.SerializedCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.serializer.CompactCacheSerializer;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Section;
+import org.junit.jupiter.api.Test;
+
+class CompactCacheSerializerTest {
+
+  private final CompactCacheSerializer serializer = new CompactCacheSerializer();
+
+  @Test
+  void shouldCopySimpleTypes() {
+    List<Object> values = Arrays.asList(null, "text\uD800", 1, -1L, (short) 2, (byte) 3, true, false, 'c', 1.5f, 2.5d,
+        new BigInteger("-123456789012345678901234567890"), new BigDecimal("-12.3450"), new Date(123456789L),
+        String.class, int.class, Section.NEWS, new UUID(-1L, 42L));
+    for (Object value : values) {
+      assertEquals(value, serializer.deserialize(serializer.serialize(value)));
+    }
+  }
+
+  @Test
+  void shouldCopyTemporalTypes() {
+    Timestamp timestamp = new Timestamp(987654321L);
+    timestamp.setNanos(123456789);
+    LocalDateTime dateTime = LocalDateTime.of(2026, 10, 17, 21, 30, 15, 123456789);
+    List<Object> values = Arrays.asList(LocalDate.of(2026, 10, 17), LocalDate.of(-5000, 1, 1),
+        LocalTime.of(23, 59, 59, 999999999), dateTime, Instant.ofEpochSecond(-1L, 5),
+        OffsetTime.of(LocalTime.NOON, ZoneOffset.ofHours(-8)), OffsetDateTime.of(dateTime, ZoneOffset.ofHours(2)),
+        ZonedDateTime.of(dateTime, ZoneId.of("Europe/Paris")), ZonedDateTime.of(dateTime, ZoneOffset.UTC),
+        new java.sql.Date(-987654321L), new Time(45296000L), timestamp);
+    for (Object value : values) {
+      Object copy = serializer.deserialize(serializer.serialize(value));
+      assertEquals(value.getClass(), copy.getClass());
+      assertEquals(value, copy);
+    }
+    assertThat(serializer.serialize(dateTime).length).isLessThan(16);
+  }
+
+  @Test
+  void shouldCopyBeansAndCollections() {
+    List<Object> list = new ArrayList<>();
+    Map<String, Object> map = new HashMap<>();
+    map.put("author", new Author(101, "jim", "********", "jim@ibatis.apache.org", "", Section.NEWS));
+    map.put("ids", new LinkedHashSet<>(Arrays.asList(3, 1, 2)));
+    map.put("bytes", new byte[] { 1, 2, 3 });
+    map.put("names", new String[] { "a", "b" });
+    map.put("ints", new int[] { 4, 5 });
+    list.add(map);
+    list.add(new Author(102, "sally", "********", "sally@ibatis.apache.org", null, Section.VIDEOS));
+
+    @SuppressWarnings("unchecked")
+    List<Object> copy = (List<Object>) serializer.deserialize(serializer.serialize(list));
+
+    assertEquals(ArrayList.class, copy.getClass());
+    assertNotSame(list.get(1), copy.get(1));
+    assertEquals(list.get(1), copy.get(1));
+    @SuppressWarnings("unchecked")
+    Map<String, Object> mapCopy = (Map<String, Object>) copy.get(0);
+    assertEquals(map.get("author"), mapCopy.get("author"));
+    assertEquals(LinkedHashSet.class, mapCopy.get("ids").getClass());
+    assertEquals(Arrays.asList(3, 1, 2), new ArrayList<>((Collection<?>) mapCopy.get("ids")));
+    assertArrayEquals((byte[]) map.get("bytes"), (byte[]) mapCopy.get("bytes"));
+    assertArrayEquals((String[]) map.get("names"), (String[]) mapCopy.get("names"));
+    assertArrayEquals((int[]) map.get("ints"), (int[]) mapCopy.get("ints"));
+  }
+
+  @Test
+  void shouldPreserveSharedReferencesAndCycles() {
+    Node parent = new Node("parent", null);
+    Node child = new Node("child", parent);
+    parent.children.add(child);
+    List<Node> list = new ArrayList<>(Arrays.asList(parent, child));
+
+    @SuppressWarnings("unchecked")
+    List<Node> copy = (List<Node>) serializer.deserialize(serializer.serialize(list));
+
+    Node parentCopy = copy.get(0);
+    assertEquals("parent", parentCopy.getName());
+    assertEquals(1, parentCopy.getId());
+    assertSame(copy.get(1), parentCopy.children.get(0));
+    assertSame(parentCopy, copy.get(1).parent);
+  }
+
+  @Test
+  void shouldBeSmallerThanJavaSerialization() {
+    List<Author> authors = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      authors.add(new Author(i, "user" + i, "********", "user" + i + "@ibatis.apache.org", "bio", Section.NEWS));
+    }
+    assertThat(serializer.serialize(authors).length).isLessThan(new JavaCacheSerializer().serialize(authors).length);
+  }
+
+  @Test
+  void shouldCopyValuesOfSerializedCache() {
+    SerializedCache cache = new SerializedCache(new PerpetualCache("default"), serializer, false);
+    Author author = new Author(101, "jim", "********", "jim@ibatis.apache.org", "", Section.NEWS);
+    cache.putObject("author", author);
+    assertEquals(author, cache.getObject("author"));
+    assertNotSame(cache.getObject("author"), cache.getObject("author"));
+  }
+
+  @Test
+  void shouldShareImmutableValuesOfSerializedCache() {
+    SerializedCache cache = new SerializedCache(new PerpetualCache("default"), serializer, true);
+    List<Object> list = new ArrayList<>(Arrays.asList("a", 1, Section.NEWS, null));
+    cache.putObject("list", list);
+    list.clear();
+
+    @SuppressWarnings("unchecked")
+    List<Object> copy = (List<Object>) cache.getObject("list");
+    assertEquals(Arrays.asList("a", 1, Section.NEWS, null), copy);
+    copy.clear();
+    assertEquals(4, ((List<?>) cache.getObject("list")).size());
+    String value = new String("value");
+    cache.putObject("value", value);
+    assertSame(value, cache.getObject("value"));
+  }
+
+  @Test
+  void shouldThrowCacheExceptionForNonSerializableValues() {
+    List<Object> list = new ArrayList<>();
+    list.add(new Object());
+    assertThrows(CacheException.class, () -> serializer.serialize(list));
+  }
+
+  @Test
+  void shouldApplySerialFilterToClassesRead() {
+    assumeTrue(ObjectInputFilter.Config.getSerialFilter() == null);
+    ObjectInputFilter.Config.setSerialFilter(ObjectInputFilter.Config.createFilter("!" + Rejected.class.getName()));
+    byte[] bytes = serializer.serialize(new ArrayList<>(Arrays.asList(new Node("node", null), new Rejected())));
+    CacheException e = assertThrows(CacheException.class, () -> serializer.deserialize(bytes));
+    assertThat(e).hasMessageContaining(Rejected.class.getName());
+    assertEquals("node", ((Node) serializer.deserialize(serializer.serialize(new Node("node", null)))).getName());
+  }
+
+  static class Rejected implements Serializable {
+    private static final long serialVersionUID = 1L;
+  }
+
+  static class Node extends Identified {
+    private static final long serialVersionUID = 1L;
+    private final String name;
+    private final Node parent;
+    private final List<Node> children = new ArrayList<>();
+    private transient String cachedName;
+
+    Node() {
+      this(null, null);
+    }
+
+    Node(String name, Node parent) {
+      this.name = name;
+      this.parent = parent;
+      this.cachedName = name;
+    }
+
+    String getName() {
+      return cachedName == null ? name : cachedName;
+    }
+  }
+
+  abstract static class Identified implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private int id = 1;
+
+    int getId() {
+      return id;
+    }
+  }
+
+}
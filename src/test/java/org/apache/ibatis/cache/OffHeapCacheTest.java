@@ -0,0 +1,125 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.ibatis.cache.decorators.LoggingCache;
+import org.apache.ibatis.cache.impl.OffHeapCache;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.mapping.CacheBuilder;
+import org.junit.jupiter.api.Test;
+
+class OffHeapCacheTest {
+
+  @Test
+  void shouldReturnCopiesOfValuesSpanningSeveralBlocks() throws Exception {
+    OffHeapCache cache = newCache(64 * 1024, 1024, 16);
+    List<Author> authors = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      authors.add(new Author(i, "user" + i, "********", "user" + i + "@ibatis.apache.org", "bio", Section.NEWS));
+    }
+    cache.putObject("authors", authors);
+    assertTrue(cache.getUsedBytes() > 16);
+    assertEquals(authors, cache.getObject("authors"));
+    assertNotSame(cache.getObject("authors"), cache.getObject("authors"));
+    assertNull(cache.getObject("other"));
+    assertEquals(3, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  void shouldReplaceRemoveAndClearValues() throws Exception {
+    OffHeapCache cache = newCache(1024, 256, 16);
+    cache.putObject(1, "one");
+    cache.putObject(1, "uno");
+    cache.putObject(2, null);
+    assertEquals(2, cache.getSize());
+    assertEquals("uno", cache.getObject(1));
+    cache.removeObject(1);
+    assertNull(cache.getObject(1));
+    assertEquals(1, cache.getSize());
+    cache.clear();
+    assertEquals(0, cache.getSize());
+    assertEquals(0, cache.getUsedBytes());
+    assertEquals(0, cache.getOccupiedBytes());
+  }
+
+  @Test
+  void shouldEvictValuesNotReadSinceTheHandPassed() throws Exception {
+    OffHeapCache cache = newCache(64, 32, 16);
+    cache.putObject(1, "a");
+    cache.putObject(2, "b");
+    cache.putObject(3, "c");
+    cache.putObject(4, "d");
+    assertEquals(64, cache.getOccupiedBytes());
+    assertEquals(64, cache.getAllocatedBytes());
+    cache.getObject(1);
+    cache.putObject(5, "e");
+    assertNotNull(cache.getObject(1));
+    assertNull(cache.getObject(2));
+    assertNotNull(cache.getObject(5));
+    assertEquals(1, cache.getEvictions());
+    assertEquals(4, cache.getSize());
+  }
+
+  @Test
+  void shouldNotCacheValuesLargerThanTheCache() throws Exception {
+    OffHeapCache cache = newCache(64, 64, 16);
+    cache.putObject("small", "value");
+    cache.putObject("large", new String(new char[100]));
+    assertEquals("value", cache.getObject("small"));
+    assertNull(cache.getObject("large"));
+  }
+
+  @Test
+  void shouldBeConfiguredByTheCacheBuilder() {
+    Properties properties = new Properties();
+    properties.setProperty("maxBytes", "4096");
+    properties.setProperty("blockSize", "128");
+    properties.setProperty("slabSize", "1024");
+    properties.setProperty("serializer", JavaCacheSerializer.class.getName());
+    Cache cache = new CacheBuilder("offheap").implementation(OffHeapCache.class).properties(properties).build();
+    assertEquals(LoggingCache.class, cache.getClass());
+    cache.putObject("key", 1);
+    assertEquals(1, cache.getObject("key"));
+
+    properties.setProperty("blockSize", "8192");
+    CacheBuilder builder = new CacheBuilder("invalid").implementation(OffHeapCache.class).properties(properties);
+    assertThrows(CacheException.class, builder::build);
+  }
+
+  private static OffHeapCache newCache(long maxBytes, int slabSize, int blockSize) throws Exception {
+    OffHeapCache cache = new OffHeapCache("default");
+    cache.setMaxBytes(maxBytes);
+    cache.setSlabSize(slabSize);
+    cache.setBlockSize(blockSize);
+    cache.initialize();
+    return cache;
+  }
+
+}
@@ -0,0 +1,130 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.cache.decorators.RefreshAheadCache;
+import org.apache.ibatis.cache.decorators.SynchronizedCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.junit.jupiter.api.Test;
+
+class RefreshAheadCacheTest {
+
+  private final List<Runnable> reloads = new ArrayList<>();
+
+  @Test
+  void shouldReloadEntriesReadBeforeTheyExpire() throws Exception {
+    RefreshAheadCache cache = newCache(400);
+    RefreshAheadCache.putObject(cache, "key", "old", () -> "new");
+    RefreshAheadCache.putObject(cache, "unread", "old", () -> "new");
+    assertEquals("old", cache.getObject("key"));
+    assertEquals(0, reloads.size());
+
+    Thread.sleep(250);
+    assertEquals("old", cache.getObject("key"));
+    assertEquals("old", cache.getObject("key"));
+    assertEquals(1, reloads.size());
+    runReloads();
+    assertEquals("new", cache.getObject("key"));
+
+    Thread.sleep(250);
+    // the reloaded entry got a new time to live, the unread one expired
+    assertEquals("new", cache.getObject("key"));
+    assertNull(cache.getObject("unread"));
+    assertEquals(1, cache.getSize());
+  }
+
+  @Test
+  void shouldExpireEntriesWithoutLoader() throws Exception {
+    RefreshAheadCache cache = newCache(100);
+    cache.putObject("key", "value");
+    assertEquals("value", cache.getObject("key"));
+    Thread.sleep(150);
+    assertNull(cache.getObject("key"));
+    assertEquals(0, reloads.size());
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  void shouldDiscardReloadsStartedBeforeClear() throws Exception {
+    RefreshAheadCache cache = newCache(400);
+    RefreshAheadCache.putObject(cache, "key", "old", () -> "new");
+    Thread.sleep(250);
+    assertEquals("old", cache.getObject("key"));
+    cache.clear();
+    runReloads();
+    assertNull(cache.getObject("key"));
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  void shouldLetEntriesExpireWhenTheyCannotBeReloaded() throws Exception {
+    RefreshAheadCache cache = newCache(400);
+    RefreshAheadCache.putObject(cache, "failing", "old", () -> {
+      throw new IllegalStateException("database down");
+    });
+    RefreshAheadCache.putObject(cache, "changed", "old", () -> null);
+    Thread.sleep(250);
+    assertEquals("old", cache.getObject("failing"));
+    assertEquals("old", cache.getObject("changed"));
+    runReloads();
+    // a failed reload is tried again by the next read
+    assertEquals("old", cache.getObject("failing"));
+    assertEquals("old", cache.getObject("changed"));
+    assertEquals(2, reloads.size());
+    reloads.clear();
+    Thread.sleep(200);
+    assertNull(cache.getObject("failing"));
+    assertNull(cache.getObject("changed"));
+  }
+
+  @Test
+  void shouldKeepNoMoreEntriesThanItsSize() {
+    PerpetualCache delegate = new PerpetualCache("default");
+    RefreshAheadCache cache = new RefreshAheadCache(new SynchronizedCache(delegate));
+    cache.setSize(2);
+    RefreshAheadCache.putObject(cache, "a", "a", () -> "a");
+    RefreshAheadCache.putObject(cache, "b", "b", () -> "b");
+    assertEquals("a", cache.getObject("a"));
+    RefreshAheadCache.putObject(cache, "c", "c", () -> "c");
+    // the least recently used entry is removed, with its loader
+    assertEquals(2, delegate.getSize());
+    assertNull(delegate.getObject("b"));
+    assertEquals("a", cache.getObject("a"));
+    assertEquals("c", cache.getObject("c"));
+  }
+
+  private RefreshAheadCache newCache(long timeToLive) {
+    RefreshAheadCache cache = new RefreshAheadCache(new SynchronizedCache(new PerpetualCache("default")));
+    cache.setTimeToLive(timeToLive);
+    cache.setRefreshAheadFactor(0.5);
+    cache.setExpiryJitter(0);
+    cache.setExecutor(reloads::add);
+    return cache;
+  }
+
+  private void runReloads() {
+    List<Runnable> pending = new ArrayList<>(reloads);
+    reloads.clear();
+    pending.forEach(Runnable::run);
+  }
+
+}
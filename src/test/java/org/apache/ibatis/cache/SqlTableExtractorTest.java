@@ -0,0 +1,75 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class SqlTableExtractorTest {
+
+  @Test
+  void shouldFindTablesRead() {
+    assertEquals(tables("BLOG"), SqlTableExtractor.readTables("select * from blog where id = ?"));
+    assertEquals(tables("BLOG", "AUTHOR", "POST"),
+        SqlTableExtractor.readTables("SELECT b.id FROM ibtest.blog b, \"Author\" a LEFT OUTER JOIN post p ON p.blog_id"
+            + " = b.id WHERE b.author_id = a.id AND p.subject <> 'from comment' -- join tag\n ORDER BY b.id"));
+    assertEquals(tables("BLOG", "POST", "COMMENT"), SqlTableExtractor.readTables(
+        "select * from blog where id in (select blog_id from post where id = ?) and exists (select 1 from comment)"));
+    assertEquals(tables("BLOG", "AUTHOR", "POST"), SqlTableExtractor
+        .readTables("select * from (blog b join author a on b.author_id = a.id), post /* from tag */ for update"));
+    assertEquals(tables("B", "BLOG", "POST"),
+        SqlTableExtractor.readTables("with b as (select * from blog) select * from b, post"));
+    assertEquals(Collections.emptySet(), SqlTableExtractor.readTables("select current_timestamp"));
+  }
+
+  @Test
+  void shouldNotFindTablesReadByCallsOrFunctions() {
+    assertNull(SqlTableExtractor.readTables("{call get_blogs(?)}"));
+    assertNull(SqlTableExtractor.readTables("select * from table(blogs_of(?))"));
+    assertNull(SqlTableExtractor.readTables("select * from blog; delete from blog"));
+  }
+
+  @Test
+  void shouldFindTablesWritten() {
+    assertEquals(tables("BLOG"), SqlTableExtractor.writtenTables("insert into blog (id, title) values (?, ?)"));
+    assertEquals(tables("BLOG"),
+        SqlTableExtractor.writtenTables("insert into ibtest.blog (id, title) select id, title from draft"));
+    assertEquals(tables("BLOG"), SqlTableExtractor
+        .writtenTables("update blog b set title = (select max(subject) from post where blog_id = b.id) where id = ?"));
+    assertEquals(tables("BLOG"), SqlTableExtractor.writtenTables("delete from blog where id in (select id from old)"));
+    assertEquals(tables("BLOG"), SqlTableExtractor.writtenTables(
+        "merge into blog b using draft d on b.id = d.id when matched then update" + " set b.title = d.title"));
+    assertEquals(tables("BLOG"), SqlTableExtractor.writtenTables("truncate table blog;"));
+  }
+
+  @Test
+  void shouldNotFindTablesWrittenByCalls() {
+    assertNull(SqlTableExtractor.writtenTables("call archive_blogs()"));
+    assertNull(SqlTableExtractor.writtenTables("delete from blog; delete from post"));
+  }
+
+  private static Set<String> tables(String... tables) {
+    return new LinkedHashSet<>(Arrays.asList(tables));
+  }
+
+}
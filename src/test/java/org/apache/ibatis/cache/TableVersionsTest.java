@@ -0,0 +1,70 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+class TableVersionsTest {
+
+  private final Configuration configuration = new Configuration();
+  private final TableVersions tableVersions = new TableVersions();
+
+  @Test
+  void shouldExtractTablesOfStaticStatementOnce() {
+    MappedStatement ms = statement(new StaticSqlSource(configuration, "update blog set title = ? where id = ?"));
+    assertEquals(Collections.singleton("BLOG"), tableVersions.getWrittenTables(ms, 1));
+    assertSame(tableVersions.getWrittenTables(ms, 1), tableVersions.getWrittenTables(ms, 2));
+  }
+
+  @Test
+  void shouldExtractTablesOfDynamicStatementsBeyondTheLimit() {
+    AtomicInteger calls = new AtomicInteger();
+    SqlSource sqlSource = parameter -> {
+      calls.incrementAndGet();
+      return new BoundSql(configuration, "delete from blog" + parameter, Collections.emptyList(), parameter);
+    };
+    MappedStatement ms = statement(sqlSource);
+    for (int i = 0; i < 3000; i++) {
+      assertEquals(Collections.singleton("BLOG" + i), tableVersions.getWrittenTables(ms, i));
+    }
+    assertEquals(Collections.singleton("BLOG2999"), tableVersions.getWrittenTables(ms, 2999));
+    assertEquals(3001, calls.get());
+  }
+
+  @Test
+  void shouldNotKnowTablesOfUnparsableStatements() {
+    MappedStatement ms = statement(new StaticSqlSource(configuration, "delete from blog; delete from post"));
+    assertNull(tableVersions.getWrittenTables(ms, null));
+  }
+
+  private MappedStatement statement(SqlSource sqlSource) {
+    return new MappedStatement.Builder(configuration, "statement", sqlSource, SqlCommandType.UPDATE).build();
+  }
+
+}
@@ -0,0 +1,57 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ibatis.cache.CacheInvalidation;
+import org.junit.jupiter.api.Test;
+
+class InProcessCacheInvalidationBusTest {
+
+  @Test
+  void shouldDeliverToOtherListenersWhenOneFails() {
+    String channel = InProcessCacheInvalidationBusTest.class.getName();
+    InProcessCacheInvalidationBus publisher = new InProcessCacheInvalidationBus(channel);
+    InProcessCacheInvalidationBus failing = new InProcessCacheInvalidationBus(channel);
+    InProcessCacheInvalidationBus other = new InProcessCacheInvalidationBus(channel);
+    List<CacheInvalidation> published = new ArrayList<>();
+    List<CacheInvalidation> received = new ArrayList<>();
+    try {
+      publisher.start(published::add);
+      failing.start(invalidation -> {
+        throw new IllegalStateException("failing listener");
+      });
+      other.start(received::add);
+
+      publisher.publish(new CacheInvalidation(Collections.emptySet(), Collections.singleton("BLOG")));
+
+      assertEquals(1, received.size());
+      assertEquals(Collections.singleton("BLOG"), received.get(0).getTables());
+      assertTrue(published.isEmpty());
+    } finally {
+      publisher.close();
+      failing.close();
+      other.close();
+    }
+  }
+
+}
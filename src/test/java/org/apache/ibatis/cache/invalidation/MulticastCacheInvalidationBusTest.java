@@ -0,0 +1,102 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheInvalidation;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+class MulticastCacheInvalidationBusTest {
+
+  @Test
+  void shouldDeliverInvalidationsToOtherNodesOnly() throws Exception {
+    int port = 40000 + (int) (Math.random() * 10000);
+    BlockingQueue<CacheInvalidation> received1 = new LinkedBlockingQueue<>();
+    BlockingQueue<CacheInvalidation> received2 = new LinkedBlockingQueue<>();
+    MulticastCacheInvalidationBus bus1 = newBus(port);
+    MulticastCacheInvalidationBus bus2 = newBus(port);
+    try {
+      start(bus1, received1);
+      start(bus2, received2);
+
+      bus1.publish(new CacheInvalidation(Collections.singleton("org.apache.ibatis.domain.blog.mappers.BlogMapper"),
+          new LinkedHashSet<>(Arrays.asList("BLOG", "POST"))));
+
+      CacheInvalidation invalidation = received2.poll(10, TimeUnit.SECONDS);
+      assertEquals(Collections.singleton("org.apache.ibatis.domain.blog.mappers.BlogMapper"),
+          invalidation.getCacheIds());
+      assertEquals(new LinkedHashSet<>(Arrays.asList("BLOG", "POST")), invalidation.getTables());
+      assertNull(received1.poll(200, TimeUnit.MILLISECONDS));
+    } finally {
+      bus1.close();
+      bus2.close();
+    }
+  }
+
+  @Test
+  void shouldSplitLargeInvalidations() throws Exception {
+    Set<String> tables = new LinkedHashSet<>();
+    for (int i = 0; i < 5000; i++) {
+      tables.add("TABLE_WITH_A_RATHER_LONG_NAME_" + i);
+    }
+    MulticastCacheInvalidationBus bus1 = new MulticastCacheInvalidationBus();
+    MulticastCacheInvalidationBus bus2 = new MulticastCacheInvalidationBus();
+
+    List<byte[]> datagrams = bus1.encode(new CacheInvalidation(Collections.singleton("cache"), tables));
+
+    assertEquals(4, datagrams.size());
+    Set<String> cacheIds = new LinkedHashSet<>();
+    Set<String> decodedTables = new LinkedHashSet<>();
+    for (byte[] datagram : datagrams) {
+      CacheInvalidation invalidation = bus2.decode(datagram, datagram.length);
+      cacheIds.addAll(invalidation.getCacheIds());
+      decodedTables.addAll(invalidation.getTables());
+      assertNull(bus1.decode(datagram, datagram.length));
+    }
+    assertEquals(Collections.singleton("cache"), cacheIds);
+    assertEquals(tables, decodedTables);
+  }
+
+  private static MulticastCacheInvalidationBus newBus(int port) {
+    MulticastCacheInvalidationBus bus = new MulticastCacheInvalidationBus();
+    bus.setPort(port);
+    bus.setNetworkInterface("lo");
+    bus.setTimeToLive(0);
+    return bus;
+  }
+
+  private static void start(MulticastCacheInvalidationBus bus, BlockingQueue<CacheInvalidation> received) {
+    try {
+      bus.start(received::add);
+    } catch (CacheException e) {
+      Assumptions.abort("Multicast is not available on the loopback interface: " + e);
+    }
+  }
+
+}
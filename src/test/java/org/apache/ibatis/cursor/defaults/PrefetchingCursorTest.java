@@ -0,0 +1,156 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cursor.defaults;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.junit.jupiter.api.Test;
+
+class PrefetchingCursorTest {
+
+  @Test
+  void shouldReturnRowsInOrderWithIndexes() {
+    PrefetchingCursor<String> cursor = new PrefetchingCursor<>(new ListCursor<>(Arrays.asList("a", null, "c")), 1);
+    assertEquals(-1, cursor.getCurrentIndex());
+    Iterator<String> iterator = cursor.iterator();
+    assertEquals("a", iterator.next());
+    assertEquals(0, cursor.getCurrentIndex());
+    assertTrue(cursor.isOpen());
+    assertEquals(null, iterator.next());
+    assertEquals("c", iterator.next());
+    assertEquals(2, cursor.getCurrentIndex());
+    assertFalse(iterator.hasNext());
+    assertTrue(cursor.isConsumed());
+    assertFalse(cursor.isOpen());
+  }
+
+  @Test
+  void shouldStopPrefetchingWhenClosed() {
+    ListCursor<Integer> delegate = new ListCursor<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8));
+    PrefetchingCursor<Integer> cursor = new PrefetchingCursor<>(delegate, 2);
+    Iterator<Integer> iterator = cursor.iterator();
+    assertEquals(1, iterator.next());
+    cursor.close();
+    assertTrue(delegate.closed);
+    assertTrue(delegate.fetched.get() < 8);
+    assertFalse(iterator.hasNext());
+    assertFalse(cursor.isConsumed());
+  }
+
+  @Test
+  void shouldReleaseAbandonedCursor() throws Exception {
+    ListCursor<Integer> delegate = new ListCursor<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8));
+    PrefetchingCursor<Integer> cursor = new PrefetchingCursor<>(delegate, 2, 200);
+    Iterator<Integer> iterator = cursor.iterator();
+    for (int i = 0; i < 100 && !delegate.closed; i++) {
+      Thread.sleep(20);
+    }
+    assertTrue(delegate.closed);
+    assertTrue(delegate.fetched.get() < 8);
+    assertThrows(PersistenceException.class, iterator::hasNext);
+    cursor.close();
+  }
+
+  @Test
+  void shouldRethrowFailureOfWorker() {
+    Cursor<String> delegate = new ListCursor<String>(Arrays.asList("a", "b")) {
+      @Override
+      String fetch(int index) {
+        if (index == 1) {
+          throw new IllegalStateException("broken row");
+        }
+        return super.fetch(index);
+      }
+    };
+    Iterator<String> iterator = new PrefetchingCursor<>(delegate, 4).iterator();
+    assertEquals("a", iterator.next());
+    assertEquals("broken row", assertThrows(IllegalStateException.class, iterator::hasNext).getMessage());
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  void shouldStreamAndCloseCursor() {
+    ListCursor<String> delegate = new ListCursor<>(Arrays.asList("a", "b", "c"));
+    try (Stream<String> stream = new PrefetchingCursor<>(delegate, 2).stream()) {
+      assertEquals(Arrays.asList("A", "B", "C"), stream.map(String::toUpperCase).collect(Collectors.toList()));
+    }
+    assertTrue(delegate.closed);
+  }
+
+  private static class ListCursor<T> implements Cursor<T> {
+    private final List<T> rows;
+    private final AtomicInteger fetched = new AtomicInteger();
+    private volatile boolean closed;
+
+    ListCursor(List<T> rows) {
+      this.rows = rows;
+    }
+
+    T fetch(int index) {
+      return rows.get(index);
+    }
+
+    @Override
+    public boolean isOpen() {
+      return fetched.get() > 0 && !closed;
+    }
+
+    @Override
+    public boolean isConsumed() {
+      return fetched.get() == rows.size();
+    }
+
+    @Override
+    public int getCurrentIndex() {
+      return fetched.get() - 1;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      return new Iterator<T>() {
+        @Override
+        public boolean hasNext() {
+          return !closed && fetched.get() < rows.size();
+        }
+
+        @Override
+        public T next() {
+          T row = fetch(fetched.get());
+          fetched.incrementAndGet();
+          return row;
+        }
+      };
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+}
@@ -0,0 +1,215 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentPooledDataSourceTest {
+
+  ConcurrentPooledDataSource dataSource;
+
+  @BeforeEach
+  void beforeEach() {
+    dataSource = new ConcurrentPooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:concurrentpool", "sa", "");
+  }
+
+  @Test
+  void shouldBlockUntilConnectionIsAvailable() throws Exception {
+    dataSource.setPoolMaximumCheckoutTime(20000);
+
+    List<Connection> connections = new ArrayList<>();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    for (int i = 0; i < dataSource.getPoolMaximumActiveConnections(); i++) {
+      connections.add(dataSource.getConnection());
+    }
+
+    new Thread(() -> {
+      try {
+        dataSource.getConnection();
+        latch.countDown();
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }).start();
+
+    assertFalse(latch.await(1000, TimeUnit.MILLISECONDS));
+    connections.get(0).close();
+    assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+    assertEquals(1, dataSource.getPoolState().getHadToWaitCount());
+  }
+
+  @Test
+  void shouldReuseConnectionReturnedBySameThread() throws Exception {
+    Connection connection = dataSource.getConnection();
+    Connection realConnection = PooledDataSource.unwrapConnection(connection);
+    connection.close();
+
+    Connection reused = dataSource.getConnection();
+    assertSame(realConnection, PooledDataSource.unwrapConnection(reused));
+    assertEquals(1, dataSource.getPoolState().getActiveConnectionCount());
+    assertEquals(0, dataSource.getPoolState().getIdleConnectionCount());
+  }
+
+  @Test
+  void shouldNotAllowUseOfClosedConnection() throws Exception {
+    Connection connection = dataSource.getConnection();
+    connection.close();
+    assertThrows(SQLException.class, connection::createStatement);
+
+    // closing twice must not return the connection to the pool again
+    connection.close();
+    assertEquals(1, dataSource.getPoolState().getIdleConnectionCount());
+    assertEquals(1, dataSource.getPoolState().getBadConnectionCount());
+  }
+
+  @Test
+  void shouldEnsureCorrectIdleConnectionCount() throws Exception {
+    dataSource.setPoolMaximumActiveConnections(10);
+    dataSource.setPoolMaximumIdleConnections(5);
+
+    PoolState poolState = dataSource.getPoolState();
+    List<Connection> connections = new ArrayList<>();
+
+    for (int i = 0; i < dataSource.getPoolMaximumActiveConnections(); i++) {
+      connections.add(dataSource.getConnection());
+    }
+
+    assertEquals(0, poolState.getIdleConnectionCount());
+
+    for (int i = 0; i < dataSource.getPoolMaximumActiveConnections(); i++) {
+      connections.get(i).close();
+    }
+
+    assertEquals(dataSource.getPoolMaximumIdleConnections(), poolState.getIdleConnectionCount());
+
+    for (int i = 0; i < dataSource.getPoolMaximumIdleConnections(); i++) {
+      dataSource.getConnection();
+    }
+
+    assertEquals(0, poolState.getIdleConnectionCount());
+  }
+
+  @Test
+  void connectionShouldBeAvailableAfterMaximumCheckoutTime() throws Exception {
+    dataSource.setPoolMaximumCheckoutTime(1000);
+    dataSource.setPoolTimeToWait(500);
+
+    int poolMaximumActiveConnections = dataSource.getPoolMaximumActiveConnections();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    for (int i = 0; i < poolMaximumActiveConnections; i++) {
+      dataSource.getConnection();
+    }
+
+    new Thread(() -> {
+      try {
+        dataSource.getConnection();
+        latch.countDown();
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }).start();
+
+    assertTrue(latch.await(5000, TimeUnit.MILLISECONDS));
+    assertEquals(1, dataSource.getPoolState().getClaimedOverdueConnectionCount());
+  }
+
+  @Test
+  void forceCloseAllShouldRemoveAllActiveAndIdleConnection() throws SQLException {
+    dataSource.setPoolMaximumActiveConnections(10);
+    dataSource.setPoolMaximumIdleConnections(5);
+
+    PoolState poolState = dataSource.getPoolState();
+    List<Connection> connections = new ArrayList<>();
+
+    for (int i = 0; i < dataSource.getPoolMaximumActiveConnections(); i++) {
+      connections.add(dataSource.getConnection());
+    }
+
+    for (int i = 0; i < dataSource.getPoolMaximumIdleConnections(); i++) {
+      connections.get(i).close();
+    }
+
+    assertEquals(dataSource.getPoolMaximumActiveConnections() - poolState.getIdleConnectionCount(),
+        poolState.getActiveConnectionCount());
+    assertEquals(dataSource.getPoolMaximumIdleConnections(), poolState.getIdleConnectionCount());
+
+    dataSource.forceCloseAll();
+
+    assertEquals(0, poolState.getActiveConnectionCount());
+    assertEquals(0, poolState.getIdleConnectionCount());
+  }
+
+  @Test
+  void shouldNeverExceedMaximumActiveConnectionsUnderContention() throws Exception {
+    dataSource.setPoolMaximumActiveConnections(4);
+    dataSource.setPoolMaximumIdleConnections(4);
+
+    int threads = 16;
+    int iterations = 200;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < iterations; j++) {
+            try (Connection connection = dataSource.getConnection()) {
+              assertTrue(dataSource.getPoolState().getActiveConnectionCount() <= 4);
+              connection.isClosed();
+            }
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    PoolState poolState = dataSource.getPoolState();
+    assertEquals(threads * iterations, poolState.getRequestCount());
+    assertEquals(0, poolState.getActiveConnectionCount());
+    assertTrue(poolState.getIdleConnectionCount() <= 4);
+  }
+
+  @Test
+  void shouldBeRegisteredAsTypeAlias() {
+    Configuration configuration = new Configuration();
+    assertEquals(ConcurrentPooledDataSourceFactory.class,
+        configuration.getTypeAliasRegistry().resolveAlias("CONCURRENT_POOLED"));
+  }
+}
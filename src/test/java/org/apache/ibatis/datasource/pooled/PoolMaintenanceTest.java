@@ -0,0 +1,156 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class PoolMaintenanceTest {
+
+  private PooledDataSource dataSource;
+
+  static Stream<Arguments> dataSources() {
+    return Stream.of(
+        Arguments.of("pooled",
+            (Supplier<PooledDataSource>) () -> new PooledDataSource("org.hsqldb.jdbcDriver",
+                "jdbc:hsqldb:mem:poolmaintenance", "sa", "")),
+        Arguments.of("concurrent pooled",
+            (Supplier<PooledDataSource>) () -> new ConcurrentPooledDataSource("org.hsqldb.jdbcDriver",
+                "jdbc:hsqldb:mem:poolmaintenance", "sa", "")));
+  }
+
+  @AfterEach
+  void afterEach() {
+    if (dataSource != null) {
+      dataSource.setPoolMaintenanceInterval(0);
+      dataSource.forceCloseAll();
+    }
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("dataSources")
+  void shouldOpenMinimumIdleConnections(String name, Supplier<PooledDataSource> factory) throws Exception {
+    dataSource = factory.get();
+    dataSource.setPoolMinimumIdleConnections(3);
+    dataSource.setPoolMaintenanceInterval(50);
+
+    PoolState poolState = dataSource.getPoolState();
+    assertTrue(awaitIdleConnectionCount(poolState, 3));
+    assertEquals(0, poolState.getActiveConnectionCount());
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("dataSources")
+  void shouldCloseIdleConnectionsButKeepMinimum(String name, Supplier<PooledDataSource> factory) throws Exception {
+    dataSource = factory.get();
+    dataSource.setPoolMaximumIdleTime(100);
+    dataSource.setPoolMinimumIdleConnections(1);
+
+    PoolState poolState = dataSource.getPoolState();
+    List<Connection> connections = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      connections.add(dataSource.getConnection());
+    }
+    for (Connection connection : connections) {
+      connection.close();
+    }
+    assertEquals(3, poolState.getIdleConnectionCount());
+
+    dataSource.setPoolMaintenanceInterval(50);
+    assertTrue(awaitIdleConnectionCount(poolState, 1));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("dataSources")
+  void shouldCloseConnectionsPastMaximumLifetime(String name, Supplier<PooledDataSource> factory) throws Exception {
+    dataSource = factory.get();
+    dataSource.setPoolMaximumConnectionLifetime(100);
+    dataSource.setPoolMaintenanceInterval(50);
+
+    PoolState poolState = dataSource.getPoolState();
+    dataSource.getConnection().close();
+    assertTrue(awaitIdleConnectionCount(poolState, 0));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("dataSources")
+  void shouldDiscardBrokenIdleConnections(String name, Supplier<PooledDataSource> factory) throws Exception {
+    dataSource = factory.get();
+    dataSource.setPoolPingEnabled(true);
+    dataSource.setPoolPingQuery("SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS");
+    dataSource.setPoolMaintenanceInterval(50);
+
+    PoolState poolState = dataSource.getPoolState();
+    Connection connection = dataSource.getConnection();
+    Connection realConnection = PooledDataSource.unwrapConnection(connection);
+    connection.close();
+    realConnection.close();
+
+    assertTrue(awaitIdleConnectionCount(poolState, 0));
+    assertEquals(1, poolState.getBadConnectionCount());
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("dataSources")
+  void shouldNotPingOnCheckoutWhenMaintained(String name, Supplier<PooledDataSource> factory) throws Exception {
+    dataSource = factory.get();
+    dataSource.setPoolPingEnabled(true);
+    dataSource.setPoolPingConnectionsNotUsedFor(200);
+    // fails whenever it is sent
+    dataSource.setPoolPingQuery("SELECT 1 FROM NO_SUCH_TABLE");
+
+    PoolState poolState = dataSource.getPoolState();
+    dataSource.getConnection().close();
+    Thread.sleep(300);
+    dataSource.getConnection().close();
+    // without maintenance, the checkout pings the connection and discards it
+    assertEquals(1, poolState.getBadConnectionCount());
+
+    // the first run of the maintenance task is an hour away
+    dataSource.setPoolMaintenanceInterval(3600000);
+    Connection connection = dataSource.getConnection();
+    Connection realConnection = PooledDataSource.unwrapConnection(connection);
+    connection.close();
+    Thread.sleep(300);
+    connection = dataSource.getConnection();
+    assertSame(realConnection, PooledDataSource.unwrapConnection(connection));
+    connection.close();
+    assertEquals(1, poolState.getBadConnectionCount());
+  }
+
+  private static boolean awaitIdleConnectionCount(PoolState poolState, int expected) throws InterruptedException {
+    for (int i = 0; i < 100; i++) {
+      if (poolState.getIdleConnectionCount() == expected) {
+        return true;
+      }
+      Thread.sleep(20);
+    }
+    return false;
+  }
+
+}
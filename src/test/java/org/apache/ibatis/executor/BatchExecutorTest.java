@@ -15,7 +15,18 @@
  */
 package org.apache.ibatis.executor;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
 import org.junit.jupiter.api.Test;
 
 class BatchExecutorTest extends BaseExecutorTest {
@@ -24,6 +35,116 @@ class BatchExecutorTest extends BaseExecutorTest {
   void dummy() {
   }
 
+  @Test
+  void shouldBatchInterleavedStatementsPerSql() throws Exception {
+    config.setGroupBatchStatements(true);
+    Executor executor = createExecutor(new JdbcTransaction(ds, null, false));
+    try {
+      MappedStatement insertStatement = ExecutorTestHelper.prepareInsertAuthorMappedStatement(config);
+      MappedStatement updateStatement = ExecutorTestHelper.prepareUpdateAuthorMappedStatement(config);
+      MappedStatement selectStatement = ExecutorTestHelper.prepareSelectOneAuthorMappedStatement(config);
+      executor.update(insertStatement, author(500));
+      executor.update(updateStatement, new Author(101, "first", "******", "first@apache.org", null, Section.NEWS));
+      executor.update(insertStatement, author(501));
+      executor.update(updateStatement, new Author(101, "second", "******", "second@apache.org", null, Section.NEWS));
+      List<BatchResult> results = executor.flushStatements();
+      assertEquals(2, results.size());
+      assertSame(insertStatement, results.get(0).getMappedStatement());
+      assertArrayEquals(new int[] { 1, 1 }, results.get(0).getUpdateCounts());
+      assertSame(updateStatement, results.get(1).getMappedStatement());
+      assertArrayEquals(new int[] { 1, 1 }, results.get(1).getUpdateCounts());
+      List<Author> authors = executor.query(selectStatement, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      assertEquals("second", authors.get(0).getUsername());
+      assertEquals(1, executor.query(selectStatement, 501, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER).size());
+    } finally {
+      executor.rollback(true);
+      executor.close(false);
+    }
+  }
+
+  @Test
+  void shouldExecuteFullBatchesWithTheBatchesOpenedBefore() throws Exception {
+    config.setGroupBatchStatements(true);
+    config.setBatchFlushRows(2);
+    Executor executor = createExecutor(new JdbcTransaction(ds, null, false));
+    try {
+      MappedStatement insertStatement = ExecutorTestHelper.prepareInsertAuthorMappedStatement(config);
+      MappedStatement updateStatement = ExecutorTestHelper.prepareUpdateAuthorMappedStatement(config);
+      Author updated = new Author(101, "someone", "******", "someone@apache.org", null, Section.NEWS);
+      executor.update(insertStatement, author(500));
+      executor.update(updateStatement, updated);
+      executor.update(updateStatement, updated);
+      executor.update(insertStatement, author(501));
+      executor.update(insertStatement, author(502));
+      executor.update(insertStatement, author(503));
+      List<BatchResult> results = executor.flushStatements();
+      assertEquals(4, results.size());
+      // the insert batch opened before the full update batch, the update batch, the full insert batch, the rest
+      assertSame(insertStatement, results.get(0).getMappedStatement());
+      assertEquals(1, results.get(0).getUpdateCounts().length);
+      assertSame(updateStatement, results.get(1).getMappedStatement());
+      assertEquals(2, results.get(1).getUpdateCounts().length);
+      assertSame(insertStatement, results.get(2).getMappedStatement());
+      assertEquals(2, results.get(2).getUpdateCounts().length);
+      assertSame(insertStatement, results.get(3).getMappedStatement());
+      assertEquals(1, results.get(3).getUpdateCounts().length);
+      assertEquals(503, ((Author) results.get(3).getParameterObjects().get(0)).getId());
+    } finally {
+      executor.rollback(true);
+      executor.close(false);
+    }
+  }
+
+  @Test
+  void shouldExecuteBatchWhenItsParametersExceedTheSize() throws Exception {
+    config.setBatchFlushBytes(1);
+    Executor executor = createExecutor(new JdbcTransaction(ds, null, false));
+    try {
+      MappedStatement insertStatement = ExecutorTestHelper.prepareInsertAuthorMappedStatement(config);
+      executor.update(insertStatement, author(500));
+      executor.update(insertStatement, author(501));
+      executor.update(insertStatement, author(502));
+      List<BatchResult> results = executor.flushStatements();
+      assertEquals(3, results.size());
+      for (BatchResult result : results) {
+        assertArrayEquals(new int[] { 1 }, result.getUpdateCounts());
+      }
+      assertEquals(0, executor.flushStatements().size());
+    } finally {
+      executor.rollback(true);
+      executor.close(false);
+    }
+  }
+
+  @Test
+  void shouldRewriteInsertsAsMultiRowInserts() throws Exception {
+    config.setRewriteBatchedInserts(true);
+    config.setBatchInsertMaxParameters(12);
+    Executor executor = createExecutor(new JdbcTransaction(ds, null, false));
+    try {
+      MappedStatement insertStatement = ExecutorTestHelper.prepareInsertAuthorMappedStatement(config);
+      MappedStatement selectStatement = ExecutorTestHelper.prepareSelectOneAuthorMappedStatement(config);
+      for (int id = 500; id < 505; id++) {
+        executor.update(insertStatement, author(id));
+      }
+      List<BatchResult> results = executor.flushStatements();
+      assertEquals(1, results.size());
+      assertEquals(5, results.get(0).getParameterObjects().size());
+      assertArrayEquals(new int[] { 1, 1, 1, 1, 1 }, results.get(0).getUpdateCounts());
+      for (int id = 500; id < 505; id++) {
+        List<Author> authors = executor.query(selectStatement, id, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+        assertEquals(author(id).toString(), authors.get(0).toString());
+      }
+    } finally {
+      executor.rollback(true);
+      executor.close(false);
+    }
+  }
+
+  private static Author author(int id) {
+    return new Author(id, "someone" + id, "******", "someone@apache.org", null, Section.NEWS);
+  }
+
   @Override
   protected Executor createExecutor(Transaction transaction) {
     return new BatchExecutor(config, transaction);
@@ -0,0 +1,71 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedLocalCacheTest {
+
+  @Test
+  void shouldEvictLeastRecentlyUsedListsOnlyWhenTrimmed() {
+    BoundedLocalCache cache = new BoundedLocalCache("LocalCache", 2, 0);
+    cache.putObject("a", Arrays.asList(1));
+    cache.putObject("b", Arrays.asList(2));
+    cache.putObject("c", Arrays.asList(3));
+    assertEquals(3, cache.getSize());
+    assertNotNull(cache.getObject("a"));
+    cache.trim();
+    assertEquals(2, cache.getSize());
+    assertNotNull(cache.getObject("a"));
+    assertNull(cache.getObject("b"));
+    assertNotNull(cache.getObject("c"));
+  }
+
+  @Test
+  void shouldEvictListsBeyondTheMaximumRows() {
+    BoundedLocalCache cache = new BoundedLocalCache("LocalCache", 0, 3);
+    cache.putObject("small", Arrays.asList(1, 2));
+    cache.putObject("large", Arrays.asList(1, 2, 3, 4));
+    assertEquals(6, cache.getRows());
+    cache.trim();
+    assertNull(cache.getObject("small"));
+    cache.trim();
+    assertNull(cache.getObject("large"));
+    assertEquals(0, cache.getRows());
+  }
+
+  @Test
+  void shouldCountTheRowsCachedEvenIfTheListChanges() {
+    BoundedLocalCache cache = new BoundedLocalCache("LocalCache", 0, 10);
+    List<Integer> list = new ArrayList<>(Arrays.asList(1, 2, 3));
+    cache.putObject("list", list);
+    list.clear();
+    cache.putObject("placeholder", ExecutionPlaceholder.EXECUTION_PLACEHOLDER);
+    assertEquals(3, cache.getRows());
+    cache.removeObject("list");
+    assertEquals(0, cache.getRows());
+    assertEquals(1, cache.getSize());
+  }
+
+}
@@ -0,0 +1,48 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MultiRowInsertTest {
+
+  @Test
+  void shouldRepeatValuesList() {
+    MultiRowInsert insert = MultiRowInsert.parse("insert into users (id, name) values(?, concat('?', ?))", 2);
+    assertNotNull(insert);
+    assertEquals("insert into users (id, name) values (?, concat('?', ?))", insert.getSql(1));
+    assertEquals("insert into users (id, name) values (?, concat('?', ?)), (?, concat('?', ?))", insert.getSql(2));
+    assertEquals(500, insert.getRowsPerStatement(1000));
+    assertEquals(1, insert.getRowsPerStatement(1));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "insert into users (id, name) select ?, ? from dual",
+      "insert into users (id, name) values (?, ?), (?, ?)",
+      "insert into users (id, name) values (?, ?) on conflict do nothing",
+      "insert into users (id, name) values (?, ?) returning id", "insert into users (id, name) values (?)",
+      "insert into users (id, \"values\") select ? from users where name = ?", "update users set values_count = ?" })
+  void shouldNotRewriteOtherStatements(String sql) {
+    assertNull(MultiRowInsert.parse(sql, 2), sql);
+  }
+
+}
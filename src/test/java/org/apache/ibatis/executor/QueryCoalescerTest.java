@@ -0,0 +1,151 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QueryCoalescerTest {
+
+  private final QueryCoalescer coalescer = new QueryCoalescer();
+  private final Cache cache = new PerpetualCache("default");
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldShareOneQueryBetweenConcurrentCallers() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger executions = new AtomicInteger();
+    List<String> result = Arrays.asList("a", "b");
+    QueryCoalescer.Query<String> query = () -> {
+      executions.incrementAndGet();
+      awaitQuietly(release);
+      return result;
+    };
+
+    Future<List<String>> leader = executor.submit(() -> coalescer.query(cache, key("select"), query));
+    awaitInFlight(1);
+    List<Future<List<String>>> waiters = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      waiters.add(executor.submit(() -> coalescer.query(cache, key("select"), query)));
+    }
+    Thread.sleep(200);
+    release.countDown();
+
+    assertSame(result, leader.get(5, TimeUnit.SECONDS));
+    for (Future<List<String>> waiter : waiters) {
+      List<String> list = waiter.get(5, TimeUnit.SECONDS);
+      assertNotSame(result, list);
+      assertEquals(result, list);
+    }
+    assertEquals(1, executions.get());
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  @Test
+  void shouldPropagateFailureToEveryWaiter() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    SQLException failure = new SQLException("boom");
+    QueryCoalescer.Query<String> query = () -> {
+      awaitQuietly(release);
+      throw failure;
+    };
+
+    Future<List<String>> leader = executor.submit(() -> coalescer.query(cache, key("select"), query));
+    awaitInFlight(1);
+    Future<List<String>> waiter = executor.submit(() -> coalescer.query(cache, key("select"), query));
+    Thread.sleep(200);
+    release.countDown();
+
+    ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+    ExecutionException waiterFailure = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+    assertSame(failure, leaderFailure.getCause());
+    assertSame(failure, waiterFailure.getCause());
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  @Test
+  void shouldNotShareQueriesWithDifferentKeys() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger executions = new AtomicInteger();
+    QueryCoalescer.Query<String> query = () -> {
+      executions.incrementAndGet();
+      awaitQuietly(release);
+      return new ArrayList<>();
+    };
+
+    Future<List<String>> first = executor.submit(() -> coalescer.query(cache, key("first"), query));
+    Future<List<String>> second = executor.submit(() -> coalescer.query(cache, key("second"), query));
+    awaitInFlight(2);
+    release.countDown();
+
+    first.get(5, TimeUnit.SECONDS);
+    second.get(5, TimeUnit.SECONDS);
+    assertEquals(2, executions.get());
+  }
+
+  private CacheKey key(String sql) {
+    CacheKey key = new CacheKey();
+    key.update(sql);
+    return key;
+  }
+
+  private void awaitInFlight(int count) throws InterruptedException {
+    for (int i = 0; i < 250 && coalescer.getInFlightCount() < count; i++) {
+      Thread.sleep(20);
+    }
+    assertEquals(count, coalescer.getInFlightCount());
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
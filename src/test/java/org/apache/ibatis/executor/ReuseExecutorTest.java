@@ -15,7 +15,15 @@
  */
 package org.apache.ibatis.executor;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
 import org.junit.jupiter.api.Test;
 
 class ReuseExecutorTest extends BaseExecutorTest {
@@ -24,6 +32,58 @@ class ReuseExecutorTest extends BaseExecutorTest {
   void dummy() {
   }
 
+  @Test
+  void shouldCloseLeastRecentlyUsedStatements() throws Exception {
+    config.setReuseStatementCacheSize(1);
+    ReuseExecutor executor = new ReuseExecutor(config, new JdbcTransaction(ds, null, false));
+    try {
+      MappedStatement selectOne = ExecutorTestHelper.prepareSelectOneAuthorMappedStatement(config);
+      MappedStatement selectAll = ExecutorTestHelper.prepareSelectAllAuthorsAutoMappedStatement(config);
+      executor.query(selectOne, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      executor.clearLocalCache();
+      executor.query(selectOne, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      executor.query(selectAll, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      executor.clearLocalCache();
+      executor.query(selectOne, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      StatementCache statementCache = executor.getStatementCache();
+      assertEquals(1, statementCache.getSize());
+      assertEquals(1, statementCache.getHits());
+      assertEquals(3, statementCache.getMisses());
+      assertEquals(2, statementCache.getEvictions());
+      executor.flushStatements();
+      assertEquals(0, statementCache.getSize());
+    } finally {
+      executor.rollback(true);
+      executor.close(false);
+    }
+  }
+
+  @Test
+  void shouldReuseStatementsAcrossSessions() throws Exception {
+    config.setReuseStatementsAcrossSessions(true);
+    PooledDataSource pooledDataSource = BaseDataTest.createPooledDataSource(BaseDataTest.BLOG_PROPERTIES);
+    try {
+      MappedStatement selectOne = ExecutorTestHelper.prepareSelectOneAuthorMappedStatement(config);
+      for (int i = 0; i < 2; i++) {
+        ReuseExecutor executor = new ReuseExecutor(config, new JdbcTransaction(pooledDataSource, null, false));
+        try {
+          assertSame(config.getStatementCache(), executor.getStatementCache());
+          executor.query(selectOne, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+          executor.commit(true);
+        } finally {
+          executor.close(false);
+        }
+      }
+      StatementCache statementCache = config.getStatementCache();
+      assertEquals(1, statementCache.getSize());
+      assertEquals(1, statementCache.getHits());
+      assertEquals(1, statementCache.getMisses());
+    } finally {
+      pooledDataSource.forceCloseAll();
+      config.getStatementCache().clear();
+    }
+  }
+
   @Override
   @Test
   public void shouldFetchPostWithBlogWithCompositeKey() throws Exception {
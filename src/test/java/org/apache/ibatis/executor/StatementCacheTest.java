@@ -0,0 +1,109 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.Test;
+
+class StatementCacheTest {
+
+  private final StatementCache cache = new StatementCache();
+
+  @Test
+  void shouldCloseLeastRecentlyUsedStatements() throws SQLException {
+    Connection connection = mock(Connection.class);
+    Statement a = statement(connection);
+    Statement b = statement(connection);
+    Statement c = statement(connection);
+    cache.put(connection, "a", a, 2, stmt -> false);
+    cache.put(connection, "b", b, 2, stmt -> false);
+    assertSame(a, cache.get(connection, "a"));
+    cache.put(connection, "c", c, 2, stmt -> false);
+    verify(b).close();
+    verify(a, never()).close();
+    assertNull(cache.get(connection, "b"));
+    assertSame(c, cache.get(connection, "c"));
+    assertEquals(2, cache.getSize());
+    assertEquals(2, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.getEvictions());
+  }
+
+  @Test
+  void shouldNotCloseStatementsInUse() throws SQLException {
+    Connection connection = mock(Connection.class);
+    Statement a = statement(connection);
+    Statement b = statement(connection);
+    Statement c = statement(connection);
+    cache.put(connection, "a", a, 1, stmt -> false);
+    cache.put(connection, "b", b, 1, stmt -> stmt == a);
+    cache.put(connection, "c", c, 1, stmt -> stmt == a);
+    verify(a, never()).close();
+    verify(b).close();
+    assertEquals(2, cache.getSize());
+    cache.put(connection, "c", c, 1, stmt -> false);
+    verify(a).close();
+    assertEquals(1, cache.getSize());
+  }
+
+  @Test
+  void shouldKeepTheStatementsOfEachConnection() throws SQLException {
+    Connection first = mock(Connection.class);
+    Connection second = mock(Connection.class);
+    Statement a = statement(first);
+    Statement b = statement(second);
+    cache.put(first, "select", a, 1, stmt -> false);
+    cache.put(second, "select", b, 1, stmt -> false);
+    assertSame(a, cache.get(first, "select"));
+    assertSame(b, cache.get(second, "select"));
+    cache.clear(first);
+    verify(a).close();
+    assertNull(cache.get(first, "select"));
+    assertEquals(0, cache.getEvictions());
+  }
+
+  @Test
+  void shouldDropTheStatementsOfClosedConnections() throws SQLException {
+    Connection closed = mock(Connection.class);
+    Connection open = mock(Connection.class);
+    Statement a = statement(closed);
+    cache.put(closed, "select", a, 0, stmt -> false);
+    when(closed.isClosed()).thenReturn(true);
+    assertNull(cache.get(closed, "select"));
+    cache.put(closed, "select", a, 0, stmt -> false);
+    cache.put(open, "select", statement(open), 0, stmt -> false);
+    verify(a).close();
+    assertEquals(1, cache.getSize());
+  }
+
+  private Statement statement(Connection connection) throws SQLException {
+    Statement statement = mock(Statement.class);
+    when(statement.getConnection()).thenReturn(connection);
+    return statement;
+  }
+
+}
@@ -27,6 +27,7 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.ArrayList;
 
+import org.apache.ibatis.cache.serializer.CompactCacheSerializer;
 import org.apache.ibatis.domain.blog.Author;
 import org.apache.ibatis.domain.blog.Section;
 import org.apache.ibatis.executor.ExecutorException;
@@ -180,6 +181,20 @@ public abstract class SerializableProxyTest {
     Assertions.assertThrows(ExecutorException.class, author2::getId);
   }
 
+  @Test
+  void shouldSerializeTheStateOfAProxyWhateverTheCacheSerializer() throws Exception {
+    Configuration configuration = new Configuration();
+    configuration.setCacheSerializer(CompactCacheSerializer.class);
+    ResultLoaderMap loader = new ResultLoaderMap();
+    loader.addLoader("id", null, null);
+    Object proxy = proxyFactory.createProxy(author, loader, configuration, new DefaultObjectFactory(),
+        new ArrayList<>(), new ArrayList<>());
+    Author author2 = (Author) deserialize(serialize(deserialize(serialize((Serializable) proxy))));
+    assertEquals("someone", author2.getUsername());
+    assertEquals(Section.NEWS, author2.getFavouriteSection());
+    Assertions.assertThrows(ExecutorException.class, author2::getId);
+  }
+
   @Test
   void shouldLetReadALoadedPropertyAfterSerialization() throws Exception {
     Object proxy = proxyFactory.createProxy(author, new ResultLoaderMap(), new Configuration(),
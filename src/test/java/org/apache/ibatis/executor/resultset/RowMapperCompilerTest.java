@@ -0,0 +1,167 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.type.TypeHandler;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+import org.junit.jupiter.api.Test;
+
+class RowMapperCompilerTest {
+
+  private final RowMapperCompiler compiler = new RowMapperCompiler();
+  private final ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+  private final TypeHandlerRegistry registry = new TypeHandlerRegistry();
+
+  @Test
+  void shouldSetPropertiesFromColumns() throws Exception {
+    CompiledRowMapper rowMapper = compileUser();
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getInt("ID")).thenReturn(1);
+    when(rs.getString("NAME")).thenReturn("john");
+    when(rs.getLong("SCORE")).thenReturn(42L);
+    when(rs.getBoolean("ACTIVE")).thenReturn(true);
+
+    User user = new User();
+    assertTrue(rowMapper.map(rs, user, false));
+    assertEquals(1, user.getId());
+    assertEquals("john", user.getName());
+    assertEquals(42L, user.getScore());
+    assertTrue(user.isActive());
+  }
+
+  @Test
+  void shouldOnlySetNullsOnNonPrimitivePropertiesWhenCallSettersOnNulls() throws Exception {
+    CompiledRowMapper rowMapper = compileUser();
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.wasNull()).thenReturn(true);
+
+    User user = new User();
+    user.setName("john");
+    user.setScore(42L);
+    assertFalse(rowMapper.map(rs, user, false));
+    assertEquals("john", user.getName());
+    assertEquals(42L, user.getScore());
+
+    assertFalse(rowMapper.map(rs, user, true));
+    assertNull(user.getName());
+    assertNull(user.getScore());
+    assertEquals(0, user.getId());
+  }
+
+  @Test
+  void shouldReuseRowMapperForSameLayout() {
+    CompiledRowMapper rowMapper = compileUser();
+    assertSame(rowMapper, compileUser());
+    assertEquals(1, compiler.getRowMapperCount());
+    assertNotNull(compiler.compile(reflectorFactory, User.class, Collections.singletonList("USER_NAME"),
+        Collections.singletonList("name"), Collections.singletonList(registry.getTypeHandler(String.class))));
+    assertEquals(2, compiler.getRowMapperCount());
+  }
+
+  @Test
+  void shouldNotCompilePropertiesWithoutPublicSetter() {
+    assertNull(compiler.compile(reflectorFactory, User.class, Collections.singletonList("NICKNAME"),
+        Collections.singletonList("nickname"), Collections.singletonList(registry.getTypeHandler(String.class))));
+    assertNull(compiler.compile(reflectorFactory, User.class, Collections.singletonList("ADDRESS_CITY"),
+        Collections.singletonList("address.city"), Collections.singletonList(registry.getTypeHandler(String.class))));
+  }
+
+  @Test
+  void shouldNotCompileMapsOrInaccessibleTypes() {
+    assertNull(compiler.compile(reflectorFactory, HashMap.class, Collections.singletonList("NAME"),
+        Collections.singletonList("name"), Collections.singletonList(registry.getTypeHandler(String.class))));
+    assertNull(compiler.compile(reflectorFactory, PrivateUser.class, Collections.singletonList("NAME"),
+        Collections.singletonList("name"), Collections.singletonList(registry.getTypeHandler(String.class))));
+  }
+
+  private CompiledRowMapper compileUser() {
+    List<TypeHandler<?>> typeHandlers = Arrays.asList(registry.getTypeHandler(Integer.class),
+        registry.getTypeHandler(String.class), registry.getTypeHandler(Long.class),
+        registry.getTypeHandler(Boolean.class));
+    return compiler.compile(reflectorFactory, User.class, Arrays.asList("ID", "NAME", "SCORE", "ACTIVE"),
+        Arrays.asList("id", "name", "score", "active"), typeHandlers);
+  }
+
+  public static class User {
+    private int id;
+    private String name;
+    private Long score;
+    private boolean active;
+    private String nickname;
+
+    public int getId() {
+      return id;
+    }
+
+    public void setId(int id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public Long getScore() {
+      return score;
+    }
+
+    public void setScore(Long score) {
+      this.score = score;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+
+    public void setActive(boolean active) {
+      this.active = active;
+    }
+
+    public String getNickname() {
+      return nickname;
+    }
+  }
+
+  private static class PrivateUser {
+    private String name;
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+}
@@ -23,10 +23,13 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.List;
 
 import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.MethodInvoker;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -362,4 +365,62 @@ class ReflectorTest {
         "Ambiguous setters defined for property 'bool' in class '" + Bean.class.getName().replace("$", "\\$")
             + "' with types '(java.lang.Integer|boolean)' and '(java.lang.Integer|boolean)'\\.");
   }
+
+  public static class PublicBean {
+    private int count;
+    private String name;
+
+    public int getCount() {
+      return count;
+    }
+
+    public void setCount(int count) {
+      this.count = count;
+    }
+
+    public String getName() {
+      if (name == null) {
+        throw new IllegalStateException("no name");
+      }
+      return name;
+    }
+
+    public PublicBean setName(String name) {
+      this.name = name;
+      return this;
+    }
+  }
+
+  @Test
+  void shouldInvokePublicAccessorsThroughGeneratedFunctions() throws Exception {
+    Reflector reflector = new DefaultReflectorFactory().findForClass(PublicBean.class);
+    Invoker getCount = reflector.getGetInvoker("count");
+    Invoker setCount = reflector.getSetInvoker("count");
+    assertNotNull(generatedAccessor(getCount, "getter"));
+    assertNotNull(generatedAccessor(setCount, "setter"));
+    assertNotNull(generatedAccessor(reflector.getSetInvoker("name"), "setter"));
+    PublicBean bean = new PublicBean();
+    setCount.invoke(bean, new Object[] { 5 });
+    assertEquals(5, getCount.invoke(bean, new Object[0]));
+    reflector.getSetInvoker("name").invoke(bean, new Object[] { "mybatis" });
+    assertEquals("mybatis", reflector.getGetInvoker("name").invoke(bean, null));
+  }
+
+  @Test
+  void shouldReportFailuresOfGeneratedFunctionsAsReflectionDoes() throws Exception {
+    Reflector reflector = new DefaultReflectorFactory().findForClass(PublicBean.class);
+    when(() -> reflector.getGetInvoker("name").invoke(new PublicBean(), null));
+    then(caughtException()).isInstanceOf(InvocationTargetException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    when(() -> reflector.getSetInvoker("count").invoke(new PublicBean(), new Object[] { null }));
+    then(caughtException()).isInstanceOf(IllegalArgumentException.class);
+    when(() -> reflector.getSetInvoker("count").invoke(new PublicBean(), new Object[] { "1" }));
+    then(caughtException()).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Object generatedAccessor(Invoker invoker, String name) throws Exception {
+    Field field = MethodInvoker.class.getDeclaredField(name);
+    field.setAccessible(true);
+    return field.get(invoker);
+  }
 }
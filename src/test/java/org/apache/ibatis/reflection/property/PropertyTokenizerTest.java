@@ -0,0 +1,53 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.property;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class PropertyTokenizerTest {
+
+  @Test
+  void shouldSplitIndexedPropertyExpression() {
+    PropertyTokenizer prop = new PropertyTokenizer("user.address[0].city");
+    assertEquals("user", prop.getName());
+    assertNull(prop.getIndex());
+    assertEquals("address[0].city", prop.getChildren());
+    assertTrue(prop.hasNext());
+    PropertyTokenizer address = prop.next();
+    assertEquals("address", address.getName());
+    assertEquals("0", address.getIndex());
+    assertEquals("address[0]", address.getIndexedName());
+    PropertyTokenizer city = address.next();
+    assertEquals("city", city.getName());
+    assertFalse(city.hasNext());
+  }
+
+  @Test
+  void shouldParseEachExpressionOnce() {
+    PropertyTokenizer prop = PropertyTokenizer.of("order.items[1].price");
+    assertSame(prop, PropertyTokenizer.of("order.items[1].price"));
+    assertSame(prop.next(), prop.next());
+    assertSame(prop.next().next(), prop.next().next());
+    assertEquals("price", prop.next().next().getName());
+  }
+
+}
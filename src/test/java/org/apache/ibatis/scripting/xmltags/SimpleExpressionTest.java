@@ -0,0 +1,93 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SimpleExpressionTest {
+
+  private final Configuration configuration = new Configuration();
+
+  @ParameterizedTest
+  @ValueSource(strings = { "name", "name != null", "name == null", "name != ''", "name == ''", "null != name",
+      "'' == name", "name neq null", "name eq ''", "name != null and name != ''", "name != null && name != ''",
+      "name == null or name == ''", "name == null || name == \"\"", "name != null and other == null or missing != null",
+      "_parameter != null", "missing", "missing == ''", "username != null and password != ''" })
+  void shouldEvaluateLikeOgnl(String expression) {
+    SimpleExpression compiled = SimpleExpression.compile(expression);
+    assertNotNull(compiled, expression);
+    for (Object parameter : parameters()) {
+      Map<String, Object> bindings = new DynamicContext(configuration, parameter).getBindings();
+      Object value = compiled.getValue(bindings);
+      if (value != SimpleExpression.UNRESOLVED) {
+        assertEquals(OgnlCache.getValue(expression, bindings), value, expression + " with " + parameter);
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "", "name.length", "name != 'john'", "id > 0", "!name", "name != null and", "null",
+      "name == null and ", "list.size() > 0", "name ==", "@java.lang.Math@abs(id)", "#this", "true", "name != 1" })
+  void shouldNotCompileOtherExpressions(String expression) {
+    assertNull(SimpleExpression.compile(expression), expression);
+  }
+
+  @Test
+  void shouldLeaveComparisonsWithConversionToOgnl() {
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("id", 0);
+    Map<String, Object> bindings = new DynamicContext(configuration, parameter).getBindings();
+    assertSame(SimpleExpression.UNRESOLVED, SimpleExpression.compile("id != ''").getValue(bindings));
+    assertEquals(Boolean.TRUE, SimpleExpression.compile("id != null").getValue(bindings));
+  }
+
+  @Test
+  void shouldOnlyEvaluateContextBindings() {
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("name", "john");
+    assertSame(SimpleExpression.UNRESOLVED, SimpleExpression.compile("name != null").getValue(parameter));
+  }
+
+  private static List<Object> parameters() {
+    Map<String, Object> empty = new HashMap<>();
+    empty.put("name", "");
+    Map<String, Object> nulls = new HashMap<>();
+    nulls.put("name", null);
+    nulls.put("other", "x");
+    Map<String, Object> values = new HashMap<>();
+    values.put("name", "john");
+    values.put("missing", "here");
+    return Arrays.asList(null, "john", empty, nulls, values, new HashMap<>(),
+        new Author(1, "cbegin", "", "cbegin@apache.org", "N/A", Section.NEWS),
+        new Author(1, null, "******", "cbegin@apache.org", "N/A", Section.NEWS));
+  }
+
+}
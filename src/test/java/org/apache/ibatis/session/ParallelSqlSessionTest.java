@@ -0,0 +1,125 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.mappers.AuthorMapper;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.io.Resources;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ParallelSqlSessionTest extends BaseDataTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setup() throws Exception {
+    createBlogDataSource();
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/builder/MapperConfig.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+  }
+
+  @Test
+  void shouldRunStatementsInTheirOwnSessions() {
+    ParallelSqlSession session = sqlSessionFactory.openParallelSession(TransactionIsolationLevel.READ_COMMITTED);
+    CompletableFuture<Author> author = session
+        .selectOne("org.apache.ibatis.domain.blog.mappers.AuthorMapper.selectAuthor", 101);
+    CompletableFuture<List<Author>> authors = session
+        .selectList("org.apache.ibatis.domain.blog.mappers.AuthorMapper.selectAllAuthors");
+    CompletableFuture<Author> mapped = session.select(AuthorMapper.class, mapper -> mapper.selectAuthor(101));
+    session.allOf().join();
+
+    assertEquals(101, author.join().getId());
+    assertEquals(2, authors.join().size());
+    assertEquals(101, mapped.join().getId());
+    List<ParallelSqlSession.StatementTiming> timings = session.getTimings();
+    assertEquals(3, timings.size());
+    assertTrue(timings.stream().allMatch(ParallelSqlSession.StatementTiming::isSucceeded));
+    assertTrue(timings.stream().anyMatch(timing -> AuthorMapper.class.getName().equals(timing.getName())));
+  }
+
+  @Test
+  void shouldRunStatementsConcurrently() throws Exception {
+    ParallelSqlSession session = sqlSessionFactory.openParallelSession();
+    CountDownLatch latch = new CountDownLatch(2);
+    for (int i = 0; i < 2; i++) {
+      session.execute("await", sqlSession -> {
+        latch.countDown();
+        try {
+          return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return false;
+        }
+      });
+    }
+    session.allOf().get(20, TimeUnit.SECONDS);
+    assertEquals(0, latch.getCount());
+  }
+
+  @Test
+  void shouldBoundDefaultThreads() throws Exception {
+    ParallelSqlSession session = sqlSessionFactory.openParallelSession();
+    int statements = 4 * Math.max(10, 2 * Runtime.getRuntime().availableProcessors());
+    Set<String> threads = ConcurrentHashMap.newKeySet();
+    for (int i = 0; i < statements; i++) {
+      session.execute("sleep", sqlSession -> {
+        threads.add(Thread.currentThread().getName());
+        try {
+          Thread.sleep(10);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return null;
+      });
+    }
+    session.allOf().get(20, TimeUnit.SECONDS);
+    assertEquals(statements, session.getTimings().size());
+    assertTrue(threads.size() <= statements / 4, threads::toString);
+  }
+
+  @Test
+  void shouldReportFailedStatements() {
+    ParallelSqlSession session = sqlSessionFactory.openParallelSession(null, Runnable::run);
+    CompletableFuture<List<Object>> future = session.selectList("unknown");
+
+    CompletionException e = assertThrows(CompletionException.class, future::join);
+    assertTrue(e.getCause() instanceof PersistenceException);
+    assertThrows(CompletionException.class, () -> session.allOf().join());
+    List<ParallelSqlSession.StatementTiming> timings = session.getTimings();
+    assertEquals(1, timings.size());
+    assertEquals("unknown", timings.get(0).getName());
+    assertFalse(timings.get(0).isSucceeded());
+  }
+
+}
@@ -15,6 +15,7 @@
  */
 package org.apache.ibatis.submitted.batch_keys;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.Reader;
@@ -23,9 +24,11 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
@@ -109,6 +112,32 @@ class BatchKeysTest {
     }
   }
 
+  @Test
+  void testInsertJdbc3WithMultiRowInserts() {
+    sqlSessionFactory.getConfiguration().setRewriteBatchedInserts(true);
+    sqlSessionFactory.getConfiguration().setBatchInsertMaxParameters(2);
+    List<User> users = new ArrayList<>();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      for (int i = 0; i < 5; i++) {
+        User user = new User(null, "User" + i);
+        sqlSession.insert("insertIdentity", user);
+        users.add(user);
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(1, results.size());
+      assertArrayEquals(new int[] { 1, 1, 1, 1, 1 }, results.get(0).getUpdateCounts());
+      for (int i = 0; i < 5; i++) {
+        assertEquals(Integer.valueOf(i), users.get(i).getId());
+      }
+      sqlSession.commit();
+    }
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> inserted = sqlSession.selectList("selectIdentity");
+      Assertions.assertEquals(5, inserted.size());
+    }
+  }
+
   @Test
   void testInsertWithMapper() {
     try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
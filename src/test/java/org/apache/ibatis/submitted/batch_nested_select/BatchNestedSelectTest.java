@@ -0,0 +1,129 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_nested_select;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchNestedSelectTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+  private static final List<String> preparedSql = new ArrayList<>();
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/batch_nested_select/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    sqlSessionFactory.getConfiguration().addInterceptor(new PreparedSqlRecorder());
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_nested_select/CreateDB.sql");
+  }
+
+  @BeforeEach
+  void resetPreparedSql() {
+    preparedSql.clear();
+    sqlSessionFactory.getConfiguration().setNestedSelectBatchSize(100);
+  }
+
+  @Test
+  void shouldLoadLazyCollectionsOfSiblingsWithOneQuery() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<Order> orders = mapper.selectOrdersLazy();
+      assertEquals(1, preparedSql.size());
+      assertEquals(1, orders.get(1).getItems().size());
+      assertEquals(2, preparedSql.size());
+      assertTrue(preparedSql.get(1).contains("in"));
+      assertItems(orders);
+      assertEquals(2, preparedSql.size());
+    }
+  }
+
+  @Test
+  void shouldLoadLazyCollectionsAfterSessionIsClosed() {
+    List<Order> orders;
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      orders = sqlSession.getMapper(Mapper.class).selectOrdersLazy();
+    }
+    assertItems(orders);
+    assertEquals(2, preparedSql.size());
+  }
+
+  @Test
+  void shouldLoadEagerCollectionsWithOneQuery() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<Order> orders = mapper.selectOrdersEager();
+      assertEquals(2, preparedSql.size());
+      assertItems(orders);
+    }
+  }
+
+  @Test
+  void shouldSplitBatchesBySize() {
+    sqlSessionFactory.getConfiguration().setNestedSelectBatchSize(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<Order> orders = mapper.selectOrdersEager();
+      assertEquals(3, preparedSql.size());
+      assertItems(orders);
+    }
+  }
+
+  private void assertItems(List<Order> orders) {
+    assertEquals(3, orders.size());
+    assertEquals(2, orders.get(0).getItems().size());
+    assertEquals("pen", orders.get(0).getItems().get(0).getName());
+    assertEquals("ink", orders.get(0).getItems().get(1).getName());
+    assertEquals(1, orders.get(1).getItems().size());
+    assertEquals("paper", orders.get(1).getItems().get(0).getName());
+    assertTrue(orders.get(2).getItems().isEmpty());
+  }
+
+  @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class, Integer.class }))
+  static class PreparedSqlRecorder implements Interceptor {
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      preparedSql.add(((StatementHandler) invocation.getTarget()).getBoundSql().getSql());
+      return invocation.proceed();
+    }
+  }
+
+}
@@ -18,12 +18,16 @@ package org.apache.ibatis.submitted.cursor_simple;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.ibatis.BaseDataTest;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.cursor.defaults.PrefetchingCursor;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
@@ -469,4 +473,40 @@ class CursorSimpleTest {
       Assertions.assertTrue(cursor.isConsumed());
     }
   }
+
+  @Test
+  void shouldStreamAllUsers() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      Cursor<User> cursor = mapper.getAllUsers();
+      try (Stream<User> users = cursor.stream()) {
+        Assertions.assertEquals(Arrays.asList("User1", "User2", "User3", "User4", "User5"),
+            users.map(User::getName).collect(Collectors.toList()));
+      }
+      Assertions.assertTrue(cursor.isConsumed());
+    }
+  }
+
+  @Test
+  void shouldPrefetchUsers() {
+    sqlSessionFactory.getConfiguration().setPrefetchCursors(true);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      Cursor<User> cursor = mapper.getNullUsers(new RowBounds(1, 2));
+      Assertions.assertTrue(cursor instanceof PrefetchingCursor);
+      Iterator<User> iterator = cursor.iterator();
+      Assertions.assertEquals("Kate", iterator.next().getName());
+      Assertions.assertEquals(1, cursor.getCurrentIndex());
+      Assertions.assertNull(iterator.next());
+      Assertions.assertEquals(2, cursor.getCurrentIndex());
+      Assertions.assertFalse(iterator.hasNext());
+      Assertions.assertTrue(cursor.isConsumed());
+
+      try (Stream<User> users = mapper.getAllUsers().stream()) {
+        Assertions.assertEquals(5, users.count());
+      }
+    } finally {
+      sqlSessionFactory.getConfiguration().setPrefetchCursors(false);
+    }
+  }
 }
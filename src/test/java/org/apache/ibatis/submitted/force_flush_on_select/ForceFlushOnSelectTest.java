@@ -97,6 +97,31 @@ class ForceFlushOnSelectTest {
     }
   }
 
+  @Test
+  void testShouldNotKeepStatementScopedQueryInLocalCache() throws SQLException {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.SIMPLE)) {
+      PersonMapper personMapper = sqlSession.getMapper(PersonMapper.class);
+      personMapper.selectByIdStatementScope(1);
+      updateDatabase(sqlSession.getConnection());
+      Person updatedPerson = personMapper.selectByIdStatementScope(1);
+      assertEquals("Simone", updatedPerson.getFirstName());
+      sqlSession.commit();
+    }
+  }
+
+  @Test
+  void testShouldEvictLeastRecentlyUsedQueryFromBoundedLocalCache() throws SQLException {
+    sqlSessionFactory.getConfiguration().setLocalCacheSize(1);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.SIMPLE)) {
+      PersonMapper personMapper = sqlSession.getMapper(PersonMapper.class);
+      personMapper.selectByIdNoFlush(1);
+      personMapper.selectByIdNoFlush(2);
+      updateDatabase(sqlSession.getConnection());
+      assertEquals("Simone", personMapper.selectByIdNoFlush(1).getFirstName());
+      sqlSession.commit();
+    }
+  }
+
   private void updateDatabase(Connection conn) throws SQLException {
     try (Statement stmt = conn.createStatement()) {
       stmt.executeUpdate("UPDATE person SET firstName = 'Simone' WHERE id = 1");
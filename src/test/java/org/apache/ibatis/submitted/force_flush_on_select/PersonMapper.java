@@ -22,6 +22,8 @@ public interface PersonMapper {
 
   Person selectByIdNoFlush(int id);
 
+  Person selectByIdStatementScope(int id);
+
   List<Person> selectAllFlush();
 
   List<Person> selectAllNoFlush();
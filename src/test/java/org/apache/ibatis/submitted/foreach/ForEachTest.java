@@ -84,6 +84,18 @@ class ForEachTest {
     }
   }
 
+  @Test
+  void shouldCountPaddedIds() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      Assertions.assertEquals(3, mapper.countByIds(Arrays.asList(1, 2, 3)));
+      Assertions.assertEquals(1, mapper.countByIds(Collections.singletonList(2)));
+      String sql = sqlSessionFactory.getConfiguration().getMappedStatement("countByIds")
+          .getBoundSql(Collections.singletonMap("list", Arrays.asList(1, 2, 3))).getSql();
+      Assertions.assertEquals(4, sql.chars().filter(c -> c == '?').count());
+    }
+  }
+
   @Test
   void shouldHandleMoreComplexNullItem() {
     try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
@@ -25,6 +25,8 @@ public interface Mapper {
 
   int countByUserList(List<User> users);
 
+  int countByIds(List<Integer> ids);
+
   int countByBestFriend(List<User> users);
 
   String selectWithNullItemCheck(List<User> users);
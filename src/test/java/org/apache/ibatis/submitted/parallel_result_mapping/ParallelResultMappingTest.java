@@ -0,0 +1,132 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.parallel_result_mapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ParallelResultMappingTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create a SqlSessionFactory
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/parallel_result_mapping/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/parallel_result_mapping/CreateDB.sql");
+  }
+
+  @Test
+  void shouldMapAllRowsInOrder() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Item> items = sqlSession.getMapper(Mapper.class).getItems();
+      assertEquals(1000, items.size());
+      for (int i = 0; i < items.size(); i++) {
+        assertItem(i + 1, items.get(i));
+      }
+    }
+  }
+
+  @Test
+  void shouldApplyRowBounds() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Item> items = sqlSession.getMapper(Mapper.class).getItems(new RowBounds(10, 300));
+      assertEquals(300, items.size());
+      for (int i = 0; i < items.size(); i++) {
+        assertItem(i + 11, items.get(i));
+      }
+    }
+  }
+
+  @Test
+  void shouldCallResultHandlerInOrderUntilStopped() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Item> items = new ArrayList<>();
+      List<String> threads = new ArrayList<>();
+      sqlSession.getMapper(Mapper.class).getItems(context -> {
+        items.add(context.getResultObject());
+        threads.add(Thread.currentThread().getName());
+        if (context.getResultCount() == 600) {
+          context.stop();
+        }
+      });
+      assertEquals(600, items.size());
+      for (int i = 0; i < items.size(); i++) {
+        assertItem(i + 1, items.get(i));
+      }
+      assertEquals(1, threads.stream().distinct().count());
+      assertEquals(Thread.currentThread().getName(), threads.get(0));
+    }
+  }
+
+  @Test
+  void shouldMapRowsToMaps() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Map<String, Object>> items = sqlSession.getMapper(Mapper.class).getItemMaps();
+      assertEquals(1000, items.size());
+      for (int i = 0; i < items.size(); i++) {
+        assertEquals(i + 1, items.get(i).get("ID"));
+        assertEquals("Item" + (i + 1), items.get(i).get("NAME"));
+      }
+    }
+  }
+
+  @Test
+  void shouldMapRowsInErrorContextOfStatement() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<ContextItem> items = sqlSession.getMapper(Mapper.class).getContextItems();
+      assertEquals(1000, items.size());
+      for (ContextItem item : items) {
+        assertTrue(item.getErrorContext().contains("parallel_result_mapping/Mapper.xml"), item.getErrorContext());
+        assertTrue(item.getErrorContext().contains("parallel_result_mapping.Mapper.getContextItems"));
+        assertTrue(item.getErrorContext().contains("select id, name from items order by id"));
+      }
+    }
+  }
+
+  private static void assertItem(int id, Item item) {
+    assertEquals(id, item.getId());
+    assertEquals("Item" + id, item.getName());
+    assertEquals(id * 10L, item.getItemValue());
+    if (id % 2 == 0) {
+      assertNull(item.getLabel());
+    } else {
+      assertEquals("Note" + id, item.getLabel());
+    }
+  }
+
+}
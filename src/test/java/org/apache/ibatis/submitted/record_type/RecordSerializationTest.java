@@ -0,0 +1,44 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.record_type;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.cache.serializer.CompactCacheSerializer;
+import org.junit.jupiter.api.Test;
+
+class RecordSerializationTest {
+
+  record Line(int id, String text, List<String> tags) implements Serializable {
+  }
+
+  @Test
+  void shouldCopyRecordsWithTheCompactSerializer() {
+    CompactCacheSerializer serializer = new CompactCacheSerializer();
+    List<String> tags = new ArrayList<>(List.of("a", "b"));
+    List<Line> lines = new ArrayList<>(List.of(new Line(1, "one", tags), new Line(2, null, tags)));
+
+    @SuppressWarnings("unchecked")
+    List<Line> copy = (List<Line>) serializer.deserialize(serializer.serialize(lines));
+
+    assertEquals(lines, copy);
+  }
+
+}
@@ -0,0 +1,32 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.refresh_ahead_cache;
+
+import org.apache.ibatis.annotations.CacheNamespace;
+import org.apache.ibatis.annotations.Property;
+import org.apache.ibatis.annotations.Select;
+
+@CacheNamespace(timeToLive = 2000, properties = { @Property(name = "refreshAheadFactor", value = "0.5"),
+    @Property(name = "expiryJitter", value = "0") })
+public interface PersonMapper {
+
+  @Select("select name from person where id = #{id}")
+  String selectName(int id);
+
+  @Select("select name from person where id = #{id}")
+  String selectNameByKey(PersonKey key);
+
+}
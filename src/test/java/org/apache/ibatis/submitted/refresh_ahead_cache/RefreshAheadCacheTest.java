@@ -0,0 +1,122 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.refresh_ahead_cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RefreshAheadCacheTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/refresh_ahead_cache/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/refresh_ahead_cache/CreateDB.sql");
+  }
+
+  @Test
+  void shouldReloadEntriesReadBeforeTheyExpire() throws Exception {
+    long cachedAt = System.currentTimeMillis();
+    assertEquals("Jane", selectName());
+    renameBehindTheCache("Janet");
+    assertEquals("Jane", selectName());
+
+    Thread.sleep(1200);
+    // the stale entry is returned while it is reloaded in the background
+    assertEquals("Jane", selectName());
+    String name = selectName();
+    while (!"Janet".equals(name) && System.currentTimeMillis() - cachedAt < 1800) {
+      Thread.sleep(20);
+      name = selectName();
+    }
+    assertEquals("Janet", name);
+    assertTrue(System.currentTimeMillis() - cachedAt < 2000, "the entry should be reloaded before it expires");
+
+    // the reloaded entry is cached again
+    renameBehindTheCache("Jan");
+    assertEquals("Janet", selectName());
+  }
+
+  @Test
+  void shouldExpireEntriesNotRead() throws Exception {
+    assertEquals("Jane", selectName());
+    renameBehindTheCache("Janet");
+    Thread.sleep(2100);
+    assertEquals("Janet", selectName());
+  }
+
+  @Test
+  void shouldReloadWithTheParameterAsItWasWhenCached() throws Exception {
+    assertTrue(sqlSessionFactory.getConfiguration().isRefreshAheadCache(PersonMapper.class.getName()));
+    long cachedAt = System.currentTimeMillis();
+    PersonKey key = new PersonKey(1);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals("Jane", sqlSession.getMapper(PersonMapper.class).selectNameByKey(key));
+    }
+    // the caller reuses its parameter object once the query is cached
+    key.setId(2);
+    renameBehindTheCache("Janet");
+
+    Thread.sleep(1200);
+    String name = selectNameByKey(1);
+    while (!"Janet".equals(name) && System.currentTimeMillis() - cachedAt < 1800) {
+      Thread.sleep(20);
+      name = selectNameByKey(1);
+    }
+    assertEquals("Janet", name);
+  }
+
+  private String selectNameByKey(int id) {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      return sqlSession.getMapper(PersonMapper.class).selectNameByKey(new PersonKey(id));
+    }
+  }
+
+  private String selectName() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      return sqlSession.getMapper(PersonMapper.class).selectName(1);
+    }
+  }
+
+  private void renameBehindTheCache(String name) throws SQLException {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Connection connection = sqlSession.getConnection();
+      try (Statement statement = connection.createStatement()) {
+        statement.executeUpdate("update person set name = '" + name + "' where id = 1");
+      }
+      connection.commit();
+    }
+  }
+
+}
@@ -0,0 +1,36 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.table_cache_invalidation;
+
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.mapping.StatementType;
+
+public interface AdminMapper {
+
+  @Update("update person set name = #{name} where id = #{id}")
+  void renamePerson(@Param("id") int id, @Param("name") String name);
+
+  @Update("update person_view set name = #{name} where id = #{id}")
+  @Options(tables = "person")
+  void renamePersonThroughView(@Param("id") int id, @Param("name") String name);
+
+  @Update("{call rename_person(#{id}, #{name})}")
+  @Options(statementType = StatementType.CALLABLE)
+  void renamePersonThroughProcedure(@Param("id") int id, @Param("name") String name);
+
+}
@@ -0,0 +1,124 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.table_cache_invalidation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.cache.invalidation.InProcessCacheInvalidationBus;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CacheInvalidationBusTest {
+
+  private SqlSessionFactory node1;
+  private SqlSessionFactory node2;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    node1 = newNode();
+    node2 = newNode();
+    BaseDataTest.runScript(node1.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/table_cache_invalidation/CreateDB.sql");
+  }
+
+  @AfterEach
+  void tearDown() {
+    node1.getConfiguration().setCacheInvalidationBus(null);
+    node2.getConfiguration().setCacheInvalidationBus(null);
+  }
+
+  @Test
+  void shouldBroadcastModifiedTables() throws SQLException {
+    assertNames(node1, "Jane", "John");
+    renameBehindTheCache("Janet");
+
+    try (SqlSession sqlSession = node2.openSession()) {
+      sqlSession.getMapper(AdminMapper.class).renamePerson(2, "Johnny");
+      sqlSession.commit();
+    }
+
+    assertNames(node1, "Janet", "Johnny");
+  }
+
+  @Test
+  void shouldBroadcastClearedCaches() throws SQLException {
+    node1.getConfiguration().setTableCacheInvalidation(false);
+    node2.getConfiguration().setTableCacheInvalidation(false);
+    assertNames(node1, "Jane", "John");
+    renameBehindTheCache("Janet");
+
+    try (SqlSession sqlSession = node2.openSession()) {
+      PersonMapper mapper = sqlSession.getMapper(PersonMapper.class);
+      mapper.insertPet(2, "Tom", 2);
+      mapper.insertPet(3, "Felix", 2);
+      sqlSession.commit();
+    }
+
+    assertNames(node1, "Janet", "John");
+  }
+
+  @Test
+  void shouldNotBroadcastRolledBackWrites() throws SQLException {
+    assertNames(node1, "Jane", "John");
+    renameBehindTheCache("Janet");
+
+    try (SqlSession sqlSession = node2.openSession()) {
+      sqlSession.getMapper(AdminMapper.class).renamePerson(2, "Johnny");
+      sqlSession.rollback();
+    }
+
+    assertNames(node1, "Jane", "John");
+  }
+
+  private static SqlSessionFactory newNode() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/table_cache_invalidation/mybatis-config.xml")) {
+      SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+      sqlSessionFactory.getConfiguration()
+          .setCacheInvalidationBus(new InProcessCacheInvalidationBus(CacheInvalidationBusTest.class.getName()));
+      return sqlSessionFactory;
+    }
+  }
+
+  private static void assertNames(SqlSessionFactory node, String... names) {
+    try (SqlSession sqlSession = node.openSession()) {
+      assertEquals(Arrays.asList(names), sqlSession.getMapper(PersonMapper.class).selectPersonNames());
+    }
+  }
+
+  private void renameBehindTheCache(String name) throws SQLException {
+    try (SqlSession sqlSession = node1.openSession()) {
+      Connection connection = sqlSession.getConnection();
+      try (Statement statement = connection.createStatement()) {
+        statement.executeUpdate("update person set name = '" + name + "' where id = 1");
+      }
+      connection.commit();
+    }
+  }
+
+}
@@ -0,0 +1,162 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.table_cache_invalidation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TableCacheInvalidationTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/table_cache_invalidation/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/table_cache_invalidation/CreateDB.sql");
+  }
+
+  @Test
+  void shouldKeepEntriesOfTablesNotWritten() throws SQLException {
+    assertCached();
+    renameBehindTheCache("Janet");
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(PersonMapper.class).insertPet(2, "Tom", 2);
+      sqlSession.commit();
+    }
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      PersonMapper mapper = sqlSession.getMapper(PersonMapper.class);
+      // the person table was not written through MyBatis, so its entries are still cached
+      assertEquals(Arrays.asList("Jane", "John"), mapper.selectPersonNames());
+      assertEquals(Arrays.asList("Jane", "John"), mapper.selectViewNames());
+      assertEquals(Arrays.asList("Rex", "Tom"), mapper.selectPetNames());
+      assertEquals(Arrays.asList("Janet", "John"), mapper.selectOwnerNames());
+    }
+  }
+
+  @Test
+  void shouldInvalidateEntriesOfOtherNamespaces() throws SQLException {
+    assertCached();
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(AdminMapper.class).renamePerson(1, "Janet");
+      sqlSession.commit();
+    }
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      PersonMapper mapper = sqlSession.getMapper(PersonMapper.class);
+      assertEquals(Arrays.asList("Janet", "John"), mapper.selectPersonNames());
+      assertEquals(Arrays.asList("Janet", "John"), mapper.selectViewNames());
+      assertEquals(Arrays.asList("Rex"), mapper.selectPetNames());
+      assertEquals(Arrays.asList("Janet"), mapper.selectOwnerNames());
+    }
+  }
+
+  @Test
+  void shouldInvalidateDeclaredTables() throws SQLException {
+    assertCached();
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(AdminMapper.class).renamePersonThroughView(2, "Johnny");
+      sqlSession.commit();
+    }
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      PersonMapper mapper = sqlSession.getMapper(PersonMapper.class);
+      assertEquals(Arrays.asList("Jane", "Johnny"), mapper.selectPersonNames());
+      assertEquals(Arrays.asList("Jane", "Johnny"), mapper.selectViewNames());
+    }
+  }
+
+  @Test
+  void shouldInvalidateEveryEntryOnWritesToUnknownTables() {
+    assertCached();
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(AdminMapper.class).renamePersonThroughProcedure(1, "Janet");
+      PersonMapper mapper = sqlSession.getMapper(PersonMapper.class);
+      // the procedure may have written any table, so this session no longer reads the committed entries
+      assertEquals(Arrays.asList("Janet", "John"), mapper.selectPersonNames());
+      assertEquals(Arrays.asList("Janet"), mapper.selectOwnerNames());
+      sqlSession.commit();
+    }
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      PersonMapper mapper = sqlSession.getMapper(PersonMapper.class);
+      assertEquals(Arrays.asList("Janet", "John"), mapper.selectPersonNames());
+      assertEquals(Arrays.asList("Janet", "John"), mapper.selectViewNames());
+      assertEquals(Arrays.asList("Rex"), mapper.selectPetNames());
+      assertEquals(Arrays.asList("Janet"), mapper.selectOwnerNames());
+    }
+  }
+
+  @Test
+  void shouldSeeOwnWritesAndKeepEntriesOnRollback() throws SQLException {
+    assertCached();
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(AdminMapper.class).renamePerson(1, "Janet");
+      PersonMapper mapper = sqlSession.getMapper(PersonMapper.class);
+      assertEquals(Arrays.asList("Janet", "John"), mapper.selectPersonNames());
+      assertEquals(Arrays.asList("Rex"), mapper.selectPetNames());
+      sqlSession.rollback();
+    }
+
+    renameBehindTheCache("Janet");
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals(Arrays.asList("Jane", "John"), sqlSession.getMapper(PersonMapper.class).selectPersonNames());
+    }
+  }
+
+  private void assertCached() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      PersonMapper mapper = sqlSession.getMapper(PersonMapper.class);
+      assertEquals(Arrays.asList("Jane", "John"), mapper.selectPersonNames());
+      assertEquals(Arrays.asList("Jane", "John"), mapper.selectViewNames());
+      assertEquals(Arrays.asList("Rex"), mapper.selectPetNames());
+      assertEquals(Arrays.asList("Jane"), mapper.selectOwnerNames());
+    }
+  }
+
+  private void renameBehindTheCache(String name) throws SQLException {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Connection connection = sqlSession.getConnection();
+      try (Statement statement = connection.createStatement()) {
+        statement.executeUpdate("update person set name = '" + name + "' where id = 1");
+      }
+      connection.commit();
+    }
+  }
+
+}
@@ -0,0 +1,37 @@
+--
+--    Copyright 2009-2026 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       https://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+
+drop table items if exists;
+drop table orders if exists;
+
+create table orders (
+  id int,
+  name varchar(20)
+);
+
+create table items (
+  id int,
+  order_id int,
+  name varchar(20)
+);
+
+insert into orders (id, name) values(1, 'first');
+insert into orders (id, name) values(2, 'second');
+insert into orders (id, name) values(3, 'third');
+
+insert into items (id, order_id, name) values(1, 1, 'pen');
+insert into items (id, order_id, name) values(2, 1, 'ink');
+insert into items (id, order_id, name) values(3, 2, 'paper');